@@ -0,0 +1,73 @@
+/*
+ *  Copyright (C) <2022> <XiaoMoMi>
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package net.momirealms.customcrops.benchmark;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Runs fixed workloads through the growth engine and fails if any kind of work
+ * allocates more bytes per crop, pot or sprinkler than its budget.
+ * Each kind is gated on its lowest figure over several rounds, which doesn't depend on
+ * how much the JIT happened to scalar replace in a single round.
+ * Lower a budget after a change that removes allocations, so that they don't come back.
+ * <p>
+ * ./gradlew allocationCheck, or ./gradlew check -PallocationCheck
+ */
+public final class AllocationCheck {
+
+    private static final int CROPS = 20_000;
+    private static final int WARMUP_POINTS = 30;
+    private static final int ROUNDS = 5;
+    private static final int POINTS = 5;
+
+    // lowest bytes per operation over the rounds, measured on OpenJDK 17.0.9 with the default collector, plus 50%
+    private static final Map<String, Double> BUDGETS = Map.of(
+            // measured 77.1 (105.9 with -XX:-DoEscapeAnalysis), the chunk coordinate, the location of the pot below and the pot view
+            "grow", 116d,
+            // measured 80.0, the chunk coordinate and the pot view
+            "consume", 120d,
+            // measured 1136.0 (1168.0 with -XX:-DoEscapeAnalysis), the positions of a 3x3 area, their chunk coordinates and pot views
+            "sprinkler", 1704d
+    );
+
+    private AllocationCheck() {
+    }
+
+    public static void main(String[] args) {
+        GrowthSimulator simulator = new GrowthSimulator();
+        simulator.populate(CROPS);
+        simulator.run(WARMUP_POINTS, 1, 1);
+        Map<String, Double> lowest = new LinkedHashMap<>();
+        for (int round = 0; round < ROUNDS; round++) {
+            for (GrowthSimulator.Phase phase : simulator.run(POINTS, 1, 1)) {
+                lowest.merge(phase.getName(), phase.getBytesPerOperation(), Math::min);
+            }
+        }
+        int failed = 0;
+        for (Map.Entry<String, Double> entry : lowest.entrySet()) {
+            double budget = BUDGETS.get(entry.getKey());
+            boolean ok = entry.getValue() <= budget;
+            if (!ok) failed++;
+            System.out.printf("%-4s %-10s %8.1f bytes/op (budget %.0f)%n", ok ? "OK" : "FAIL", entry.getKey(), entry.getValue(), budget);
+        }
+        if (failed != 0) {
+            System.err.println(failed + " allocation budget(s) exceeded");
+            System.exit(1);
+        }
+    }
+}
@@ -0,0 +1,113 @@
+/*
+ *  Copyright (C) <2022> <XiaoMoMi>
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package net.momirealms.customcrops.benchmark;
+
+import net.momirealms.customcrops.api.object.crop.GrowingCrop;
+import net.momirealms.customcrops.api.object.pot.Pot;
+import net.momirealms.customcrops.api.object.sprinkler.Sprinkler;
+import net.momirealms.customcrops.api.object.world.CCChunk;
+import net.momirealms.customcrops.api.object.world.PotStorage;
+import net.momirealms.customcrops.api.object.world.SimpleLocation;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Adding, looking up and removing crops, pots and sprinklers in a chunk holding the given amount of each
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ChunkDataBenchmark {
+
+    @Param({"16", "256", "4096"})
+    public int density;
+
+    private CCChunk chunk;
+    private PotStorage potStorage;
+    private SimpleLocation[] locations;
+    private SimpleLocation[] missing;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        chunk = new CCChunk();
+        potStorage = new PotStorage();
+        locations = DataFixtures.locations(density, 64);
+        missing = DataFixtures.locations(density, 200);
+        for (SimpleLocation location : locations) {
+            chunk.addCropData(location, new GrowingCrop("tomato", 3));
+            chunk.addPotData(location.add(0, -1, 0), new Pot("default", null, 2));
+            chunk.addSprinklerData(location.add(0, 1, 0), new Sprinkler("sprinkler_1", 4));
+            potStorage.put(location, new Pot("default", null, 2));
+        }
+    }
+
+    private SimpleLocation randomLocation() {
+        return locations[ThreadLocalRandom.current().nextInt(locations.length)];
+    }
+
+    @Benchmark
+    public GrowingCrop getCrop() {
+        return chunk.getCropData(randomLocation());
+    }
+
+    @Benchmark
+    public GrowingCrop getMissingCrop() {
+        return chunk.getCropData(missing[ThreadLocalRandom.current().nextInt(missing.length)]);
+    }
+
+    @Benchmark
+    public void replaceCrop() {
+        SimpleLocation location = randomLocation();
+        chunk.removeCropData(location);
+        chunk.addCropData(location, new GrowingCrop("tomato", 3));
+    }
+
+    @Benchmark
+    public Pot getPot() {
+        return chunk.getPotData(randomLocation().add(0, -1, 0));
+    }
+
+    @Benchmark
+    public void replacePot() {
+        SimpleLocation location = randomLocation().add(0, -1, 0);
+        chunk.removePotData(location);
+        chunk.addPotData(location, new Pot("default", null, 2));
+    }
+
+    @Benchmark
+    public Sprinkler getSprinkler() {
+        return chunk.getSprinklerData(randomLocation().add(0, 1, 0));
+    }
+
+    @Benchmark
+    public void replaceSprinkler() {
+        SimpleLocation location = randomLocation().add(0, 1, 0);
+        chunk.removeSprinklerData(location);
+        chunk.addSprinklerData(location, new Sprinkler("sprinkler_1", 4));
+    }
+
+    @Benchmark
+    public void potLocations(Blackhole blackhole) {
+        blackhole.consume(potStorage.getLocations());
+    }
+}
@@ -0,0 +1,67 @@
+/*
+ *  Copyright (C) <2022> <XiaoMoMi>
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package net.momirealms.customcrops.benchmark;
+
+import net.momirealms.customcrops.api.object.world.CCChunk;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Round trips of the chunk data file format at several densities
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ChunkSerializationBenchmark {
+
+    @Param({"0", "64", "512", "4096"})
+    public int crops;
+
+    private CCChunk chunk;
+    private byte[] serialized;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        chunk = DataFixtures.farmChunk(crops);
+        serialized = write(chunk);
+    }
+
+    private static byte[] write(CCChunk chunk) throws IOException {
+        ByteArrayOutputStream bos = new ByteArrayOutputStream(4096);
+        try (ObjectOutputStream oos = new ObjectOutputStream(bos)) {
+            oos.writeObject(chunk);
+        }
+        return bos.toByteArray();
+    }
+
+    @Benchmark
+    public byte[] serialize() throws IOException {
+        return write(chunk);
+    }
+
+    @Benchmark
+    public CCChunk deserialize() throws IOException, ClassNotFoundException {
+        try (ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(serialized))) {
+            return (CCChunk) ois.readObject();
+        }
+    }
+}
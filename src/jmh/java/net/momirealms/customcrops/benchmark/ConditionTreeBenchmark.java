@@ -0,0 +1,129 @@
+/*
+ *  Copyright (C) <2022> <XiaoMoMi>
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package net.momirealms.customcrops.benchmark;
+
+import net.momirealms.customcrops.api.object.ItemMode;
+import net.momirealms.customcrops.api.object.basic.ConfigManager;
+import net.momirealms.customcrops.api.object.condition.*;
+import net.momirealms.customcrops.api.object.crop.CropConfig;
+import net.momirealms.customcrops.api.object.crop.StageConfig;
+import net.momirealms.customcrops.api.object.pot.Pot;
+import net.momirealms.customcrops.api.object.season.CCSeason;
+import net.momirealms.customcrops.api.object.world.CCChunk;
+import net.momirealms.customcrops.api.object.world.ChunkCoordinate;
+import net.momirealms.customcrops.api.object.world.SimpleLocation;
+import net.momirealms.customcrops.api.object.world.WorldEnvironment;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The grow and death conditions of the shipped tomato evaluated for every crop of a farm,
+ * compiled against the snapshot of a point versus walking the configured trees
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConditionTreeBenchmark {
+
+    private static final int CROPS = 100_000;
+
+    @Param({"SPRING", "WINTER"})
+    public CCSeason season;
+
+    private final HashMap<ChunkCoordinate, CCChunk> chunks = new HashMap<>();
+    private SimpleLocation[] crops;
+    private CropConfig cropConfig;
+    private WorldEnvironment environment;
+    private CompiledConditions compiled;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        // greenhouse checks need a loaded world
+        ConfigManager.enableGreenhouse = false;
+        crops = new SimpleLocation[CROPS];
+        for (int i = 0; i < CROPS; i++) {
+            SimpleLocation crop = new SimpleLocation(DataFixtures.WORLD, i % 320, 65, i / 320);
+            crops[i] = crop;
+            SimpleLocation pot = crop.add(0, -1, 0);
+            chunks.computeIfAbsent(pot.getChunkCoordinate(), k -> new CCChunk()).addPotData(pot, new Pot("default", null, i % 4));
+        }
+        PotLookup pots = simpleLocation -> {
+            CCChunk chunk = chunks.get(simpleLocation.getChunkCoordinate());
+            return chunk == null ? null : chunk.getPotData(simpleLocation);
+        };
+        // contents/crops/tomato.yml, crow_attack is replaced with its chance roll,
+        // the scarecrow lookup and the crow animation behind it need a server
+        Condition[] growConditions = new Condition[]{
+                new RightSeason(new CCSeason[]{CCSeason.SPRING, CCSeason.AUTUMN}),
+                new WaterMoreThan(2, pots)
+        };
+        DeathCondition[] deathConditions = new DeathCondition[]{
+                new DeathCondition("customcrops:crop_stage_death", new Condition[]{new AndCondition(List.of(new WaterLessThan(1, pots), new Random(0.7)))}),
+                new DeathCondition("customcrops:crop_stage_death", new Condition[]{new WrongSeason(new CCSeason[]{CCSeason.WINTER})}),
+                new DeathCondition(null, new Condition[]{new Random(0.001)})
+        };
+        HashMap<Integer, StageConfig> stageMap = new HashMap<>();
+        for (int i = 0; i < 4; i++) {
+            stageMap.put(i, new StageConfig(i, "customcrops:tomato_stage_" + (i + 1), null, null, null, null, 0));
+        }
+        cropConfig = new CropConfig("tomato", ItemMode.TRIPWIRE, 3, new String[]{"*"}, null, null, deathConditions, growConditions, stageMap, null, null, false);
+        environment = new WorldEnvironment(season, 1, "clear", 1000, 1);
+        compiled = CompiledConditions.compile(cropConfig, environment);
+    }
+
+    /**
+     * @return crops that would grow, minus the dead ones so that nothing is optimized away
+     */
+    @Benchmark
+    @OperationsPerInvocation(CROPS)
+    public int compiled() {
+        int result = 0;
+        DeathCondition[] deathConditions = compiled.deathConditions();
+        Condition growCondition = compiled.growCondition();
+        boolean canGrow = compiled.canGrow();
+        for (SimpleLocation crop : crops) {
+            result += evaluate(crop, deathConditions, canGrow, growCondition);
+        }
+        return result;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CROPS)
+    public int interpreted() {
+        int result = 0;
+        DeathCondition[] deathConditions = cropConfig.getDeathConditions();
+        Condition growCondition = new AndCondition(List.of(cropConfig.getGrowConditions()));
+        for (SimpleLocation crop : crops) {
+            result += evaluate(crop, deathConditions, true, growCondition);
+        }
+        return result;
+    }
+
+    private int evaluate(SimpleLocation crop, DeathCondition[] deathConditions, boolean canGrow, Condition growCondition) {
+        for (DeathCondition deathCondition : deathConditions) {
+            if (deathCondition.checkIfDead(crop, environment)) return -1;
+        }
+        return canGrow && growCondition.isMet(crop, environment) ? 1 : 0;
+    }
+}
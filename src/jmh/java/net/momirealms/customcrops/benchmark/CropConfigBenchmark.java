@@ -0,0 +1,118 @@
+/*
+ *  Copyright (C) <2022> <XiaoMoMi>
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package net.momirealms.customcrops.benchmark;
+
+import net.momirealms.customcrops.api.object.ItemMode;
+import net.momirealms.customcrops.api.object.action.Action;
+import net.momirealms.customcrops.api.object.basic.ConfigManager;
+import net.momirealms.customcrops.api.object.condition.*;
+import net.momirealms.customcrops.api.object.crop.CropConfig;
+import net.momirealms.customcrops.api.object.crop.StageConfig;
+import net.momirealms.customcrops.api.object.loot.BonusFormula;
+import net.momirealms.customcrops.api.object.season.CCSeason;
+import net.momirealms.customcrops.api.object.world.SimpleLocation;
+import net.momirealms.customcrops.api.object.world.WorldEnvironment;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.HashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The per-crop work of a growth point that doesn't touch the world: stage lookups,
+ * condition compiling and evaluating, and bonus formulas
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CropConfigBenchmark {
+
+    @Param({"4", "16", "64"})
+    public int stages;
+
+    private CropConfig cropConfig;
+    private WorldEnvironment environment;
+    private CompiledConditions compiled;
+    private SimpleLocation location;
+    private BonusFormula scalingFormula;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        // greenhouse checks need a loaded world
+        ConfigManager.enableGreenhouse = false;
+        Action action = (player, cropLoc, itemMode) -> {};
+        HashMap<Integer, StageConfig> stageMap = new HashMap<>();
+        for (int i = 0; i < stages; i++) {
+            // a model every other stage and a grow action every fourth, like most shipped crops
+            stageMap.put(i, new StageConfig(
+                    i,
+                    i % 2 == 0 ? "tomato_stage_" + i : null,
+                    null,
+                    i % 4 == 3 ? new Action[]{action} : null,
+                    null,
+                    null,
+                    0
+            ));
+        }
+        Condition[] growConditions = new Condition[]{
+                new RightSeason(new CCSeason[]{CCSeason.SPRING, CCSeason.SUMMER}),
+                new Random(0.5)
+        };
+        cropConfig = new CropConfig("tomato", ItemMode.TRIPWIRE, stages - 1, new String[]{"*"}, null, null, null, growConditions, stageMap, null, null, false);
+        environment = new WorldEnvironment(CCSeason.SPRING, 1, "clear", 1000, 1);
+        compiled = CompiledConditions.compile(cropConfig, environment);
+        location = new SimpleLocation(DataFixtures.WORLD, 0, 64, 0);
+        scalingFormula = new BonusFormula("base * (1 + level / 3) + level ^ 2");
+    }
+
+    @Benchmark
+    public String modelAfter() {
+        int current = ThreadLocalRandom.current().nextInt(stages);
+        return cropConfig.getModelAfter(current, 1 + ThreadLocalRandom.current().nextInt(3));
+    }
+
+    @Benchmark
+    public int nextActionPoint() {
+        return cropConfig.getNextActionPoint(ThreadLocalRandom.current().nextInt(stages));
+    }
+
+    @Benchmark
+    public CompiledConditions compileConditions() {
+        return CompiledConditions.compile(cropConfig, environment);
+    }
+
+    @Benchmark
+    public boolean compiledGrowCondition() {
+        return compiled.growCondition().isMet(location, environment);
+    }
+
+    @Benchmark
+    public boolean uncompiledGrowCondition() {
+        for (Condition condition : cropConfig.getGrowConditions()) {
+            if (!condition.isMet(location, environment)) return false;
+        }
+        return true;
+    }
+
+    @Benchmark
+    public int bonusFormula() {
+        return scalingFormula.apply(ThreadLocalRandom.current().nextInt(1, 8), ThreadLocalRandom.current().nextInt(1, 4));
+    }
+}
@@ -0,0 +1,59 @@
+/*
+ *  Copyright (C) <2022> <XiaoMoMi>
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package net.momirealms.customcrops.benchmark;
+
+import net.momirealms.customcrops.api.object.crop.GrowingCrop;
+import net.momirealms.customcrops.api.object.fertilizer.Fertilizer;
+import net.momirealms.customcrops.api.object.pot.Pot;
+import net.momirealms.customcrops.api.object.sprinkler.Sprinkler;
+import net.momirealms.customcrops.api.object.world.CCChunk;
+import net.momirealms.customcrops.api.object.world.SimpleLocation;
+
+final class DataFixtures {
+
+    static final String WORLD = "world";
+
+    private DataFixtures() {
+    }
+
+    /**
+     * Distinct locations inside chunk 0,0, filling one layer of 256 blocks before moving 3 blocks up
+     * so that the blocks right below and above are free for pots and sprinklers
+     */
+    static SimpleLocation[] locations(int amount, int baseY) {
+        SimpleLocation[] locations = new SimpleLocation[amount];
+        for (int i = 0; i < amount; i++) {
+            locations[i] = new SimpleLocation(WORLD, i & 15, baseY + (i >> 8) * 3, (i >> 4) & 15);
+        }
+        return locations;
+    }
+
+    /**
+     * A chunk with a crop on a pot at every location and a sprinkler for every 16 crops
+     */
+    static CCChunk farmChunk(int crops) {
+        CCChunk chunk = new CCChunk();
+        SimpleLocation[] locations = locations(crops, 64);
+        for (int i = 0; i < locations.length; i++) {
+            SimpleLocation location = locations[i];
+            chunk.addCropData(location, new GrowingCrop("tomato", i % 8));
+            chunk.addPotData(location.add(0, -1, 0), new Pot("default", (i & 1) == 0 ? new Fertilizer("speed_1", 3) : null, i % 4));
+            if ((i & 15) == 0) chunk.addSprinklerData(location.add(0, 1, 0), new Sprinkler("sprinkler_1", 4));
+        }
+        return chunk;
+    }
+}
@@ -0,0 +1,359 @@
+/*
+ *  Copyright (C) <2022> <XiaoMoMi>
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package net.momirealms.customcrops.benchmark;
+
+import net.momirealms.customcrops.api.object.ItemMode;
+import net.momirealms.customcrops.api.object.Pair;
+import net.momirealms.customcrops.api.object.action.Action;
+import net.momirealms.customcrops.api.object.basic.ConfigManager;
+import net.momirealms.customcrops.api.object.condition.Condition;
+import net.momirealms.customcrops.api.object.condition.DeathCondition;
+import net.momirealms.customcrops.api.object.condition.Random;
+import net.momirealms.customcrops.api.object.condition.RightSeason;
+import net.momirealms.customcrops.api.object.crop.CropConfig;
+import net.momirealms.customcrops.api.object.crop.GrowingCrop;
+import net.momirealms.customcrops.api.object.crop.StageConfig;
+import net.momirealms.customcrops.api.object.engine.*;
+import net.momirealms.customcrops.api.object.fertilizer.*;
+import net.momirealms.customcrops.api.object.fill.PassiveFillMethod;
+import net.momirealms.customcrops.api.object.pot.Pot;
+import net.momirealms.customcrops.api.object.pot.PotConfig;
+import net.momirealms.customcrops.api.object.season.CCSeason;
+import net.momirealms.customcrops.api.object.sprinkler.Sprinkler;
+import net.momirealms.customcrops.api.object.sprinkler.SprinklerConfig;
+import net.momirealms.customcrops.api.object.world.CCChunk;
+import net.momirealms.customcrops.api.object.world.ChunkCoordinate;
+import net.momirealms.customcrops.api.object.world.SimpleLocation;
+import net.momirealms.customcrops.api.object.world.WorldEnvironment;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.management.ManagementFactory;
+import java.util.*;
+
+/**
+ * Runs the growth engine over a generated farm on a plain JVM, without a server,
+ * and reports the throughput and allocation rate of each kind of work.
+ * <p>
+ * ./gradlew simulate -PsimulatorArgs="crops=1000000 points=10"
+ */
+public final class GrowthSimulator implements ChunkSource, EngineRegistry, EnvironmentSource, VisualSink, BlockAccess {
+
+    private static final int POT_Y = 64;
+
+    private final HashMap<ChunkCoordinate, CCChunk> chunks = new HashMap<>();
+    // the pot blocks of the stand-in world, which outlive the pot data of dry pots
+    private final HashSet<SimpleLocation> potBlocks = new HashSet<>();
+    private final List<SimpleLocation> crops = new ArrayList<>();
+    private final List<SimpleLocation> sprinklers = new ArrayList<>();
+    private final CropConfig cropConfig;
+    private final PotConfig potConfig;
+    private final SprinklerConfig sprinklerConfig;
+    private final FertilizerConfig speedGrow;
+    private final FertilizerConfig soilRetain;
+    private final WorldEnvironment environment;
+    private final GrowthEngine engine;
+    private long cropModels;
+    private long potModels;
+    private long deaths;
+    private long growActions;
+
+    public GrowthSimulator() {
+        // greenhouse checks would need a loaded world
+        ConfigManager.enableGreenhouse = false;
+        HashMap<Integer, StageConfig> stageMap = new HashMap<>();
+        Action[] actions = new Action[]{(player, cropLoc, itemMode) -> {}};
+        for (int i = 0; i < 8; i++) {
+            stageMap.put(i, new StageConfig(i, i % 2 == 0 ? "tomato_stage_" + i : null, null, i == 4 ? actions : null, null, null, 0));
+        }
+        this.cropConfig = new CropConfig("tomato", ItemMode.TRIPWIRE, 7, new String[]{"*"}, null, null,
+                new DeathCondition[]{new DeathCondition("crop_stage_death", new Condition[]{new Random(0.0005)})},
+                new Condition[]{new RightSeason(new CCSeason[]{CCSeason.SPRING, CCSeason.SUMMER}), new Random(0.9)},
+                stageMap, null, null, false);
+        this.potConfig = new PotConfig("default", 5, "dry_pot", "wet_pot", false, null, null, null, "pot_info");
+        this.sprinklerConfig = new SprinklerConfig("sprinkler_1", 4, 1, 1, null, null, ItemMode.ITEM_FRAME, "sprinkler_1", null, new PassiveFillMethod[0], null, null);
+        this.speedGrow = new SpeedGrow("speed_1", FertilizerType.SPEED_GROW, 3, List.of(Pair.of(0.5, 1)), null, false, null, null, "speed_1", null);
+        this.soilRetain = new SoilRetain("retain_1", FertilizerType.SOIL_RETAIN, 3, 0.5, null, false, null, null, "retain_1", null);
+        this.environment = new WorldEnvironment(CCSeason.SPRING, 1, "clear", 1000, 1);
+        this.engine = new GrowthEngine(this, this, this, this);
+    }
+
+    /**
+     * Fill whole chunks with pots, planting a crop on each of them except for one in 16 which gets a sprinkler
+     */
+    public void populate(int cropAmount) {
+        int chunkAmount = (cropAmount + 239) / 240;
+        int side = (int) Math.ceil(Math.sqrt(chunkAmount));
+        for (int c = 0; crops.size() < cropAmount; c++) {
+            int baseX = (c % side) * 16;
+            int baseZ = (c / side) * 16;
+            for (int column = 0; column < 256 && crops.size() < cropAmount; column++) {
+                int x = baseX + (column & 15);
+                int z = baseZ + (column >> 4);
+                SimpleLocation potLocation = new SimpleLocation(DataFixtures.WORLD, x, POT_Y, z);
+                SimpleLocation above = new SimpleLocation(DataFixtures.WORLD, x, POT_Y + 1, z);
+                CCChunk chunk = getOrCreateChunk(potLocation);
+                potBlocks.add(potLocation);
+                chunk.addPotData(potLocation, new Pot("default", fertilizerFor(column), 0));
+                if ((column & 3) == 2 && (column >> 4 & 3) == 2) {
+                    chunk.addSprinklerData(above, new Sprinkler("sprinkler_1", 4));
+                    sprinklers.add(above);
+                } else {
+                    chunk.addCropData(above, new GrowingCrop("tomato", 0));
+                    crops.add(above);
+                }
+            }
+        }
+    }
+
+    @Nullable
+    private static Fertilizer fertilizerFor(int column) {
+        return switch (column % 4) {
+            case 0 -> new Fertilizer("speed_1", 3);
+            case 1 -> new Fertilizer("retain_1", 3);
+            default -> null;
+        };
+    }
+
+    /**
+     * Replant harvested or dead crops and refill empty sprinklers, like players would
+     */
+    private void maintain() {
+        for (SimpleLocation location : crops) {
+            CCChunk chunk = getOrCreateChunk(location);
+            if (chunk.getCropData(location) == null) chunk.addCropData(location, new GrowingCrop("tomato", 0));
+        }
+        for (SimpleLocation location : sprinklers) {
+            CCChunk chunk = getOrCreateChunk(location);
+            if (chunk.getSprinklerData(location) == null) chunk.addSprinklerData(location, new Sprinkler("sprinkler_1", 4));
+        }
+    }
+
+    private void grow() {
+        for (SimpleLocation location : crops) {
+            engine.checkCrop(location);
+        }
+    }
+
+    private void consume() {
+        for (SimpleLocation location : potBlocks) {
+            engine.consumePot(location);
+        }
+    }
+
+    private final List<SimpleLocation> changedLocations = new ArrayList<>();
+    private final List<Pot> changedPots = new ArrayList<>();
+    private final List<SimpleLocation> watered = new ArrayList<>();
+
+    private void work() {
+        for (SimpleLocation location : sprinklers) {
+            SprinklerWork work = engine.useSprinkler(location);
+            if (work == null) continue;
+            changedLocations.clear();
+            changedPots.clear();
+            watered.clear();
+            engine.waterPots(work.positions(), work.config().getWaterFillAbility(), work.config().getPotWhitelist(), this, changedLocations, changedPots, watered);
+            for (int i = 0, size = changedPots.size(); i < size; i++) {
+                Pot pot = changedPots.get(i);
+                updatePotModel(changedLocations.get(i), pot, potConfig);
+            }
+        }
+    }
+
+    public GrowthEngine getEngine() {
+        return engine;
+    }
+
+    public int getCropAmount() {
+        return crops.size();
+    }
+
+    public int getPotAmount() {
+        return potBlocks.size();
+    }
+
+    public int getSprinklerAmount() {
+        return sprinklers.size();
+    }
+
+    /**
+     * Run the points, measuring the work of each kind separately
+     *
+     * @param consumeInterval points between two consume cycles
+     * @param workInterval points between two sprinkler cycles
+     */
+    public Phase[] run(int points, int consumeInterval, int workInterval) {
+        Phase grow = new Phase("grow", this::grow);
+        Phase consume = new Phase("consume", this::consume);
+        Phase work = new Phase("sprinkler", this::work);
+        for (int point = 1; point <= points; point++) {
+            maintain();
+            grow.run(crops.size());
+            if (point % consumeInterval == 0) consume.run(potBlocks.size());
+            if (point % workInterval == 0) work.run(sprinklers.size());
+        }
+        return new Phase[]{grow, consume, work};
+    }
+
+    public static final class Phase {
+
+        private static final com.sun.management.ThreadMXBean THREAD_BEAN = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+        private final String name;
+        private final Runnable task;
+        private long nanos;
+        private long bytes;
+        private long operations;
+
+        Phase(String name, Runnable task) {
+            this.name = name;
+            this.task = task;
+        }
+
+        void run(long operations) {
+            long bytesBefore = THREAD_BEAN.getCurrentThreadAllocatedBytes();
+            long start = System.nanoTime();
+            task.run();
+            this.nanos += System.nanoTime() - start;
+            this.bytes += THREAD_BEAN.getCurrentThreadAllocatedBytes() - bytesBefore;
+            this.operations += operations;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public long getOperations() {
+            return operations;
+        }
+
+        public double getBytesPerOperation() {
+            return operations == 0 ? 0 : (double) bytes / operations;
+        }
+
+        @Override
+        public String toString() {
+            double seconds = nanos / 1_000_000_000d;
+            return String.format("%-10s %12d %10.1f %14.0f %10.1f %10.1f",
+                    name, operations, nanos / 1_000_000d,
+                    seconds == 0 ? 0 : operations / seconds,
+                    seconds == 0 ? 0 : bytes / 1048576d / seconds,
+                    getBytesPerOperation());
+        }
+    }
+
+    public static void main(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            int split = arg.indexOf('=');
+            if (split > 0) options.put(arg.substring(0, split), arg.substring(split + 1));
+        }
+        int cropAmount = Integer.parseInt(options.getOrDefault("crops", "100000"));
+        int points = Integer.parseInt(options.getOrDefault("points", "10"));
+        int warmup = Integer.parseInt(options.getOrDefault("warmup", "3"));
+        int consumeInterval = Integer.parseInt(options.getOrDefault("consume-interval", "1"));
+        int workInterval = Integer.parseInt(options.getOrDefault("work-interval", "2"));
+
+        GrowthSimulator simulator = new GrowthSimulator();
+        long populateStart = System.nanoTime();
+        simulator.populate(cropAmount);
+        System.out.printf("Generated %d crops, %d pots and %d sprinklers in %d chunks in %.1f ms%n",
+                simulator.getCropAmount(), simulator.getPotAmount(), simulator.getSprinklerAmount(), simulator.chunks.size(),
+                (System.nanoTime() - populateStart) / 1_000_000d);
+
+        if (warmup > 0) simulator.run(warmup, consumeInterval, workInterval);
+        simulator.cropModels = simulator.potModels = simulator.deaths = simulator.growActions = 0;
+        simulator.getEngine().getPointsApplied().reset();
+
+        Phase[] phases = simulator.run(points, consumeInterval, workInterval);
+        System.out.printf("%d points after %d warmup points%n", points, warmup);
+        System.out.printf("%-10s %12s %10s %14s %10s %10s%n", "phase", "operations", "time ms", "operations/s", "MB/s", "bytes/op");
+        for (Phase phase : phases) {
+            System.out.println(phase);
+        }
+        System.out.printf("points applied: %d, crop models: %d, pot models: %d, deaths: %d, grow actions: %d%n",
+                simulator.getEngine().getPointsApplied().sum(), simulator.cropModels, simulator.potModels, simulator.deaths, simulator.growActions);
+    }
+
+    @Override
+    @Nullable
+    public CCChunk getChunk(ChunkCoordinate chunkCoordinate) {
+        return chunks.get(chunkCoordinate);
+    }
+
+    @Override
+    @NotNull
+    public CCChunk getOrCreateChunk(SimpleLocation simpleLocation) {
+        return chunks.computeIfAbsent(simpleLocation.getChunkCoordinate(), k -> new CCChunk());
+    }
+
+    @Override
+    public CropConfig getCropConfig(GrowingCrop growingCrop) {
+        return cropConfig.getKey().equals(growingCrop.getCropKey()) ? cropConfig : null;
+    }
+
+    @Override
+    public PotConfig getPotConfig(Pot pot) {
+        return potConfig.getKey().equals(pot.getPotKey()) ? potConfig : null;
+    }
+
+    @Override
+    public SprinklerConfig getSprinklerConfig(Sprinkler sprinkler) {
+        return sprinklerConfig.getKey().equals(sprinkler.getKey()) ? sprinklerConfig : null;
+    }
+
+    @Override
+    public FertilizerConfig getFertilizerConfig(@Nullable Fertilizer fertilizer) {
+        if (fertilizer == null) return null;
+        return switch (fertilizer.getKey()) {
+            case "speed_1" -> speedGrow;
+            case "retain_1" -> soilRetain;
+            default -> null;
+        };
+    }
+
+    @Override
+    public WorldEnvironment getEnvironment() {
+        return environment;
+    }
+
+    @Override
+    public String getPotKey(SimpleLocation simpleLocation) {
+        return potBlocks.contains(simpleLocation) ? potConfig.getKey() : null;
+    }
+
+    @Override
+    public boolean applyGrowActions(SimpleLocation simpleLocation, Action[] actions, ItemMode itemMode) {
+        growActions += actions.length;
+        return false;
+    }
+
+    @Override
+    public void updateCropModel(SimpleLocation simpleLocation, String model, ItemMode itemMode, boolean rotation) {
+        cropModels++;
+    }
+
+    @Override
+    public void applyDeath(SimpleLocation simpleLocation, DeathCondition deathCondition, ItemMode itemMode) {
+        deaths++;
+    }
+
+    @Override
+    public void updatePotModel(SimpleLocation simpleLocation, Pot pot, PotConfig potConfig) {
+        potModels++;
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ *  Copyright (C) <2022> <XiaoMoMi>
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package net.momirealms.customcrops.benchmark;
+
+import net.momirealms.customcrops.api.object.world.ChunkCoordinate;
+import net.momirealms.customcrops.api.object.world.SimpleLocation;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.HashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hashing and map lookups of the location keys used by the chunk and world maps
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LocationBenchmark {
+
+    @Param({"256", "4096", "65536"})
+    public int size;
+
+    private SimpleLocation[] locations;
+    private ChunkCoordinate[] coordinates;
+    private HashMap<SimpleLocation, Integer> locationMap;
+    private ConcurrentHashMap<ChunkCoordinate, Integer> chunkMap;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        locations = new SimpleLocation[size];
+        coordinates = new ChunkCoordinate[size];
+        locationMap = new HashMap<>();
+        chunkMap = new ConcurrentHashMap<>();
+        int side = (int) Math.ceil(Math.sqrt(size));
+        for (int i = 0; i < size; i++) {
+            // spread over a square farm with a few layers, like real crop fields
+            SimpleLocation location = new SimpleLocation(DataFixtures.WORLD, i % side - side / 2, 60 + (i & 3), i / side - side / 2);
+            locations[i] = location;
+            coordinates[i] = location.getChunkCoordinate();
+            locationMap.put(location, i);
+            chunkMap.put(coordinates[i], i);
+        }
+    }
+
+    private int randomIndex() {
+        return ThreadLocalRandom.current().nextInt(size);
+    }
+
+    @Benchmark
+    public int simpleLocationHash() {
+        return locations[randomIndex()].hashCode();
+    }
+
+    @Benchmark
+    public Integer simpleLocationLookup() {
+        SimpleLocation location = locations[randomIndex()];
+        // a fresh key, as the tasks build one from coordinates
+        return locationMap.get(new SimpleLocation(location.getWorldName(), location.getX(), location.getY(), location.getZ()));
+    }
+
+    @Benchmark
+    public ChunkCoordinate chunkCoordinateOf() {
+        return locations[randomIndex()].getChunkCoordinate();
+    }
+
+    @Benchmark
+    public int chunkCoordinateHash() {
+        return coordinates[randomIndex()].hashCode();
+    }
+
+    @Benchmark
+    public Integer chunkCoordinateLookup() {
+        return chunkMap.get(locations[randomIndex()].getChunkCoordinate());
+    }
+}
@@ -31,6 +31,8 @@ import net.momirealms.customcrops.api.object.basic.MessageManager;
 import net.momirealms.customcrops.api.object.crop.CropManager;
 import net.momirealms.customcrops.api.object.fertilizer.FertilizerManager;
 import net.momirealms.customcrops.api.object.hologram.HologramManager;
+import net.momirealms.customcrops.api.object.metrics.MetricsManager;
+import net.momirealms.customcrops.api.object.metrics.jfr.ConfigReloadEvent;
 import net.momirealms.customcrops.api.object.pot.PotManager;
 import net.momirealms.customcrops.api.object.scheduler.Scheduler;
 import net.momirealms.customcrops.api.object.season.SeasonManager;
@@ -71,6 +73,7 @@ public final class CustomCrops extends JavaPlugin {
     private MessageManager messageManager;
     private PlatformManager platformManager;
     private HologramManager hologramManager;
+    private MetricsManager metricsManager;
     private VersionHelper versionHelper;
     private CustomCropsAPI customCropsAPI;
     private Scheduler scheduler;
@@ -105,6 +108,7 @@ public final class CustomCrops extends JavaPlugin {
         this.scheduler = new Scheduler(this);
         this.configManager = new ConfigManager(this);
         this.messageManager = new MessageManager(this);
+        this.metricsManager = new MetricsManager(this);
         this.cropManager = new CropManager(this);
         this.integrationManager = new IntegrationManager(this);
         this.seasonManager = new SeasonManager(this);
@@ -129,6 +133,8 @@ public final class CustomCrops extends JavaPlugin {
     }
 
     public void reload() {
+        ConfigReloadEvent event = new ConfigReloadEvent();
+        event.begin();
         this.configManager.unload();
         this.messageManager.unload();
         this.cropManager.unload();
@@ -141,6 +147,8 @@ public final class CustomCrops extends JavaPlugin {
         this.seasonManager.unload();
         this.platformManager.unload();
         this.hologramManager.unload();
+        this.metricsManager.unload();
+        this.scheduler.unload();
 
         this.configManager.load();
         this.messageManager.load();
@@ -154,6 +162,9 @@ public final class CustomCrops extends JavaPlugin {
         this.seasonManager.load();
         this.platformManager.load();
         this.hologramManager.load();
+        this.metricsManager.load();
+        this.scheduler.load();
+        event.commit();
     }
 
     @Override
@@ -171,6 +182,7 @@ public final class CustomCrops extends JavaPlugin {
         if (this.configManager != null) this.configManager.unload();
         if (this.integrationManager != null) this.integrationManager.unload();
         if (this.hologramManager != null) this.hologramManager.unload();
+        if (this.metricsManager != null) this.metricsManager.unload();
         if (this.scheduler != null) this.scheduler.disable();
     }
 
@@ -288,6 +300,10 @@ public final class CustomCrops extends JavaPlugin {
         return hologramManager;
     }
 
+    public MetricsManager getMetricsManager() {
+        return metricsManager;
+    }
+
     public CustomCropsAPI getAPI() {
         return customCropsAPI;
     }
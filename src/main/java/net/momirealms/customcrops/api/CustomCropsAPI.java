@@ -58,6 +58,10 @@ public class CustomCropsAPI {
     }
 
     public boolean hasScarecrowInChunk(Location location) {
+        return plugin.getWorldDataManager().hasScarecrowInChunk(SimpleLocation.getByBukkitLocation(location));
+    }
+
+    public boolean isProtectedByScarecrow(Location location) {
         return plugin.getWorldDataManager().hasScarecrow(SimpleLocation.getByBukkitLocation(location));
     }
 
@@ -99,7 +103,7 @@ public class CustomCropsAPI {
         CustomCrops.getInstance().getScheduler().runTaskAsync(() -> {
             CCWorld ccworld = CustomCrops.getInstance().getWorldDataManager().getWorld(world.getName());
             if (ccworld != null) {
-                ccworld.scheduleConsumeTask(seconds);
+                ccworld.scheduleCropGrowTask(seconds);
             }
         });
     }
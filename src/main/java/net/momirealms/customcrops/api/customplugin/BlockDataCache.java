@@ -0,0 +1,86 @@
+/*
+ *  Copyright (C) <2022> <XiaoMoMi>
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package net.momirealms.customcrops.api.customplugin;
+
+import net.momirealms.customcrops.CustomCrops;
+import net.momirealms.customcrops.api.object.ItemMode;
+import net.momirealms.customcrops.api.util.ConfigUtils;
+import org.bukkit.Material;
+import org.bukkit.block.data.BlockData;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Maps custom note block / tripwire ids to the vanilla block states behind them,
+ * so that model swaps can be done with a single setBlockData call.
+ * Rebuilt on reloads of CustomCrops and of the item plugin
+ */
+public class BlockDataCache {
+
+    private final CustomCrops plugin;
+    private final ConcurrentHashMap<String, BlockData> cache;
+
+    public BlockDataCache(CustomCrops plugin) {
+        this.plugin = plugin;
+        this.cache = new ConcurrentHashMap<>();
+    }
+
+    public void load() {
+        cache.clear();
+        for (String id : plugin.getPotManager().getPotBlockIDs()) {
+            if (!ConfigUtils.isVanillaItem(id)) get(id, ItemMode.NOTE_BLOCK);
+        }
+        for (String id : plugin.getCropManager().getStageModels(ItemMode.TRIPWIRE)) {
+            get(id, ItemMode.TRIPWIRE);
+        }
+    }
+
+    public void unload() {
+        cache.clear();
+    }
+
+    /**
+     * Get the block state of a custom block
+     * Ids without a plain note block or tripwire state are not cached,
+     * because the item plugin might not have finished loading yet
+     * @param id block id
+     * @param itemMode NOTE_BLOCK or TRIPWIRE
+     * @return block state or null if it should be placed by the item plugin
+     */
+    @Nullable
+    public BlockData get(String id, ItemMode itemMode) {
+        BlockData blockData = cache.get(id);
+        if (blockData != null) {
+            return blockData.getMaterial() == materialOf(itemMode) ? blockData : null;
+        }
+        blockData = plugin.getPlatformInterface().getBlockData(id, itemMode);
+        if (blockData == null || blockData.getMaterial() != materialOf(itemMode)) {
+            return null;
+        }
+        cache.put(id, blockData);
+        return blockData;
+    }
+
+    public int size() {
+        return cache.size();
+    }
+
+    private static Material materialOf(ItemMode itemMode) {
+        return itemMode == ItemMode.TRIPWIRE ? Material.TRIPWIRE : Material.NOTE_BLOCK;
+    }
+}
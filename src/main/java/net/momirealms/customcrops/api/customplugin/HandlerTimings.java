@@ -0,0 +1,108 @@
+/*
+ *  Copyright (C) <2022> <XiaoMoMi>
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package net.momirealms.customcrops.api.customplugin;
+
+import net.momirealms.customcrops.api.object.metrics.MainThreadProfiler;
+import org.bukkit.Location;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Call counts and total time spent in each interaction handler
+ */
+public class HandlerTimings {
+
+    private final LongAdder[] calls;
+    private final LongAdder[] nanos;
+    private final MainThreadProfiler profiler;
+
+    public HandlerTimings(MainThreadProfiler profiler) {
+        this.profiler = profiler;
+        int size = HandlerType.values().length;
+        this.calls = new LongAdder[size];
+        this.nanos = new LongAdder[size];
+        for (int i = 0; i < size; i++) {
+            calls[i] = new LongAdder();
+            nanos[i] = new LongAdder();
+        }
+    }
+
+    public void record(HandlerType type, long startNanos, Location location) {
+        long elapsed = System.nanoTime() - startNanos;
+        calls[type.ordinal()].increment();
+        nanos[type.ordinal()].add(elapsed);
+        if (profiler.isRunning()) {
+            profiler.record(type.getKey(), location.getWorld().getName(), elapsed);
+        }
+    }
+
+    public long getCalls(HandlerType type) {
+        return calls[type.ordinal()].sum();
+    }
+
+    public long getNanos(HandlerType type) {
+        return nanos[type.ordinal()].sum();
+    }
+
+    /**
+     * @return handler -> {calls, total nanos}, only for handlers that have been called
+     */
+    public Map<HandlerType, long[]> snapshot() {
+        EnumMap<HandlerType, long[]> snapshot = new EnumMap<>(HandlerType.class);
+        for (HandlerType type : HandlerType.values()) {
+            long count = getCalls(type);
+            if (count != 0) snapshot.put(type, new long[]{count, getNanos(type)});
+        }
+        return snapshot;
+    }
+
+    public void reset() {
+        for (int i = 0; i < calls.length; i++) {
+            calls[i].reset();
+            nanos[i].reset();
+        }
+    }
+
+    public enum HandlerType {
+        INTERACT_CROP,
+        PLACE_SPRINKLER,
+        INTERACT_SPRINKLER,
+        INTERACT_POT,
+        WATERING_CAN,
+        BREAK_GLASS,
+        BREAK_POT,
+        BREAK_CROP,
+        BREAK_SPRINKLER,
+        BREAK_SCARECROW,
+        PLACE_GLASS,
+        PLACE_POT,
+        PLACE_SCARECROW;
+
+        private final String key;
+
+        HandlerType() {
+            this.key = "listener/" + name().toLowerCase(Locale.ENGLISH);
+        }
+
+        public String getKey() {
+            return key;
+        }
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ *  Copyright (C) <2022> <XiaoMoMi>
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package net.momirealms.customcrops.api.customplugin;
+
+import net.momirealms.customcrops.CustomCrops;
+import net.momirealms.customcrops.api.object.basic.ConfigManager;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Immutable lookup from block / item ids to what they are in CustomCrops
+ * Built on each load so that events only need one lookup to know which handler to call
+ */
+public record InteractionIndex(Map<String, BlockRole> blockRoles, Map<String, ItemRole> itemRoles) {
+
+    public static final InteractionIndex EMPTY = new InteractionIndex(Map.of(), Map.of());
+
+    public static InteractionIndex build(CustomCrops plugin) {
+        // putIfAbsent keeps the order in which the handlers used to be tried
+        HashMap<String, BlockRole> blockRoles = new HashMap<>();
+        if (ConfigManager.greenhouseBlock != null) {
+            blockRoles.putIfAbsent(ConfigManager.greenhouseBlock, BlockRole.GLASS);
+        }
+        for (String id : plugin.getPotManager().getPotBlockIDs()) {
+            blockRoles.putIfAbsent(id, BlockRole.POT);
+        }
+        for (String id : plugin.getCropManager().getStageIDs()) {
+            blockRoles.putIfAbsent(id, BlockRole.CROP);
+        }
+        for (String id : plugin.getCropManager().getDeadCropIDs()) {
+            blockRoles.putIfAbsent(id, BlockRole.DEAD_CROP);
+        }
+        for (String id : plugin.getSprinklerManager().getItemIDs()) {
+            blockRoles.putIfAbsent(id, BlockRole.SPRINKLER);
+        }
+        if (ConfigManager.scarecrow != null) {
+            blockRoles.putIfAbsent(ConfigManager.scarecrow, BlockRole.SCARECROW);
+        }
+
+        HashMap<String, ItemRole> itemRoles = new HashMap<>();
+        for (String id : plugin.getSprinklerManager().getItemIDs()) {
+            itemRoles.putIfAbsent(id, ItemRole.SPRINKLER);
+        }
+        for (String id : plugin.getWateringCanManager().getItemIDs()) {
+            itemRoles.putIfAbsent(id, ItemRole.WATERING_CAN);
+        }
+        for (String id : plugin.getFertilizerManager().getItemIDs()) {
+            itemRoles.putIfAbsent(id, ItemRole.FERTILIZER);
+        }
+        for (String id : plugin.getCropManager().getSeedIDs()) {
+            itemRoles.putIfAbsent(id, ItemRole.SEED);
+        }
+        return new InteractionIndex(Map.copyOf(blockRoles), Map.copyOf(itemRoles));
+    }
+
+    @Nullable
+    public BlockRole getBlockRole(String id) {
+        return blockRoles.get(id);
+    }
+
+    @Nullable
+    public ItemRole getItemRole(String id) {
+        return itemRoles.get(id);
+    }
+
+    public enum BlockRole {
+        GLASS,
+        POT,
+        CROP,
+        DEAD_CROP,
+        SPRINKLER,
+        SCARECROW
+    }
+
+    public enum ItemRole {
+        SPRINKLER,
+        WATERING_CAN,
+        FERTILIZER,
+        SEED
+    }
+}
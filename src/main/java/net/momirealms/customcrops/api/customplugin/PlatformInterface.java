@@ -22,6 +22,7 @@ import net.momirealms.customcrops.api.object.ItemMode;
 import org.bukkit.Location;
 import org.bukkit.Material;
 import org.bukkit.block.Block;
+import org.bukkit.block.data.BlockData;
 import org.bukkit.entity.Entity;
 import org.bukkit.entity.Interaction;
 import org.bukkit.entity.ItemDisplay;
@@ -30,7 +31,7 @@ import org.bukkit.inventory.ItemStack;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
-import java.util.Collection;
+import java.util.*;
 
 public interface PlatformInterface {
 
@@ -384,4 +385,71 @@ public interface PlatformInterface {
         removeItemFrame(location);
         if (CustomCrops.getInstance().getVersionHelper().isVersionNewerThan1_19_R3()) removeItemDisplay(location);
     }
+
+    /**
+     * Get the vanilla block state behind a custom note block or tripwire
+     * @param id id
+     * @param itemMode NOTE_BLOCK or TRIPWIRE
+     * @return block state or null if the platform doesn't expose it
+     */
+    @Nullable
+    default BlockData getBlockData(String id, ItemMode itemMode) {
+        return null;
+    }
+
+    /**
+     * Place the same custom block at several locations
+     * @param locations locations
+     * @param id id
+     * @param itemMode NOTE_BLOCK, TRIPWIRE or CHORUS
+     */
+    default void placeBlocks(Collection<Location> locations, String id, ItemMode itemMode) {
+        for (Location location : locations) {
+            placeCustomBlock(location, id, itemMode);
+        }
+    }
+
+    /**
+     * Remove the blocks at several locations
+     * @param locations locations
+     */
+    default void removeBlocks(Collection<Location> locations) {
+        for (Location location : locations) {
+            removeAnyBlock(location);
+        }
+    }
+
+    /**
+     * Replace the blocks at several locations with new custom blocks
+     * @param models location -> new block id
+     * @param itemMode NOTE_BLOCK, TRIPWIRE or CHORUS
+     */
+    default void swapModels(Map<Location, String> models, ItemMode itemMode) {
+        for (Map.Entry<Location, String> entry : models.entrySet()) {
+            removeAnyBlock(entry.getKey());
+            placeCustomBlock(entry.getKey(), entry.getValue(), itemMode);
+        }
+    }
+
+    private void placeCustomBlock(Location location, String id, ItemMode itemMode) {
+        switch (itemMode) {
+            case NOTE_BLOCK -> placeNoteBlock(location, id);
+            case TRIPWIRE -> placeTripWire(location, id);
+            case CHORUS -> placeChorus(location, id);
+        }
+    }
+
+    /**
+     * Group locations by the chunk they are in, keeping the original order inside each chunk
+     * @param locations locations
+     * @return groups
+     */
+    static Collection<List<Location>> groupByChunk(Collection<Location> locations) {
+        Map<Long, List<Location>> groups = new LinkedHashMap<>();
+        for (Location location : locations) {
+            long key = (long) (location.getBlockX() >> 4) << 32 | ((location.getBlockZ() >> 4) & 0xFFFFFFFFL);
+            groups.computeIfAbsent(key, k -> new ArrayList<>()).add(location);
+        }
+        return groups.values();
+    }
 }
@@ -18,12 +18,16 @@
 package net.momirealms.customcrops.api.customplugin;
 
 import net.momirealms.customcrops.CustomCrops;
+import net.momirealms.customcrops.api.customplugin.HandlerTimings.HandlerType;
+import net.momirealms.customcrops.api.customplugin.InteractionIndex.BlockRole;
+import net.momirealms.customcrops.api.customplugin.InteractionIndex.ItemRole;
 import net.momirealms.customcrops.api.customplugin.itemsadder.ItemsAdderHandler;
 import net.momirealms.customcrops.api.customplugin.oraxen.OraxenHandler;
 import net.momirealms.customcrops.api.event.*;
 import net.momirealms.customcrops.api.object.BoneMeal;
 import net.momirealms.customcrops.api.object.Function;
 import net.momirealms.customcrops.api.object.InteractCrop;
+import net.momirealms.customcrops.api.object.ItemMode;
 import net.momirealms.customcrops.api.object.action.Action;
 import net.momirealms.customcrops.api.object.basic.ConfigManager;
 import net.momirealms.customcrops.api.object.basic.MessageManager;
@@ -36,6 +40,7 @@ import net.momirealms.customcrops.api.object.fill.PassiveFillMethod;
 import net.momirealms.customcrops.api.object.fill.PositiveFillMethod;
 import net.momirealms.customcrops.api.object.hologram.FertilizerHologram;
 import net.momirealms.customcrops.api.object.hologram.WaterAmountHologram;
+import net.momirealms.customcrops.api.object.metrics.jfr.ModelSwapEvent;
 import net.momirealms.customcrops.api.object.pot.Pot;
 import net.momirealms.customcrops.api.object.pot.PotConfig;
 import net.momirealms.customcrops.api.object.requirement.CurrentState;
@@ -50,6 +55,7 @@ import net.momirealms.protectionlib.ProtectionLib;
 import org.bukkit.*;
 import org.bukkit.block.Block;
 import org.bukkit.block.BlockFace;
+import org.bukkit.block.data.BlockData;
 import org.bukkit.entity.Entity;
 import org.bukkit.entity.ItemDisplay;
 import org.bukkit.entity.ItemFrame;
@@ -69,6 +75,9 @@ public class PlatformManager extends Function {
 
     private final CustomCrops plugin;
     private final Handler handler;
+    private final BlockDataCache blockDataCache;
+    private final HandlerTimings handlerTimings;
+    private volatile InteractionIndex interactionIndex;
     private static final HashSet<Material> REPLACEABLE = new HashSet<>(Arrays.asList(Material.SNOW, Material.VINE, Material.GRASS, Material.TALL_GRASS, Material.SEAGRASS, Material.FERN, Material.LARGE_FERN, Material.AIR));
 
     public PlatformManager(CustomCrops plugin) {
@@ -77,16 +86,84 @@ public class PlatformManager extends Function {
             case ItemsAdder -> new ItemsAdderHandler(this);
             case Oraxen -> new OraxenHandler(this);
         };
+        this.blockDataCache = new BlockDataCache(plugin);
+        this.handlerTimings = new HandlerTimings(plugin.getMetricsManager().getProfiler());
+        this.interactionIndex = InteractionIndex.EMPTY;
     }
 
     @Override
     public void load() {
         this.handler.load();
+        this.blockDataCache.load();
+        this.interactionIndex = InteractionIndex.build(plugin);
     }
 
     @Override
     public void unload() {
         this.handler.unload();
+        this.blockDataCache.unload();
+    }
+
+    /**
+     * Turn a block into another custom note block or tripwire by writing its state directly,
+     * without removing it first and without physics
+     * @param block block
+     * @param id new block id
+     * @param itemMode NOTE_BLOCK or TRIPWIRE
+     * @return false if the id has no known block state, in which case the item plugin should place it
+     */
+    public boolean swapBlockState(Block block, String id, ItemMode itemMode) {
+        BlockData blockData = blockDataCache.get(id, itemMode);
+        if (blockData == null) return false;
+        block.setBlockData(blockData, false);
+        return true;
+    }
+
+    /**
+     * Swap a batch of custom block models, writing the cached block states directly
+     * and leaving only the ids without a known state to the item plugin
+     * @param world world of the blocks
+     * @param models location -> new block id
+     * @param itemMode NOTE_BLOCK, TRIPWIRE or CHORUS
+     */
+    public void swapModels(String world, Map<Location, String> models, ItemMode itemMode) {
+        ModelSwapEvent event = new ModelSwapEvent();
+        event.begin();
+        Map<Location, String> unmapped = null;
+        if (itemMode == ItemMode.CHORUS) {
+            unmapped = models;
+        } else {
+            for (Map.Entry<Location, String> entry : models.entrySet()) {
+                BlockData blockData = blockDataCache.get(entry.getValue(), itemMode);
+                if (blockData != null) {
+                    entry.getKey().getBlock().setBlockData(blockData, false);
+                    continue;
+                }
+                if (unmapped == null) unmapped = new HashMap<>();
+                unmapped.put(entry.getKey(), entry.getValue());
+            }
+        }
+        if (unmapped != null) {
+            plugin.getPlatformInterface().swapModels(unmapped, itemMode);
+        }
+        if (event.shouldCommit()) {
+            event.world = world;
+            event.source = "pot models";
+            event.models = models.size();
+            event.commit();
+        }
+    }
+
+    public BlockDataCache getBlockDataCache() {
+        return blockDataCache;
+    }
+
+    public HandlerTimings getHandlerTimings() {
+        return handlerTimings;
+    }
+
+    public InteractionIndex getInteractionIndex() {
+        return interactionIndex;
     }
 
     public void onPlaceVanillaBlock(BlockPlaceEvent event) {
@@ -111,6 +188,13 @@ public class PlatformManager extends Function {
         onBreakCustom(player, entity.getLocation().getBlock().getLocation(), id, event);
     }
 
+    /**
+     * The item plugin has (re)loaded its items, so the block states behind the ids might have changed
+     */
+    public void onItemPluginReload() {
+        this.blockDataCache.load();
+    }
+
     public void onPlaceCustomBlock(Player player, Location location, String id, Cancellable event) {
         if (event.isCancelled()) return;
         onPlaceCustom(player, location, id, event);
@@ -145,39 +229,53 @@ public class PlatformManager extends Function {
     public void onInteractAir(Player player) {
         ItemStack item_in_hand = player.getInventory().getItemInMainHand();
         String id = plugin.getPlatformInterface().getItemStackID(item_in_hand);
+        if (interactionIndex.getItemRole(id) != ItemRole.WATERING_CAN) return;
+        long start = System.nanoTime();
         onInteractWithWateringCan(player, id, item_in_hand, null, null);
+        handlerTimings.record(HandlerType.WATERING_CAN, start, player.getLocation());
     }
 
     public void onBreakCustom(Player player, Location location, String id, Cancellable event) {
-
-        if (onBreakGlass(player, id, location, event)) {
-            return;
-        }
-
-        if (onBreakPot(player, id, location, event)) {
-            return;
-        }
-
-        if (onBreakCrop(player, id, location, event)) {
-            return;
-        }
-
-        if (onBreakSprinkler(player, id, location, event)) {
-            return;
-        }
-
-        if (onBreakScarecrow(player, id, location, event)) {
-            return;
+        BlockRole blockRole = interactionIndex.getBlockRole(id);
+        if (blockRole == null) return;
+        long start = System.nanoTime();
+        switch (blockRole) {
+            case GLASS -> {
+                onBreakGlass(player, id, location, event);
+                handlerTimings.record(HandlerType.BREAK_GLASS, start, location);
+            }
+            case POT -> {
+                onBreakPot(player, id, location, event);
+                handlerTimings.record(HandlerType.BREAK_POT, start, location);
+            }
+            case CROP -> {
+                onBreakCrop(player, id, location, event);
+                handlerTimings.record(HandlerType.BREAK_CROP, start, location);
+            }
+            case SPRINKLER -> {
+                onBreakSprinkler(player, id, location, event);
+                handlerTimings.record(HandlerType.BREAK_SPRINKLER, start, location);
+            }
+            case SCARECROW -> {
+                onBreakScarecrow(player, id, location, event);
+                handlerTimings.record(HandlerType.BREAK_SCARECROW, start, location);
+            }
         }
     }
 
     public void onBreakVanilla(Player player, Location location, String id, Cancellable event) {
-
-        if (onBreakGlass(player, id, location, event)) {
+        BlockRole blockRole = interactionIndex.getBlockRole(id);
+        if (blockRole == BlockRole.GLASS) {
+            long start = System.nanoTime();
+            onBreakGlass(player, id, location, event);
+            handlerTimings.record(HandlerType.BREAK_GLASS, start, location);
             return;
         }
 
-        if (onBreakPot(player, id, location, event)) {
+        if (blockRole == BlockRole.POT) {
+            long start = System.nanoTime();
+            onBreakPot(player, id, location, event);
+            handlerTimings.record(HandlerType.BREAK_POT, start, location);
             return;
         }
 
@@ -189,61 +287,96 @@ public class PlatformManager extends Function {
     }
 
     public void onPlaceCustom(Player player, Location location, String id, @Nullable Cancellable event) {
-
-        if (onPlaceGlass(player, id, location, event)) {
-            return;
-        }
-
-        if (onPlacePot(player, id, location, event)) {
-            return;
+        BlockRole blockRole = interactionIndex.getBlockRole(id);
+        if (blockRole == null) return;
+        long start = System.nanoTime();
+        switch (blockRole) {
+            case GLASS -> {
+                onPlaceGlass(player, id, location, event);
+                handlerTimings.record(HandlerType.PLACE_GLASS, start, location);
+            }
+            case POT -> {
+                onPlacePot(player, id, location, event);
+                handlerTimings.record(HandlerType.PLACE_POT, start, location);
+            }
+            case SCARECROW -> {
+                onPlaceScarecrow(player, id, location, event);
+                handlerTimings.record(HandlerType.PLACE_SCARECROW, start, location);
+            }
         }
+    }
 
-        if (onPlaceScarecrow(player, id, location, event)) {
-            return;
+    public void onPlaceVanilla(Player player, Location location, String id, @Nullable Cancellable event) {
+        BlockRole blockRole = interactionIndex.getBlockRole(id);
+        if (blockRole == BlockRole.GLASS) {
+            long start = System.nanoTime();
+            onPlaceGlass(player, id, location, event);
+            handlerTimings.record(HandlerType.PLACE_GLASS, start, location);
+        } else if (blockRole == BlockRole.POT) {
+            long start = System.nanoTime();
+            onPlacePot(player, id, location, event);
+            handlerTimings.record(HandlerType.PLACE_POT, start, location);
         }
     }
 
-    public void onPlaceVanilla(Player player, Location location, String id, @Nullable Cancellable event) {
+    void onInteractSomething(Player player, Location location, String id, @Nullable BlockFace blockFace, Cancellable event) {
 
-        if (onPlaceGlass(player, id, location, event)) {
-            return;
-        }
+        ItemStack item_in_hand = player.getInventory().getItemInMainHand();
+        String item_in_hand_id = plugin.getPlatformInterface().getItemStackID(item_in_hand);
 
-        if (onPlacePot(player, id, location, event)) {
+        InteractionIndex index = this.interactionIndex;
+        BlockRole blockRole = index.getBlockRole(id);
+        ItemRole itemRole = index.getItemRole(item_in_hand_id);
+        // only cans and sprinklers do something without clicking a CustomCrops block
+        if (blockRole == null && itemRole != ItemRole.WATERING_CAN && itemRole != ItemRole.SPRINKLER) {
             return;
         }
-    }
-
-    void onInteractSomething(Player player, Location location, String id, @Nullable BlockFace blockFace, Cancellable event) {
 
         if (!plugin.getWorldDataManager().isWorldAllowed(location.getWorld())) {
             return;
         }
 
-        ItemStack item_in_hand = player.getInventory().getItemInMainHand();
-        String item_in_hand_id = plugin.getPlatformInterface().getItemStackID(item_in_hand);
-
-        if (ProtectionLib.canBreak(player, location)) {
-            if (onInteractCrop(player, id, location, item_in_hand, item_in_hand_id, event)) {
+        if (blockRole == BlockRole.CROP && ProtectionLib.canBreak(player, location)) {
+            long start = System.nanoTime();
+            boolean handled = onInteractCrop(player, id, location, item_in_hand, item_in_hand_id, event);
+            handlerTimings.record(HandlerType.INTERACT_CROP, start, location);
+            if (handled) {
                 return;
             }
         }
 
         if (ProtectionLib.canPlace(player, location)) {
-            if (onInteractWithSprinkler(player, location, item_in_hand, item_in_hand_id, blockFace)) {
-                return;
+            if (itemRole == ItemRole.SPRINKLER) {
+                long start = System.nanoTime();
+                boolean handled = onInteractWithSprinkler(player, location, item_in_hand, item_in_hand_id, blockFace);
+                handlerTimings.record(HandlerType.PLACE_SPRINKLER, start, location);
+                if (handled) {
+                    return;
+                }
             }
 
-            if (onInteractSprinkler(player, id, location, item_in_hand, item_in_hand_id, event)) {
-                return;
+            if (blockRole == BlockRole.SPRINKLER) {
+                long start = System.nanoTime();
+                boolean handled = onInteractSprinkler(player, id, location, item_in_hand, item_in_hand_id, event);
+                handlerTimings.record(HandlerType.INTERACT_SPRINKLER, start, location);
+                if (handled) {
+                    return;
+                }
             }
 
-            if (onInteractPot(player, id, location, item_in_hand, item_in_hand_id, event)) {
-                return;
+            if (blockRole == BlockRole.POT) {
+                long start = System.nanoTime();
+                boolean handled = onInteractPot(player, id, location, item_in_hand, item_in_hand_id, event);
+                handlerTimings.record(HandlerType.INTERACT_POT, start, location);
+                if (handled) {
+                    return;
+                }
             }
 
-            if (onInteractWithWateringCan(player, item_in_hand_id, item_in_hand, id, location)) {
-                return;
+            if (itemRole == ItemRole.WATERING_CAN) {
+                long start = System.nanoTime();
+                onInteractWithWateringCan(player, item_in_hand_id, item_in_hand, id, location);
+                handlerTimings.record(HandlerType.WATERING_CAN, start, location);
             }
         }
     }
@@ -1016,53 +1149,38 @@ public class PlatformManager extends Function {
 
     private void waterPot(int width, int length, Location location, float yaw, String id, @Nullable Particle particle, int water){
         int extend = width / 2;
+        SimpleLocation origin = SimpleLocation.getByBukkitLocation(location);
+        List<SimpleLocation> positions = new ArrayList<>((extend * 2 + 1) * length);
         if (yaw < 45 && yaw > -135) {
             if (yaw > -45) {
                 for (int i = -extend; i <= extend; i++) {
-                    Location tempLoc = location.clone().add(i, 0, -1);
                     for (int j = 0; j < length; j++){
-                        tempLoc.add(0,0,1);
-                        tryToWaterPot(tempLoc, id, particle, water);
+                        positions.add(origin.add(i, 0, j));
                     }
                 }
             } else {
                 for (int i = -extend; i <= extend; i++) {
-                    Location tempLoc = location.clone().add(-1, 0, i);
                     for (int j = 0; j < length; j++){
-                        tempLoc.add(1,0,0);
-                        tryToWaterPot(tempLoc, id, particle, water);
+                        positions.add(origin.add(j, 0, i));
                     }
                 }
             }
         } else {
             if (yaw > 45 && yaw < 135) {
                 for (int i = -extend; i <= extend; i++) {
-                    Location tempLoc = location.clone().add(1, 0, i);
                     for (int j = 0; j < length; j++){
-                        tempLoc.subtract(1,0,0);
-                        tryToWaterPot(tempLoc, id, particle, water);
+                        positions.add(origin.add(-j, 0, i));
                     }
                 }
             } else {
                 for (int i = -extend; i <= extend; i++) {
-                    Location tempLoc = location.clone().add(i, 0, 1);
                     for (int j = 0; j < length; j++){
-                        tempLoc.subtract(0,0,1);
-                        tryToWaterPot(tempLoc, id, particle, water);
+                        positions.add(origin.add(i, 0, -j));
                     }
                 }
             }
         }
-    }
-
-    private void tryToWaterPot(Location location, String pot_id, @Nullable Particle particle, int water) {
-        String blockID = plugin.getPlatformInterface().getBlockID(location.getBlock());
-        String current_id = plugin.getPotManager().getPotKeyByBlockID(blockID);
-        if (current_id != null && current_id.equals(pot_id)) {
-            plugin.getWorldDataManager().addWaterToPot(SimpleLocation.getByBukkitLocation(location), water, pot_id);
-            if (particle != null)
-                location.getWorld().spawnParticle(particle, location.clone().add(0.5,1, 0.5),3,0.1,0.1,0.1);
-        }
+        plugin.getWorldDataManager().waterPots(origin.getWorldName(), positions, water, new String[]{id}, particle);
     }
 
     public boolean onInteractWithWateringCan(Player player, String item_in_hand_id, ItemStack item_in_hand, @Nullable String id, @Nullable Location location) {
@@ -28,6 +28,11 @@ public class ItemsAdderHandler extends Handler {
         super(platformManager);
     }
 
+    @EventHandler
+    public void onLoadData(ItemsAdderLoadDataEvent event) {
+        platformManager.onItemPluginReload();
+    }
+
     @EventHandler
     public void onBreakCustomBlock(CustomBlockBreakEvent event) {
         platformManager.onBreakCustomBlock(event.getPlayer(), event.getBlock().getLocation(), event.getNamespacedID(), event);
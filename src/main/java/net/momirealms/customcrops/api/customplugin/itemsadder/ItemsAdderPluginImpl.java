@@ -23,10 +23,12 @@ import dev.lone.itemsadder.api.CustomBlock;
 import dev.lone.itemsadder.api.CustomFurniture;
 import dev.lone.itemsadder.api.CustomStack;
 import net.momirealms.customcrops.api.customplugin.PlatformInterface;
+import net.momirealms.customcrops.api.object.ItemMode;
 import net.momirealms.customcrops.api.util.AdventureUtils;
 import org.bukkit.Location;
 import org.bukkit.Material;
 import org.bukkit.block.Block;
+import org.bukkit.block.data.BlockData;
 import org.bukkit.entity.Entity;
 import org.bukkit.entity.ItemDisplay;
 import org.bukkit.entity.ItemFrame;
@@ -34,6 +36,8 @@ import org.bukkit.inventory.ItemStack;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.*;
+
 public class ItemsAdderPluginImpl implements PlatformInterface {
 
     @Override
@@ -163,4 +167,63 @@ public class ItemsAdderPluginImpl implements PlatformInterface {
         if (customFurniture == null) return null;
         return customFurniture.getNamespacedID();
     }
+
+    @Nullable
+    @Override
+    public BlockData getBlockData(String id, ItemMode itemMode) {
+        CustomBlock customBlock = CustomBlock.getInstance(id);
+        return customBlock == null ? null : customBlock.getBaseBlockData();
+    }
+
+    @Override
+    public void placeBlocks(Collection<Location> locations, String id, ItemMode itemMode) {
+        CustomBlock customBlock = CustomBlock.getInstance(id);
+        if (customBlock == null) {
+            AdventureUtils.consoleMessage("<red>[CustomCrops] Block not exists: " + id);
+            return;
+        }
+        for (List<Location> group : PlatformInterface.groupByChunk(locations)) {
+            for (Location location : group) {
+                customBlock.place(location);
+            }
+        }
+    }
+
+    @Override
+    public void removeBlocks(Collection<Location> locations) {
+        for (List<Location> group : PlatformInterface.groupByChunk(locations)) {
+            for (Location location : group) {
+                removeBlock(location.getBlock());
+            }
+        }
+    }
+
+    @Override
+    public void swapModels(Map<Location, String> models, ItemMode itemMode) {
+        Map<String, CustomBlock> resolved = new HashMap<>();
+        for (List<Location> group : PlatformInterface.groupByChunk(models.keySet())) {
+            for (Location location : group) {
+                String id = models.get(location);
+                CustomBlock customBlock = resolved.get(id);
+                if (customBlock == null && !resolved.containsKey(id)) {
+                    customBlock = CustomBlock.getInstance(id);
+                    resolved.put(id, customBlock);
+                    if (customBlock == null) AdventureUtils.consoleMessage("<red>[CustomCrops] Block not exists: " + id);
+                }
+                if (customBlock == null) continue;
+                removeBlock(location.getBlock());
+                customBlock.place(location);
+            }
+        }
+    }
+
+    /**
+     * CustomBlock.remove applies physics, only the fallback for unknown blocks doesn't
+     */
+    private void removeBlock(Block block) {
+        if (block.getType() == Material.AIR) return;
+        if (!CustomBlock.remove(block.getLocation())) {
+            block.setType(Material.AIR, false);
+        }
+    }
 }
@@ -32,6 +32,11 @@ public class OraxenHandler extends Handler {
         super(platformManager);
     }
 
+    @EventHandler
+    public void onItemsLoaded(OraxenItemsLoadedEvent event) {
+        platformManager.onItemPluginReload();
+    }
+
     @EventHandler
     public void onBreakNoteBlock(OraxenNoteBlockBreakEvent event) {
         platformManager.onBreakCustomBlock(event.getPlayer(), event.getBlock().getLocation(), event.getMechanic().getItemID(), event);
@@ -32,11 +32,13 @@ import io.th0rgal.oraxen.mechanics.provided.gameplay.noteblock.NoteBlockMechanic
 import io.th0rgal.oraxen.mechanics.provided.gameplay.stringblock.StringBlockMechanicFactory;
 import io.th0rgal.oraxen.utils.drops.Drop;
 import net.momirealms.customcrops.api.customplugin.PlatformInterface;
+import net.momirealms.customcrops.api.object.ItemMode;
 import net.momirealms.customcrops.api.util.AdventureUtils;
 import org.bukkit.Location;
 import org.bukkit.Material;
 import org.bukkit.block.Block;
 import org.bukkit.block.BlockFace;
+import org.bukkit.block.data.BlockData;
 import org.bukkit.entity.Entity;
 import org.bukkit.entity.ItemDisplay;
 import org.bukkit.entity.ItemFrame;
@@ -44,6 +46,8 @@ import org.bukkit.inventory.ItemStack;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.*;
+
 public class OraxenPluginImpl implements PlatformInterface {
 
     @Override
@@ -180,4 +184,65 @@ public class OraxenPluginImpl implements PlatformInterface {
         }
         return itemStack.getType().name();
     }
+
+    @Override
+    public void placeBlocks(Collection<Location> locations, String id, ItemMode itemMode) {
+        BlockData blockData = resolveBlockData(id, itemMode);
+        if (blockData == null) return;
+        for (List<Location> group : PlatformInterface.groupByChunk(locations)) {
+            for (Location location : group) {
+                location.getBlock().setBlockData(blockData, false);
+            }
+        }
+    }
+
+    @Override
+    public void removeBlocks(Collection<Location> locations) {
+        for (List<Location> group : PlatformInterface.groupByChunk(locations)) {
+            for (Location location : group) {
+                Block block = location.getBlock();
+                if (block.getType() == Material.AIR) continue;
+                if (!OraxenBlocks.remove(location, null)) {
+                    block.setType(Material.AIR, false);
+                }
+            }
+        }
+    }
+
+    @Override
+    public void swapModels(Map<Location, String> models, ItemMode itemMode) {
+        Map<String, BlockData> resolved = new HashMap<>();
+        for (List<Location> group : PlatformInterface.groupByChunk(models.keySet())) {
+            for (Location location : group) {
+                String id = models.get(location);
+                BlockData blockData = resolved.get(id);
+                if (blockData == null && !resolved.containsKey(id)) {
+                    blockData = resolveBlockData(id, itemMode);
+                    resolved.put(id, blockData);
+                }
+                if (blockData == null) continue;
+                // note blocks and tripwires are plain block states, so they can be overwritten in place
+                location.getBlock().setBlockData(blockData, false);
+            }
+        }
+    }
+
+    @Nullable
+    @Override
+    public BlockData getBlockData(String id, ItemMode itemMode) {
+        try {
+            return itemMode == ItemMode.NOTE_BLOCK ? NoteBlockMechanicFactory.createNoteBlockData(id) : StringBlockMechanicFactory.createTripwireData(id);
+        } catch (NullPointerException | ClassCastException e) {
+            return null;
+        }
+    }
+
+    @Nullable
+    private BlockData resolveBlockData(String id, ItemMode itemMode) {
+        BlockData blockData = getBlockData(id, itemMode);
+        if (blockData == null) {
+            AdventureUtils.consoleMessage("<red>[CustomCrops] Block not exists: " + id);
+        }
+        return blockData;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,80 @@
+/*
+ *  Copyright (C) <2022> <XiaoMoMi>
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package net.momirealms.customcrops.api.object;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.reflect.Array;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Assigns dense int ids to config keys.
+ * Ids are never reused or reassigned, so an id cached in a runtime object stays valid across reloads
+ * while the data files keep storing the string key.
+ */
+public class ConfigPalette {
+
+    private final ConcurrentHashMap<String, Integer> idMap;
+    private volatile int size;
+
+    public ConfigPalette() {
+        this.idMap = new ConcurrentHashMap<>();
+        // 0 is reserved for "not resolved yet"
+        this.size = 1;
+    }
+
+    public int getID(@NotNull String key) {
+        Integer id = idMap.get(key);
+        if (id != null) return id;
+        return assign(key);
+    }
+
+    private synchronized int assign(String key) {
+        Integer id = idMap.get(key);
+        if (id != null) return id;
+        int newID = size;
+        idMap.put(key, newID);
+        size = newID + 1;
+        return newID;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Build a lookup table indexed by id from the given configs
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T[] createTable(Class<T> clazz, Map<String, T> configs) {
+        for (String key : configs.keySet()) {
+            getID(key);
+        }
+        T[] table = (T[]) Array.newInstance(clazz, size);
+        for (Map.Entry<String, T> entry : configs.entrySet()) {
+            table[idMap.get(entry.getKey())] = entry.getValue();
+        }
+        return table;
+    }
+
+    @Nullable
+    public static <T> T get(T[] table, int id) {
+        return id < table.length ? table[id] : null;
+    }
+}
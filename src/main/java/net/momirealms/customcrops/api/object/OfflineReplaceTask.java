@@ -1,19 +1,70 @@
 package net.momirealms.customcrops.api.object;
 
+import org.jetbrains.annotations.Nullable;
+
+import java.io.Serial;
 import java.io.Serializable;
+import java.util.Arrays;
 
+/**
+ * The model a location should have once its chunk is loaded again
+ * Only the latest one of a location is kept, see {@link #after(OfflineReplaceTask)}
+ */
 public class OfflineReplaceTask implements Serializable {
 
+    @Serial
+    private static final long serialVersionUID = -7700789811612423911L;
+
     private final String id;
     private final ItemType itemType;
     private final ItemMode itemMode;
+    // the mode of the model still in the world, null in the tasks saved by older versions
+    private final ItemMode replacedMode;
+    private final boolean rotation;
+    // placed on an empty location instead of replacing a model
+    private final boolean place;
+    // the stage whose break actions are triggered once the replaced model is removed
+    private final String breakStage;
+    // water for the pot found at the location, which had no data when a sprinkler watered it
+    private final int water;
+    private final String[] potWhitelist;
 
     public OfflineReplaceTask(String id, ItemType itemType, ItemMode itemMode) {
+        this(id, itemType, itemMode, null, false, false);
+    }
+
+    public OfflineReplaceTask(String id, ItemType itemType, ItemMode itemMode, @Nullable ItemMode replacedMode, boolean rotation, boolean place) {
+        this(id, itemType, itemMode, replacedMode, rotation, place, null);
+    }
+
+    public OfflineReplaceTask(String id, ItemType itemType, ItemMode itemMode, @Nullable ItemMode replacedMode, boolean rotation, boolean place, @Nullable String breakStage) {
+        this(id, itemType, itemMode, replacedMode, rotation, place, breakStage, 0, null);
+    }
+
+    private OfflineReplaceTask(String id, ItemType itemType, ItemMode itemMode, @Nullable ItemMode replacedMode, boolean rotation, boolean place, @Nullable String breakStage, int water, @Nullable String[] potWhitelist) {
         this.id = id;
         this.itemMode = itemMode;
         this.itemType = itemType;
+        this.replacedMode = replacedMode;
+        this.rotation = rotation;
+        this.place = place;
+        this.breakStage = breakStage;
+        this.water = water;
+        this.potWhitelist = potWhitelist;
+    }
+
+    /**
+     * Adds water to the pot at the location if its block is still a pot once the chunk is loaded,
+     * then updates its model
+     */
+    public static OfflineReplaceTask water(int amount, @Nullable String[] potWhitelist) {
+        return new OfflineReplaceTask(null, ItemType.POT, ItemMode.NOTE_BLOCK, null, false, false, null, amount, potWhitelist);
     }
 
+    /**
+     * @return null if the model should be removed, or for the tasks only adding water
+     */
+    @Nullable
     public String getId() {
         return id;
     }
@@ -25,4 +76,50 @@ public class OfflineReplaceTask implements Serializable {
     public ItemType getItemType() {
         return itemType;
     }
+
+    public ItemMode getReplacedMode() {
+        return replacedMode == null ? itemMode : replacedMode;
+    }
+
+    public boolean isRotation() {
+        return rotation;
+    }
+
+    public boolean isPlace() {
+        return place;
+    }
+
+    @Nullable
+    public String getBreakStage() {
+        return breakStage;
+    }
+
+    public int getWater() {
+        return water;
+    }
+
+    @Nullable
+    public String[] getPotWhitelist() {
+        return potWhitelist;
+    }
+
+    /**
+     * The previous task was never applied, so the world still has what it was going to replace
+     */
+    public OfflineReplaceTask after(OfflineReplaceTask previous) {
+        if (previous.itemType != itemType) return this;
+        if (itemType == ItemType.POT && (water != 0 || previous.water != 0)) {
+            // the model is derived from the pot once the water is added, so pending water is never dropped
+            if (water == 0) return previous;
+            // the pot would have used some water between two sprinkler runs, the amounts aren't added up
+            if (previous.water > water && Arrays.equals(previous.potWhitelist, potWhitelist)) return previous;
+            return this;
+        }
+        if (previous.place) {
+            return id == null ? this : new OfflineReplaceTask(id, itemType, itemMode, null, rotation, true, breakStage);
+        }
+        // the break actions of the previous model still have to be triggered when it's removed
+        String stage = previous.breakStage != null ? previous.breakStage : breakStage;
+        return new OfflineReplaceTask(id, itemType, itemMode, previous.getReplacedMode(), rotation, false, stage);
+    }
 }
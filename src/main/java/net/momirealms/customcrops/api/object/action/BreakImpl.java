@@ -20,8 +20,11 @@ package net.momirealms.customcrops.api.object.action;
 import net.momirealms.customcrops.CustomCrops;
 import net.momirealms.customcrops.api.event.CropBreakEvent;
 import net.momirealms.customcrops.api.object.ItemMode;
+import net.momirealms.customcrops.api.object.ItemType;
+import net.momirealms.customcrops.api.object.OfflineReplaceTask;
 import net.momirealms.customcrops.api.object.crop.CropConfig;
 import net.momirealms.customcrops.api.object.crop.StageConfig;
+import net.momirealms.customcrops.api.object.metrics.SyncCategory;
 import net.momirealms.customcrops.api.object.world.SimpleLocation;
 import org.bukkit.Bukkit;
 import org.bukkit.Chunk;
@@ -30,8 +33,6 @@ import org.bukkit.entity.Player;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
-import java.util.concurrent.CompletableFuture;
-
 public class BreakImpl implements Action {
 
     private final boolean triggerAction;
@@ -57,41 +58,49 @@ public class BreakImpl implements Action {
             CustomCrops.getInstance().getPlatformInterface().removeAnyThingAt(bLoc);
             CustomCrops.getInstance().getWorldDataManager().removeCropData(cropLoc);
             doTriggerActions(player, cropLoc, itemMode);
+        } else if (!bLoc.getWorld().isChunkLoaded(cropLoc.getX() >> 4, cropLoc.getZ() >> 4)) {
+            // the model is removed and the actions are triggered when the chunk is loaded
+            CustomCrops.getInstance().getWorldDataManager().removeCropData(cropLoc);
+            queueBreak(cropLoc, itemMode);
         } else {
-            CompletableFuture<Chunk> asyncGetChunk = bLoc.getWorld().getChunkAtAsync(bLoc.getBlockX() >> 4, bLoc.getBlockZ() >> 4);
-            if (itemMode == ItemMode.ITEM_FRAME || itemMode == ItemMode.ITEM_DISPLAY) {
-                CompletableFuture<Boolean> loadEntities = asyncGetChunk.thenApply((chunk) -> {
-                    chunk.getEntities();
-                    return chunk.isEntitiesLoaded();
-                });
-                loadEntities.whenComplete((result, throwable) ->
-                        CustomCrops.getInstance().getScheduler().runTask(() -> {
-                            CustomCrops.getInstance().getWorldDataManager().removeCropData(cropLoc);
-                            if (CustomCrops.getInstance().getPlatformInterface().removeCustomItem(bLoc, itemMode)) {
-                                doTriggerActions(null, cropLoc, itemMode);
-                            }
-                        }));
-            } else {
-                asyncGetChunk.whenComplete((result, throwable) ->
-                        CustomCrops.getInstance().getScheduler().runTask(() -> {
-                            CustomCrops.getInstance().getWorldDataManager().removeCropData(cropLoc);
-                            if (CustomCrops.getInstance().getPlatformInterface().removeCustomItem(bLoc, itemMode)) {
-                                doTriggerActions(null, cropLoc, itemMode);
-                            }
-                        }));
-            }
+            CustomCrops.getInstance().getScheduler().runTask(SyncCategory.BREAK, cropLoc.getWorldName(), () -> {
+                CustomCrops.getInstance().getWorldDataManager().removeCropData(cropLoc);
+                Chunk chunk = bLoc.getWorld().isChunkLoaded(cropLoc.getX() >> 4, cropLoc.getZ() >> 4) ? bLoc.getChunk() : null;
+                if (chunk == null || ((itemMode == ItemMode.ITEM_FRAME || itemMode == ItemMode.ITEM_DISPLAY) && !chunk.isEntitiesLoaded())) {
+                    queueBreak(cropLoc, itemMode);
+                    return;
+                }
+                if (CustomCrops.getInstance().getPlatformInterface().removeCustomItem(bLoc, itemMode)) {
+                    doTriggerActions(null, cropLoc, itemMode);
+                }
+            });
         }
     }
 
+    private void queueBreak(SimpleLocation cropLoc, ItemMode itemMode) {
+        String breakStage = hasTriggerActions() ? stage_id : null;
+        CustomCrops.getInstance().getWorldDataManager().addOfflineTask(cropLoc, new OfflineReplaceTask(null, ItemType.CROP, itemMode, null, false, false, breakStage));
+    }
+
+    private boolean hasTriggerActions() {
+        if (!triggerAction) return false;
+        StageConfig stageConfig = CustomCrops.getInstance().getCropManager().getStageConfig(stage_id);
+        return stageConfig != null && stageConfig.getBreakActions() != null;
+    }
+
     private void doTriggerActions(@Nullable Player player, @NotNull SimpleLocation crop_loc, ItemMode itemMode) {
         if (triggerAction) {
-            StageConfig stageConfig = CustomCrops.getInstance().getCropManager().getStageConfig(stage_id);
-            if (stageConfig != null) {
-                Action[] actions = stageConfig.getBreakActions();
-                if (actions != null) {
-                    for (Action action : actions) {
-                        action.doOn(player, crop_loc, itemMode);
-                    }
+            triggerBreakActions(player, stage_id, crop_loc, itemMode);
+        }
+    }
+
+    public static void triggerBreakActions(@Nullable Player player, @NotNull String stage_id, @NotNull SimpleLocation crop_loc, ItemMode itemMode) {
+        StageConfig stageConfig = CustomCrops.getInstance().getCropManager().getStageConfig(stage_id);
+        if (stageConfig != null) {
+            Action[] actions = stageConfig.getBreakActions();
+            if (actions != null) {
+                for (Action action : actions) {
+                    action.doOn(player, crop_loc, itemMode);
                 }
             }
         }
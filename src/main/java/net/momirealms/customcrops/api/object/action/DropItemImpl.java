@@ -20,6 +20,7 @@ package net.momirealms.customcrops.api.object.action;
 import net.momirealms.customcrops.CustomCrops;
 import net.momirealms.customcrops.api.object.ItemMode;
 import net.momirealms.customcrops.api.object.loot.Loot;
+import net.momirealms.customcrops.api.object.metrics.SyncCategory;
 import net.momirealms.customcrops.api.object.world.SimpleLocation;
 import org.bukkit.entity.Player;
 import org.jetbrains.annotations.Nullable;
@@ -34,7 +35,7 @@ public record DropItemImpl(Loot[] loots) implements Action {
                 loot.drop(player, cropLoc.getBukkitLocation());
             }
         } else {
-            CustomCrops.getInstance().getScheduler().runTask(() -> {
+            CustomCrops.getInstance().getScheduler().runTask(SyncCategory.DROP_ITEM, cropLoc.getWorldName(), () -> {
                 for (Loot loot : loots) {
                     loot.drop(null, cropLoc.getBukkitLocation());
                 }
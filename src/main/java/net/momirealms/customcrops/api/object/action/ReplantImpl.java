@@ -20,20 +20,20 @@ package net.momirealms.customcrops.api.object.action;
 import net.momirealms.customcrops.CustomCrops;
 import net.momirealms.customcrops.api.event.CropPlantEvent;
 import net.momirealms.customcrops.api.object.ItemMode;
+import net.momirealms.customcrops.api.object.ItemType;
+import net.momirealms.customcrops.api.object.OfflineReplaceTask;
 import net.momirealms.customcrops.api.object.basic.ConfigManager;
 import net.momirealms.customcrops.api.object.basic.MessageManager;
 import net.momirealms.customcrops.api.object.crop.CropConfig;
 import net.momirealms.customcrops.api.object.crop.GrowingCrop;
+import net.momirealms.customcrops.api.object.metrics.SyncCategory;
 import net.momirealms.customcrops.api.object.world.SimpleLocation;
 import net.momirealms.customcrops.api.util.AdventureUtils;
 import org.bukkit.Bukkit;
-import org.bukkit.Chunk;
 import org.bukkit.Location;
 import org.bukkit.entity.Player;
 import org.jetbrains.annotations.Nullable;
 
-import java.util.concurrent.CompletableFuture;
-
 public class ReplantImpl implements Action {
 
     private final int point;
@@ -68,29 +68,16 @@ public class ReplantImpl implements Action {
                     CustomCrops.getInstance().getPlatformInterface().placeCustomItem(location, model, newCMode);
                     CustomCrops.getInstance().getWorldDataManager().addCropData(cropLoc, new GrowingCrop(crop, point), true);
                 }
+            } else if (location.getWorld().isChunkLoaded(cropLoc.getX() >> 4, cropLoc.getZ() >> 4)) {
+                CustomCrops.getInstance().getScheduler().runTask(SyncCategory.REPLANT, cropLoc.getWorldName(), () -> {
+                    if (!CustomCrops.getInstance().getPlatformInterface().detectAnyThing(location)) {
+                        CustomCrops.getInstance().getPlatformInterface().placeCustomItem(location, model, newCMode);
+                        CustomCrops.getInstance().getWorldDataManager().addCropData(cropLoc, new GrowingCrop(crop, point), true);
+                    }
+                });
             } else {
-                CompletableFuture<Chunk> asyncGetChunk = location.getWorld().getChunkAtAsync(location.getBlockX() >> 4, location.getBlockZ() >> 4);
-                if (itemMode == ItemMode.ITEM_FRAME || itemMode == ItemMode.ITEM_DISPLAY) {
-                    CompletableFuture<Boolean> loadEntities = asyncGetChunk.thenApply((chunk) -> {
-                        chunk.getEntities();
-                        return chunk.isEntitiesLoaded();
-                    });
-                    loadEntities.whenComplete((result, throwable) ->
-                            CustomCrops.getInstance().getScheduler().runTask(() -> {
-                                if (!CustomCrops.getInstance().getPlatformInterface().detectAnyThing(location)) {
-                                    CustomCrops.getInstance().getPlatformInterface().placeCustomItem(location, model, newCMode);
-                                    CustomCrops.getInstance().getWorldDataManager().addCropData(cropLoc, new GrowingCrop(crop, point), true);
-                                }
-                            }));
-                } else {
-                    asyncGetChunk.whenComplete((result, throwable) ->
-                            CustomCrops.getInstance().getScheduler().runTask(() -> {
-                                if (!CustomCrops.getInstance().getPlatformInterface().detectAnyThing(location)) {
-                                    CustomCrops.getInstance().getPlatformInterface().placeCustomItem(location, model, newCMode);
-                                    CustomCrops.getInstance().getWorldDataManager().addCropData(cropLoc, new GrowingCrop(crop, point), true);
-                                }
-                            }));
-                }
+                CustomCrops.getInstance().getWorldDataManager().addCropData(cropLoc, new GrowingCrop(crop, point), true);
+                CustomCrops.getInstance().getWorldDataManager().addOfflineTask(cropLoc, new OfflineReplaceTask(model, ItemType.CROP, newCMode, null, false, true));
             }
         }
     }
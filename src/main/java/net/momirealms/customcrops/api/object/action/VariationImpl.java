@@ -19,18 +19,18 @@ package net.momirealms.customcrops.api.object.action;
 
 import net.momirealms.customcrops.CustomCrops;
 import net.momirealms.customcrops.api.object.ItemMode;
+import net.momirealms.customcrops.api.object.ItemType;
+import net.momirealms.customcrops.api.object.OfflineReplaceTask;
 import net.momirealms.customcrops.api.object.crop.VariationCrop;
 import net.momirealms.customcrops.api.object.fertilizer.Variation;
+import net.momirealms.customcrops.api.object.metrics.SyncCategory;
 import net.momirealms.customcrops.api.object.pot.Pot;
 import net.momirealms.customcrops.api.object.world.SimpleLocation;
-import org.bukkit.Chunk;
 import org.bukkit.Location;
 import org.bukkit.entity.Player;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
-import java.util.concurrent.CompletableFuture;
-
 public record VariationImpl(VariationCrop[] variationCrops) implements Action {
 
     @Override
@@ -68,27 +68,14 @@ public record VariationImpl(VariationCrop[] variationCrops) implements Action {
     private void doVariation(@NotNull SimpleLocation crop_loc, ItemMode itemMode, VariationCrop variationCrop) {
         Location location = crop_loc.getBukkitLocation();
         if (location == null) return;
-        CompletableFuture<Chunk> asyncGetChunk = location.getWorld().getChunkAtAsync(location.getBlockX() >> 4, location.getBlockZ() >> 4);
-        if (itemMode == ItemMode.ITEM_FRAME || itemMode == ItemMode.ITEM_DISPLAY) {
-            CompletableFuture<Boolean> loadEntities = asyncGetChunk.thenApply((chunk) -> {
-                chunk.getEntities();
-                return chunk.isEntitiesLoaded();
-            });
-            loadEntities.whenComplete((result, throwable) ->
-                    CustomCrops.getInstance().getScheduler().callSyncMethod(() -> {
-                        if (CustomCrops.getInstance().getPlatformInterface().removeCustomItem(location, itemMode)) {
-                            CustomCrops.getInstance().getPlatformInterface().placeCustomItem(location, variationCrop.getId(), variationCrop.getCropMode());
-                        }
-                        return null;
-                    }));
-        } else {
-            asyncGetChunk.whenComplete((result, throwable) ->
-                    CustomCrops.getInstance().getScheduler().callSyncMethod(() -> {
-                        if (CustomCrops.getInstance().getPlatformInterface().removeCustomItem(location, itemMode)) {
-                            CustomCrops.getInstance().getPlatformInterface().placeCustomItem(location, variationCrop.getId(), variationCrop.getCropMode());
-                        }
-                        return null;
-                    }));
+        if (!location.getWorld().isChunkLoaded(crop_loc.getX() >> 4, crop_loc.getZ() >> 4)) {
+            CustomCrops.getInstance().getWorldDataManager().addOfflineTask(crop_loc, new OfflineReplaceTask(variationCrop.getId(), ItemType.CROP, variationCrop.getCropMode(), itemMode, false, false));
+            return;
         }
+        CustomCrops.getInstance().getScheduler().runTask(SyncCategory.VARIATION, crop_loc.getWorldName(), () -> {
+            if (CustomCrops.getInstance().getPlatformInterface().removeCustomItem(location, itemMode)) {
+                CustomCrops.getInstance().getPlatformInterface().placeCustomItem(location, variationCrop.getId(), variationCrop.getCropMode());
+            }
+        });
     }
-}
\ No newline at end of file
+}
@@ -19,6 +19,7 @@ package net.momirealms.customcrops.api.object.basic;
 
 import net.momirealms.customcrops.CustomCrops;
 import net.momirealms.customcrops.api.object.Function;
+import net.momirealms.customcrops.api.object.loot.BonusFormula;
 import net.momirealms.customcrops.api.util.AdventureUtils;
 import net.momirealms.customcrops.api.util.ConfigUtils;
 import org.bukkit.configuration.ConfigurationSection;
@@ -36,7 +37,7 @@ public class ConfigManager extends Function {
     public static boolean enableBStats;
     public static boolean checkUpdate;
     public static boolean enableSkillBonus;
-    public static String bonusFormula;
+    public static BonusFormula bonusFormula;
     public static int greenhouseRange;
     public static boolean whiteListWorlds;
     public static HashSet<String> worldList;
@@ -45,6 +46,7 @@ public class ConfigManager extends Function {
     public static boolean debugCorruption;
     public static String greenhouseBlock;
     public static String scarecrow;
+    public static int scarecrowRange;
     public static boolean enableGreenhouse;
     public static int pointGainInterval;
     public static int corePoolSize;
@@ -64,12 +66,19 @@ public class ConfigManager extends Function {
     public static int intervalConsume;
     public static int intervalWork;
     public static int fixRange;
+    public static int placeholderCacheTicks;
+    public static boolean enablePrometheus;
+    public static String prometheusAddress;
+    public static int prometheusPort;
     public static boolean disableMoistureMechanic;
     public static boolean preventTrampling;
     public static boolean onlyInLoadedChunks;
     public static boolean enableCorruptionFixer;
     public static boolean debugWorld;
-    public static boolean updateDuringLoading;
+    public static boolean enableThrottle;
+    public static double throttleHighMspt;
+    public static double throttleLowMspt;
+    public static int throttleUpdatesPerTick;
 
     private final HashMap<String, Integer> cropPerWorld;
     private final CustomCrops plugin;
@@ -109,7 +118,10 @@ public class ConfigManager extends Function {
     private void loadOptimization(ConfigurationSection section) {
         enableLimitation = section.getBoolean("limitation.growing-crop-amount.enable", true);
         maxCropPerChunk = section.getInt("limitation.growing-crop-amount.default", 64);
-        updateDuringLoading = !ConfigManager.onlyInLoadedChunks && section.getBoolean("only-update-during-chunk-loading", false);
+        enableThrottle = section.getBoolean("adaptive-throttle.enable", true);
+        throttleHighMspt = section.getDouble("adaptive-throttle.high-mspt", 45);
+        throttleLowMspt = section.getDouble("adaptive-throttle.low-mspt", 35);
+        throttleUpdatesPerTick = Math.max(1, section.getInt("adaptive-throttle.updates-per-tick", 256));
         List<String> worldSettings = section.getStringList("limitation.growing-crop-amount.worlds");
         for (String setting : worldSettings) {
             String[] split = setting.split(":", 2);
@@ -149,15 +161,29 @@ public class ConfigManager extends Function {
         greenhouseRange = section.getInt("season.greenhouse.range", 5);
         greenhouseBlock = section.getString("season.greenhouse.block");
         scarecrow = section.getString("scarecrow");
+        scarecrowRange = section.getInt("scarecrow-range", -1);
         disableMoistureMechanic = section.getBoolean("vanilla-farmland.disable-moisture-mechanic", false);
         preventTrampling = section.getBoolean("vanilla-farmland.prevent-trampling", false);
     }
 
     private void loadOtherSetting(ConfigurationSection section) {
         enableSkillBonus = section.getBoolean("skill-bonus.enable", false);
-        bonusFormula =  section.getString("skill-bonus.formula");
+        bonusFormula = null;
+        String formula = section.getString("skill-bonus.formula");
+        if (enableSkillBonus && formula != null) {
+            try {
+                bonusFormula = new BonusFormula(formula);
+            } catch (IllegalArgumentException e) {
+                enableSkillBonus = false;
+                AdventureUtils.consoleMessage("<red>[CustomCrops] Invalid skill bonus formula: " + formula);
+            }
+        }
         enableCorruptionFixer =  section.getBoolean("enable-corruption-fixer", true);
         fixRange =  section.getInt("corrupt-fix-range", 4);
+        placeholderCacheTicks = section.getInt("placeholder-cache-ticks", 1);
+        enablePrometheus = section.getBoolean("prometheus.enable", false);
+        prometheusAddress = section.getString("prometheus.address", "127.0.0.1");
+        prometheusPort = section.getInt("prometheus.port", 9464);
     }
 
     public int getCropLimit(String world) {
@@ -18,24 +18,49 @@
 package net.momirealms.customcrops.api.object.condition;
 
 import net.momirealms.customcrops.api.object.world.SimpleLocation;
+import net.momirealms.customcrops.api.object.world.WorldEnvironment;
 
+import java.util.ArrayList;
 import java.util.List;
 
 public class AndCondition implements Condition {
 
-    private final List<Condition> deathConditions;
+    private final Condition[] conditions;
 
-    public AndCondition(List<Condition> deathConditions) {
-        this.deathConditions = deathConditions;
+    public AndCondition(List<Condition> conditions) {
+        this.conditions = conditions.toArray(new Condition[0]);
     }
 
     @Override
     public boolean isMet(SimpleLocation simpleLocation) {
-        for (Condition condition : deathConditions) {
+        for (Condition condition : conditions) {
             if (!condition.isMet(simpleLocation)) {
                 return false;
             }
         }
         return true;
     }
-}
\ No newline at end of file
+
+    @Override
+    public boolean isMet(SimpleLocation simpleLocation, WorldEnvironment environment) {
+        for (Condition condition : conditions) {
+            if (!condition.isMet(simpleLocation, environment)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public Condition simplify(WorldEnvironment environment) {
+        List<Condition> remainder = new ArrayList<>(conditions.length);
+        for (Condition condition : conditions) {
+            Condition simplified = condition.simplify(environment);
+            if (simplified == Condition.FALSE) return Condition.FALSE;
+            if (simplified != Condition.TRUE) remainder.add(simplified);
+        }
+        if (remainder.isEmpty()) return Condition.TRUE;
+        if (remainder.size() == 1) return remainder.get(0);
+        return new AndCondition(remainder);
+    }
+}
@@ -0,0 +1,53 @@
+/*
+ *  Copyright (C) <2022> <XiaoMoMi>
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package net.momirealms.customcrops.api.object.condition;
+
+import net.momirealms.customcrops.api.object.crop.CropConfig;
+import net.momirealms.customcrops.api.object.world.WorldEnvironment;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The conditions of a crop config with their world-level parts already evaluated for one point,
+ * leaving only the checks that depend on the crop's location
+ *
+ * @param environment the snapshot these conditions are compiled for
+ * @param deathConditions the death conditions that might still be met, in their original order
+ * @param growCondition the remaining grow condition
+ */
+public record CompiledConditions(WorldEnvironment environment, DeathCondition[] deathConditions, Condition growCondition) {
+
+    public static CompiledConditions compile(CropConfig cropConfig, WorldEnvironment environment) {
+        List<DeathCondition> deathConditions = new ArrayList<>();
+        if (cropConfig.getDeathConditions() != null) {
+            for (DeathCondition deathCondition : cropConfig.getDeathConditions()) {
+                DeathCondition simplified = deathCondition.simplify(environment);
+                if (simplified != null) deathConditions.add(simplified);
+            }
+        }
+        Condition growCondition = Condition.TRUE;
+        if (cropConfig.getGrowConditions() != null) {
+            growCondition = new AndCondition(List.of(cropConfig.getGrowConditions())).simplify(environment);
+        }
+        return new CompiledConditions(environment, deathConditions.toArray(new DeathCondition[0]), growCondition);
+    }
+
+    public boolean canGrow() {
+        return growCondition != Condition.FALSE;
+    }
+}
@@ -18,8 +18,28 @@
 package net.momirealms.customcrops.api.object.condition;
 
 import net.momirealms.customcrops.api.object.world.SimpleLocation;
+import net.momirealms.customcrops.api.object.world.WorldEnvironment;
 
 public interface Condition {
 
+    Condition TRUE = simpleLocation -> true;
+    Condition FALSE = simpleLocation -> false;
+
     boolean isMet(SimpleLocation simpleLocation);
+
+    /**
+     * Check the condition against a snapshot of the world taken at the current point
+     */
+    default boolean isMet(SimpleLocation simpleLocation, WorldEnvironment environment) {
+        return isMet(simpleLocation);
+    }
+
+    /**
+     * Evaluate the world-level parts of this condition against the snapshot
+     *
+     * @return TRUE or FALSE if the result doesn't depend on the location, otherwise the location-level remainder
+     */
+    default Condition simplify(WorldEnvironment environment) {
+        return this;
+    }
 }
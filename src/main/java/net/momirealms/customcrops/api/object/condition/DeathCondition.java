@@ -21,14 +21,15 @@ import net.momirealms.customcrops.CustomCrops;
 import net.momirealms.customcrops.api.object.ItemMode;
 import net.momirealms.customcrops.api.object.ItemType;
 import net.momirealms.customcrops.api.object.OfflineReplaceTask;
-import net.momirealms.customcrops.api.object.basic.ConfigManager;
+import net.momirealms.customcrops.api.object.metrics.SyncCategory;
 import net.momirealms.customcrops.api.object.world.SimpleLocation;
-import org.bukkit.Chunk;
+import net.momirealms.customcrops.api.object.world.WorldEnvironment;
 import org.bukkit.Location;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
-import java.util.concurrent.CompletableFuture;
+import java.util.ArrayList;
+import java.util.List;
 
 public class DeathCondition {
 
@@ -40,6 +41,11 @@ public class DeathCondition {
         this.conditions = conditions;
     }
 
+    @Nullable
+    public String getDeadModel() {
+        return dead_model;
+    }
+
     public boolean checkIfDead(SimpleLocation simpleLocation) {
         for (Condition condition : conditions) {
             if (condition.isMet(simpleLocation)) {
@@ -49,6 +55,32 @@ public class DeathCondition {
         return false;
     }
 
+    public boolean checkIfDead(SimpleLocation simpleLocation, WorldEnvironment environment) {
+        for (Condition condition : conditions) {
+            if (condition.isMet(simpleLocation, environment)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Evaluate the world-level parts of the conditions against the snapshot
+     *
+     * @return the remaining death condition, or null if it can't be met at this point
+     */
+    @Nullable
+    public DeathCondition simplify(WorldEnvironment environment) {
+        List<Condition> remainder = new ArrayList<>(conditions.length);
+        for (Condition condition : conditions) {
+            Condition simplified = condition.simplify(environment);
+            if (simplified == Condition.TRUE) return new DeathCondition(dead_model, new Condition[]{Condition.TRUE});
+            if (simplified != Condition.FALSE) remainder.add(simplified);
+        }
+        if (remainder.isEmpty()) return null;
+        return new DeathCondition(dead_model, remainder.toArray(new Condition[0]));
+    }
+
     public void applyDeadModel(SimpleLocation simpleLocation, ItemMode itemMode) {
         Location location = simpleLocation.getBukkitLocation();
         if (location == null) return;
@@ -58,25 +90,11 @@ public class DeathCondition {
             return;
         }
 
-        if (ConfigManager.updateDuringLoading) {
-            CustomCrops.getInstance().getWorldDataManager().addOfflineTask(simpleLocation, new OfflineReplaceTask(dead_model, ItemType.CROP, itemMode));
-            return;
-        }
-
-        CompletableFuture<Chunk> asyncGetChunk = location.getWorld().getChunkAtAsync(location.getBlockX() >> 4, location.getBlockZ() >> 4);
-        if (itemMode == ItemMode.ITEM_FRAME || itemMode == ItemMode.ITEM_DISPLAY) {
-            CompletableFuture<Boolean> loadEntities = asyncGetChunk.thenApply((chunk) -> {
-                chunk.getEntities();
-                return chunk.isEntitiesLoaded();
-            });
-            loadEntities.whenComplete((result, throwable) -> replaceDeadModels(location, itemMode));
-        } else {
-            asyncGetChunk.whenComplete((result, throwable) -> replaceDeadModels(location, itemMode));
-        }
+        CustomCrops.getInstance().getWorldDataManager().addOfflineTask(simpleLocation, new OfflineReplaceTask(dead_model, ItemType.CROP, itemMode));
     }
 
     private void replaceDeadModels(Location location, ItemMode itemMode) {
-        CustomCrops.getInstance().getScheduler().runTask(() -> {
+        CustomCrops.getInstance().getScheduler().runTask(SyncCategory.DEATH_MODEL, location.getWorld().getName(), () -> {
             if (CustomCrops.getInstance().getPlatformInterface().removeCustomItem(location, itemMode)) {
                 if (dead_model != null) {
                     CustomCrops.getInstance().getPlatformInterface().placeCustomItem(location, dead_model, itemMode);
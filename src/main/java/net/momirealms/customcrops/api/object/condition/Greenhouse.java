@@ -0,0 +1,43 @@
+/*
+ *  Copyright (C) <2022> <XiaoMoMi>
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package net.momirealms.customcrops.api.object.condition;
+
+import net.momirealms.customcrops.CustomCrops;
+import net.momirealms.customcrops.api.object.basic.ConfigManager;
+import net.momirealms.customcrops.api.object.world.SimpleLocation;
+
+/**
+ * Location-level part of the season conditions
+ */
+public class Greenhouse implements Condition {
+
+    private final boolean inside;
+
+    public Greenhouse(boolean inside) {
+        this.inside = inside;
+    }
+
+    @Override
+    public boolean isMet(SimpleLocation simpleLocation) {
+        return isInGreenhouse(simpleLocation) == inside;
+    }
+
+    public static boolean isInGreenhouse(SimpleLocation simpleLocation) {
+        if (!ConfigManager.enableGreenhouse) return false;
+        return CustomCrops.getInstance().getWorldDataManager().hasGreenhouseAbove(simpleLocation, ConfigManager.greenhouseRange);
+    }
+}
@@ -17,21 +17,26 @@
 
 package net.momirealms.customcrops.api.object.condition;
 
-import net.momirealms.customcrops.CustomCrops;
 import net.momirealms.customcrops.api.object.pot.Pot;
 import net.momirealms.customcrops.api.object.world.SimpleLocation;
 
 public class WaterLessThan implements Condition {
 
     private final int amount;
+    private final PotLookup pots;
 
     public WaterLessThan(int amount) {
+        this(amount, PotLookup.WORLD_DATA);
+    }
+
+    public WaterLessThan(int amount, PotLookup pots) {
         this.amount = amount;
+        this.pots = pots;
     }
 
     @Override
     public boolean isMet(SimpleLocation crop_loc) {
-        Pot pot = CustomCrops.getInstance().getWorldDataManager().getPotData(crop_loc.add(0,-1,0));
+        Pot pot = pots.getPotData(crop_loc.add(0,-1,0));
         if (pot == null) return true;
         return pot.getWater() < amount;
     }
@@ -17,21 +17,26 @@
 
 package net.momirealms.customcrops.api.object.condition;
 
-import net.momirealms.customcrops.CustomCrops;
 import net.momirealms.customcrops.api.object.pot.Pot;
 import net.momirealms.customcrops.api.object.world.SimpleLocation;
 
 public class WaterMoreThan implements Condition {
 
     private final int amount;
+    private final PotLookup pots;
 
     public WaterMoreThan(int amount) {
+        this(amount, PotLookup.WORLD_DATA);
+    }
+
+    public WaterMoreThan(int amount, PotLookup pots) {
         this.amount = amount;
+        this.pots = pots;
     }
 
     @Override
     public boolean isMet(SimpleLocation crop_loc) {
-        Pot pot = CustomCrops.getInstance().getWorldDataManager().getPotData(crop_loc.add(0,-1,0));
+        Pot pot = pots.getPotData(crop_loc.add(0,-1,0));
         if (pot == null) return false;
         return pot.getWater() > amount;
     }
@@ -1,7 +1,8 @@
 package net.momirealms.customcrops.api.object.condition;
 
+import net.momirealms.customcrops.CustomCrops;
 import net.momirealms.customcrops.api.object.world.SimpleLocation;
-import org.bukkit.World;
+import net.momirealms.customcrops.api.object.world.WorldEnvironment;
 
 public class Weather implements Condition {
 
@@ -13,12 +14,14 @@ public class Weather implements Condition {
 
     @Override
     public boolean isMet(SimpleLocation simpleLocation) {
-        World world = simpleLocation.getBukkitWorld();
-        if (world == null) return false;
-        String currentWeather;
-        if (world.isThundering()) currentWeather = "thunder";
-        else if (world.isClearWeather()) currentWeather = "clear";
-        else currentWeather = "rain";
+        WorldEnvironment environment = CustomCrops.getInstance().getWorldDataManager().getEnvironment(simpleLocation.getWorldName());
+        if (environment == null) return false;
+        return isMet(simpleLocation, environment);
+    }
+
+    @Override
+    public boolean isMet(SimpleLocation simpleLocation, WorldEnvironment environment) {
+        String currentWeather = environment.weather();
         for (String weather : weathers) {
             if (weather.equals(currentWeather)) {
                 return true;
@@ -26,4 +29,9 @@ public class Weather implements Condition {
         }
         return false;
     }
+
+    @Override
+    public Condition simplify(WorldEnvironment environment) {
+        return isMet(null, environment) ? Condition.TRUE : Condition.FALSE;
+    }
 }
@@ -21,7 +21,7 @@ import net.momirealms.customcrops.CustomCrops;
 import net.momirealms.customcrops.api.object.basic.ConfigManager;
 import net.momirealms.customcrops.api.object.season.CCSeason;
 import net.momirealms.customcrops.api.object.world.SimpleLocation;
-import net.momirealms.customcrops.api.object.world.WorldDataManager;
+import net.momirealms.customcrops.api.object.world.WorldEnvironment;
 
 public class WrongSeason implements Condition {
 
@@ -33,18 +33,26 @@ public class WrongSeason implements Condition {
 
     @Override
     public boolean isMet(SimpleLocation simpleLocation) {
-        String world = simpleLocation.getWorldName();
-        CCSeason current = CustomCrops.getInstance().getIntegrationManager().getSeasonInterface().getSeason(world);
+        WorldEnvironment environment = CustomCrops.getInstance().getWorldDataManager().getEnvironment(simpleLocation.getWorldName());
+        if (environment == null) return false;
+        return isMet(simpleLocation, environment);
+    }
+
+    @Override
+    public boolean isMet(SimpleLocation simpleLocation, WorldEnvironment environment) {
+        return isWrongSeason(environment) && !Greenhouse.isInGreenhouse(simpleLocation);
+    }
+
+    @Override
+    public Condition simplify(WorldEnvironment environment) {
+        if (!isWrongSeason(environment)) return Condition.FALSE;
+        return ConfigManager.enableGreenhouse ? new Greenhouse(false) : Condition.TRUE;
+    }
+
+    private boolean isWrongSeason(WorldEnvironment environment) {
+        CCSeason current = environment.season();
         for (CCSeason bad : seasons) {
             if (current == bad) {
-                WorldDataManager worldDataManager = CustomCrops.getInstance().getWorldDataManager();
-                if (ConfigManager.enableGreenhouse) {
-                    for (int i = 0; i < ConfigManager.greenhouseRange; i++) {
-                        if (worldDataManager.isGreenhouse(simpleLocation.add(0, i, 0))) {
-                            return false;
-                        }
-                    }
-                }
                 return true;
             }
         }
@@ -27,6 +27,7 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.HashMap;
+import java.util.Map;
 
 public class CropConfig {
 
@@ -34,7 +35,9 @@ public class CropConfig {
     private final ItemMode itemMode;
     private final String[] bottom_blocks;
     private final int max_points;
-    private final HashMap<Integer, StageConfig> stageMap;
+    private final StageConfig[] stages;
+    private final int[] lastModelPoint;
+    private final int[] nextActionPoint;
     private final Requirement[] plantRequirements;
     private final Requirement[] breakRequirements;
     private final DeathCondition[] deathConditions;
@@ -64,7 +67,29 @@ public class CropConfig {
         this.breakRequirements = breakRequirements;
         this.max_points = max_points;
         this.bottom_blocks = bottom_blocks;
-        this.stageMap = stageMap;
+        int length = 0;
+        for (int point : stageMap.keySet()) {
+            if (point >= length) length = point + 1;
+        }
+        this.stages = new StageConfig[length];
+        for (Map.Entry<Integer, StageConfig> entry : stageMap.entrySet()) {
+            if (entry.getKey() >= 0) stages[entry.getKey()] = entry.getValue();
+        }
+        // lastModelPoint[i]: the highest point <= i whose stage has a model, or -1
+        // nextActionPoint[i]: the lowest point >= i whose stage has grow actions, or Integer.MAX_VALUE
+        this.lastModelPoint = new int[length];
+        this.nextActionPoint = new int[length + 1];
+        int last = -1;
+        for (int i = 0; i < length; i++) {
+            if (stages[i] != null && stages[i].getModel() != null) last = i;
+            lastModelPoint[i] = last;
+        }
+        int next = Integer.MAX_VALUE;
+        nextActionPoint[length] = next;
+        for (int i = length - 1; i >= 0; i--) {
+            if (stages[i] != null && stages[i].getGrowActions() != null) next = i;
+            nextActionPoint[i] = next;
+        }
         this.growConditions = growConditions;
         this.boneMeals = boneMeals;
         this.plantActions = plantActions;
@@ -82,7 +107,31 @@ public class CropConfig {
 
     @Nullable
     public StageConfig getStageConfig(int stage) {
-        return stageMap.get(stage);
+        if (stage < 0 || stage >= stages.length) return null;
+        return stages[stage];
+    }
+
+    /**
+     * Get the model a crop should display after growing from current to current + points
+     *
+     * @return the model of the last stage crossed, or null if no crossed stage has a model
+     */
+    @Nullable
+    public String getModelAfter(int current, int points) {
+        if (stages.length == 0) return null;
+        int point = lastModelPoint[Math.min(Math.max(current + points, 0), stages.length - 1)];
+        if (point <= current) return null;
+        return stages[point].getModel();
+    }
+
+    /**
+     * Get the first point >= the given point whose stage has grow actions
+     *
+     * @return the point, or Integer.MAX_VALUE if there's none
+     */
+    public int getNextActionPoint(int point) {
+        if (point >= stages.length) return Integer.MAX_VALUE;
+        return nextActionPoint[Math.max(point, 0)];
     }
 
     @NotNull
@@ -19,6 +19,7 @@ package net.momirealms.customcrops.api.object.crop;
 
 import net.momirealms.customcrops.CustomCrops;
 import net.momirealms.customcrops.api.customplugin.Platform;
+import net.momirealms.customcrops.api.object.ConfigPalette;
 import net.momirealms.customcrops.api.object.Function;
 import net.momirealms.customcrops.api.object.InteractCrop;
 import net.momirealms.customcrops.api.object.ItemMode;
@@ -40,27 +41,19 @@ import org.bukkit.plugin.Plugin;
 import org.jetbrains.annotations.Nullable;
 
 import java.io.File;
-import java.util.HashMap;
-import java.util.HashSet;
-import java.util.Locale;
+import java.util.*;
 
 public class CropManager extends Function implements Listener {
 
     private final CustomCrops plugin;
-    private final HashMap<String, String> stageToCrop;
-    private final HashMap<String, CropConfig> seedToCropConfig;
-    private final HashMap<String, CropConfig> cropConfigMap;
-    private final HashMap<String, StageConfig> stageConfigMap;
-    private final HashSet<String> deadCrops;
+    private final ConfigPalette palette;
+    private volatile Registry registry;
     private boolean hasCheckedTripwire;
 
     public CropManager(CustomCrops plugin) {
         this.plugin = plugin;
-        this.stageToCrop = new HashMap<>();
-        this.cropConfigMap = new HashMap<>();
-        this.stageConfigMap = new HashMap<>();
-        this.seedToCropConfig = new HashMap<>();
-        this.deadCrops = new HashSet<>();
+        this.palette = new ConfigPalette();
+        this.registry = Registry.EMPTY;
     }
 
     @Override
@@ -71,22 +64,24 @@ public class CropManager extends Function implements Listener {
 
     @Override
     public void unload() {
-        this.stageToCrop.clear();
-        this.cropConfigMap.clear();
-        this.stageConfigMap.clear();
-        this.deadCrops.clear();
-        this.seedToCropConfig.clear();
+        // The registry is kept until the next load publishes a new one,
+        // so that async tasks never observe an empty config during reload
         HandlerList.unregisterAll(this);
     }
 
     private void loadConfig() {
+        HashMap<String, String> stageToCrop = new HashMap<>();
+        HashMap<String, CropConfig> seedToCropConfig = new HashMap<>();
+        HashMap<String, CropConfig> cropConfigMap = new HashMap<>();
+        HashMap<String, StageConfig> stageConfigMap = new HashMap<>();
+        HashSet<String> deadCrops = new HashSet<>();
         File crop_folder = new File(plugin.getDataFolder(), "contents" + File.separator + "crops");
         if (!crop_folder.exists()) {
             if (!crop_folder.mkdirs()) return;
             ConfigUtils.getConfig("contents" + File.separator + "crops" + File.separator + "tomato.yml");
         }
         File[] files = crop_folder.listFiles();
-        if (files == null) return;
+        if (files == null) files = new File[0];
         for (File file : files) {
             YamlConfiguration config = YamlConfiguration.loadConfiguration(file);
             for (String key : config.getKeys(false)) {
@@ -143,6 +138,11 @@ public class CropManager extends Function implements Listener {
                     }
                 }
                 DeathCondition[] deathConditions = ConfigUtils.getDeathConditions(cropSec.getConfigurationSection("death-conditions"));
+                if (deathConditions != null) {
+                    for (DeathCondition deathCondition : deathConditions) {
+                        if (deathCondition.getDeadModel() != null) deadCrops.add(deathCondition.getDeadModel());
+                    }
+                }
                 Condition[] growConditions = ConfigUtils.getConditions(cropSec.getConfigurationSection("grow-conditions"));
                 CropConfig cropConfig = new CropConfig(
                         key,
@@ -162,37 +162,85 @@ public class CropManager extends Function implements Listener {
                 if (seed != null) seedToCropConfig.put(seed, cropConfig);
             }
         }
+        this.registry = new Registry(
+                palette.createTable(CropConfig.class, cropConfigMap),
+                Collections.unmodifiableMap(stageToCrop),
+                Collections.unmodifiableMap(seedToCropConfig),
+                Collections.unmodifiableMap(cropConfigMap),
+                Collections.unmodifiableMap(stageConfigMap),
+                Collections.unmodifiableSet(deadCrops)
+        );
         AdventureUtils.consoleMessage("[CustomCrops] Loaded <green>" + cropConfigMap.size() + " <gray>crop(s)");
     }
 
     @Nullable
     public StageConfig getStageConfig(String stage_id) {
-        return stageConfigMap.get(stage_id);
+        return registry.stageConfigMap.get(stage_id);
     }
 
     @Nullable
     public CropConfig getCropConfigByID(String id) {
-        return this.cropConfigMap.get(id);
+        return registry.cropConfigMap.get(id);
+    }
+
+    /**
+     * Get the dense id of a crop key, which stays the same across reloads
+     */
+    public int getCropID(String key) {
+        return palette.getID(key);
+    }
+
+    @Nullable
+    public CropConfig getCropConfig(int id) {
+        return ConfigPalette.get(registry.cropTable, id);
     }
 
     @Nullable
     public CropConfig getCropConfigByStage(String stage_id) {
-        String key = getCropConfigID(stage_id);
+        Registry current = registry;
+        String key = current.stageToCrop.get(stage_id);
         if (key == null) return null;
-        return this.cropConfigMap.get(key);
+        return current.cropConfigMap.get(key);
     }
 
     @Nullable
     public String getCropConfigID(String stage_id) {
-        return this.stageToCrop.get(stage_id);
+        return registry.stageToCrop.get(stage_id);
+    }
+
+    /**
+     * Get the stage models of all the crops in a certain mode
+     */
+    public List<String> getStageModels(ItemMode itemMode) {
+        Registry current = registry;
+        List<String> models = new ArrayList<>();
+        for (Map.Entry<String, String> entry : current.stageToCrop.entrySet()) {
+            CropConfig cropConfig = current.cropConfigMap.get(entry.getValue());
+            if (cropConfig != null && cropConfig.getCropMode() == itemMode) {
+                models.add(entry.getKey());
+            }
+        }
+        return models;
+    }
+
+    public Set<String> getStageIDs() {
+        return registry.stageToCrop.keySet();
+    }
+
+    public Set<String> getSeedIDs() {
+        return registry.seedToCropConfig.keySet();
+    }
+
+    public Set<String> getDeadCropIDs() {
+        return registry.deadCrops;
     }
 
     public boolean isDeadCrop(String id) {
-        return deadCrops.contains(id);
+        return registry.deadCrops.contains(id);
     }
 
     public boolean containsStage(String stage_id) {
-        return stageToCrop.containsKey(stage_id);
+        return registry.stageToCrop.containsKey(stage_id);
     }
 
     // Prevent players from getting stage model
@@ -206,13 +254,9 @@ public class CropManager extends Function implements Listener {
         }
     }
 
-    public void registerDeadCrops(String id) {
-        this.deadCrops.add(id);
-    }
-
     @Nullable
     public CropConfig getCropConfigBySeed(String seed) {
-        return seedToCropConfig.get(seed);
+        return registry.seedToCropConfig.get(seed);
     }
 
     private void checkTripwire() {
@@ -248,4 +292,18 @@ public class CropManager extends Function implements Listener {
             }
         }
     }
+
+    /**
+     * Immutable view of all the crop configs, replaced as a whole on each load
+     */
+    private record Registry(
+            CropConfig[] cropTable,
+            Map<String, String> stageToCrop,
+            Map<String, CropConfig> seedToCropConfig,
+            Map<String, CropConfig> cropConfigMap,
+            Map<String, StageConfig> stageConfigMap,
+            Set<String> deadCrops
+    ) {
+        private static final Registry EMPTY = new Registry(new CropConfig[0], Map.of(), Map.of(), Map.of(), Map.of(), Set.of());
+    }
 }
@@ -29,6 +29,7 @@ public class GrowingCrop implements Serializable {
 
     private int points;
     private final String crop;
+    private transient int id;
 
     public GrowingCrop(String crop, int points) {
         this.points = points;
@@ -48,6 +49,8 @@ public class GrowingCrop implements Serializable {
     }
 
     public CropConfig getConfig() {
-        return CustomCrops.getInstance().getCropManager().getCropConfigByID(crop);
+        CropManager cropManager = CustomCrops.getInstance().getCropManager();
+        if (id == 0) id = cropManager.getCropID(crop);
+        return cropManager.getCropConfig(id);
     }
 }
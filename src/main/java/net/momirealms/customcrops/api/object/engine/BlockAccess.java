@@ -0,0 +1,34 @@
+/*
+ *  Copyright (C) <2022> <XiaoMoMi>
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package net.momirealms.customcrops.api.object.engine;
+
+import net.momirealms.customcrops.api.object.world.SimpleLocation;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Reads the blocks the growth engine needs to know about
+ */
+public interface BlockAccess {
+
+    /**
+     * Get the key of the pot placed at the location
+     *
+     * @return the pot key, or null if there's no pot block
+     */
+    @Nullable
+    String getPotKey(SimpleLocation simpleLocation);
+}
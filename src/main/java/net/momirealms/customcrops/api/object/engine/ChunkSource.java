@@ -0,0 +1,35 @@
+/*
+ *  Copyright (C) <2022> <XiaoMoMi>
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package net.momirealms.customcrops.api.object.engine;
+
+import net.momirealms.customcrops.api.object.world.CCChunk;
+import net.momirealms.customcrops.api.object.world.ChunkCoordinate;
+import net.momirealms.customcrops.api.object.world.SimpleLocation;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Where the growth engine finds the data of a world
+ */
+public interface ChunkSource {
+
+    @Nullable
+    CCChunk getChunk(ChunkCoordinate chunkCoordinate);
+
+    @NotNull
+    CCChunk getOrCreateChunk(SimpleLocation simpleLocation);
+}
@@ -0,0 +1,45 @@
+/*
+ *  Copyright (C) <2022> <XiaoMoMi>
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package net.momirealms.customcrops.api.object.engine;
+
+import net.momirealms.customcrops.api.object.crop.CropConfig;
+import net.momirealms.customcrops.api.object.crop.GrowingCrop;
+import net.momirealms.customcrops.api.object.fertilizer.Fertilizer;
+import net.momirealms.customcrops.api.object.fertilizer.FertilizerConfig;
+import net.momirealms.customcrops.api.object.pot.Pot;
+import net.momirealms.customcrops.api.object.pot.PotConfig;
+import net.momirealms.customcrops.api.object.sprinkler.Sprinkler;
+import net.momirealms.customcrops.api.object.sprinkler.SprinklerConfig;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Resolves the configs of the stored data
+ */
+public interface EngineRegistry {
+
+    @Nullable
+    CropConfig getCropConfig(GrowingCrop growingCrop);
+
+    @Nullable
+    PotConfig getPotConfig(Pot pot);
+
+    @Nullable
+    SprinklerConfig getSprinklerConfig(Sprinkler sprinkler);
+
+    @Nullable
+    FertilizerConfig getFertilizerConfig(@Nullable Fertilizer fertilizer);
+}
@@ -0,0 +1,306 @@
+/*
+ *  Copyright (C) <2022> <XiaoMoMi>
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package net.momirealms.customcrops.api.object.engine;
+
+import net.momirealms.customcrops.api.object.ItemMode;
+import net.momirealms.customcrops.api.object.basic.ConfigManager;
+import net.momirealms.customcrops.api.object.condition.CompiledConditions;
+import net.momirealms.customcrops.api.object.condition.DeathCondition;
+import net.momirealms.customcrops.api.object.crop.CropConfig;
+import net.momirealms.customcrops.api.object.crop.GrowingCrop;
+import net.momirealms.customcrops.api.object.fertilizer.Fertilizer;
+import net.momirealms.customcrops.api.object.fertilizer.SoilRetain;
+import net.momirealms.customcrops.api.object.fertilizer.SpeedGrow;
+import net.momirealms.customcrops.api.object.pot.Pot;
+import net.momirealms.customcrops.api.object.pot.PotConfig;
+import net.momirealms.customcrops.api.object.sprinkler.Sprinkler;
+import net.momirealms.customcrops.api.object.sprinkler.SprinklerConfig;
+import net.momirealms.customcrops.api.object.world.CCChunk;
+import net.momirealms.customcrops.api.object.world.SimpleLocation;
+import net.momirealms.customcrops.api.object.world.WorldEnvironment;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The growth, water, fertilizer and sprinkler rules of a world without any access to Bukkit.
+ * Data is read from a {@link ChunkSource}, configs from an {@link EngineRegistry},
+ * and everything that should be shown in the world is handed to a {@link VisualSink}
+ */
+public class GrowthEngine {
+
+    private final ChunkSource chunks;
+    private final EngineRegistry registry;
+    private final EnvironmentSource environmentSource;
+    private final VisualSink sink;
+    private final ConcurrentHashMap<CropConfig, CompiledConditions> compiledConditions;
+    private final LongAdder cropsEvaluated;
+    private final LongAdder pointsApplied;
+
+    public GrowthEngine(ChunkSource chunks, EngineRegistry registry, EnvironmentSource environmentSource, VisualSink sink) {
+        this.chunks = chunks;
+        this.registry = registry;
+        this.environmentSource = environmentSource;
+        this.sink = sink;
+        this.compiledConditions = new ConcurrentHashMap<>();
+        this.cropsEvaluated = new LongAdder();
+        this.pointsApplied = new LongAdder();
+    }
+
+    /**
+     * Get the conditions of a crop config compiled against the snapshot
+     */
+    public CompiledConditions getCompiledConditions(CropConfig cropConfig, WorldEnvironment environment) {
+        CompiledConditions compiled = compiledConditions.get(cropConfig);
+        if (compiled == null || compiled.environment() != environment) {
+            compiled = CompiledConditions.compile(cropConfig, environment);
+            compiledConditions.put(cropConfig, compiled);
+        }
+        return compiled;
+    }
+
+    public void clearCompiledConditions() {
+        compiledConditions.clear();
+    }
+
+    /**
+     * The crops checked since the counter was last reset
+     */
+    public LongAdder getCropsEvaluated() {
+        return cropsEvaluated;
+    }
+
+    /**
+     * The points added to crops since the counter was last reset
+     */
+    public LongAdder getPointsApplied() {
+        return pointsApplied;
+    }
+
+    /**
+     * Check the crop at the location for one point: it either dies, grows or stays as it is
+     */
+    public void checkCrop(SimpleLocation simpleLocation) {
+        CCChunk chunk = chunks.getChunk(simpleLocation.getChunkCoordinate());
+        if (chunk == null) return;
+        GrowingCrop growingCrop = chunk.getCropData(simpleLocation);
+        if (growingCrop == null) return;
+        cropsEvaluated.increment();
+        WorldEnvironment environment = environmentSource.getEnvironment();
+
+        CropConfig cropConfig = registry.getCropConfig(growingCrop);
+        if (cropConfig == null) {
+            chunk.removeCropData(simpleLocation);
+            return;
+        }
+
+        ItemMode itemMode = cropConfig.getCropMode();
+        CompiledConditions compiled = getCompiledConditions(cropConfig, environment);
+        for (DeathCondition deathCondition : compiled.deathConditions()) {
+            if (deathCondition.checkIfDead(simpleLocation, environment)) {
+                chunk.removeCropData(simpleLocation);
+                sink.applyDeath(simpleLocation, deathCondition, itemMode);
+                return;
+            }
+        }
+
+        if (!compiled.canGrow() || !compiled.growCondition().isMet(simpleLocation, environment)) {
+            return;
+        }
+
+        int points = 1;
+        // the pot is always in the same chunk as the crop above it
+        Pot pot = chunk.getPotData(simpleLocation.add(0, -1, 0));
+        if (pot != null && registry.getFertilizerConfig(pot.getFertilizer()) instanceof SpeedGrow speedGrow) {
+            points += speedGrow.getPointBonus();
+        }
+        addCropPoint(points, cropConfig, growingCrop, simpleLocation, itemMode);
+    }
+
+    /**
+     * Add points to the crop at the location
+     *
+     * @return whether there's a valid crop at the location
+     */
+    public boolean addCropPointAt(SimpleLocation simpleLocation, int points) {
+        CCChunk chunk = chunks.getChunk(simpleLocation.getChunkCoordinate());
+        if (chunk == null) return false;
+        GrowingCrop growingCrop = chunk.getCropData(simpleLocation);
+        if (growingCrop == null) return false;
+        CropConfig cropConfig = registry.getCropConfig(growingCrop);
+        if (cropConfig == null) {
+            chunk.removeCropData(simpleLocation);
+            return false;
+        }
+        if (points == 0) return true;
+        addCropPoint(points, cropConfig, growingCrop, simpleLocation, cropConfig.getCropMode());
+        return true;
+    }
+
+    public void addCropPoint(int points, CropConfig cropConfig, GrowingCrop growingCrop, SimpleLocation simpleLocation, ItemMode itemMode) {
+        pointsApplied.add(points);
+        int current = growingCrop.getPoints();
+        int target = current + points;
+        for (int i = cropConfig.getNextActionPoint(current + 1); i <= target; i = cropConfig.getNextActionPoint(i + 1)) {
+            if (sink.applyGrowActions(simpleLocation, cropConfig.getStageConfig(i).getGrowActions(), itemMode)) {
+                return;
+            }
+        }
+        String nextModel = cropConfig.getModelAfter(current, points);
+
+        growingCrop.setPoints(target);
+        if (growingCrop.getPoints() >= cropConfig.getMaxPoints()) {
+            removeCropData(simpleLocation);
+        }
+
+        if (nextModel != null) {
+            sink.updateCropModel(simpleLocation, nextModel, itemMode, cropConfig.isRotationEnabled());
+        }
+    }
+
+    /**
+     * Consume one unit of water and fertilizer of the pot at the location
+     */
+    public void consumePot(SimpleLocation simpleLocation) {
+        CCChunk chunk = chunks.getChunk(simpleLocation.getChunkCoordinate());
+        if (chunk == null) return;
+        Pot pot = chunk.getPotData(simpleLocation);
+        if (pot == null) return;
+
+        if (pot.isWet() && registry.getFertilizerConfig(pot.getFertilizer()) instanceof SoilRetain soilRetain && soilRetain.canTakeEffect()) {
+            pot.setWater(pot.getWater() + 1);
+        }
+
+        if (pot.reduceWater() | pot.reduceFertilizer()) {
+            Fertilizer fertilizer = pot.getFertilizer();
+            boolean wet = pot.isWet();
+            if (!wet && fertilizer == null && !ConfigManager.onlyInLoadedChunks) {
+                chunk.removePotData(simpleLocation);
+            }
+
+            PotConfig potConfig = registry.getPotConfig(pot);
+            if (potConfig == null || (wet && fertilizer == null && !potConfig.enableFertilizedLooks())) {
+                return;
+            }
+            sink.updatePotModel(simpleLocation, pot, potConfig);
+        }
+    }
+
+    /**
+     * Use one unit of the water of the sprinkler at the location
+     *
+     * @return the work to do, or null if there's no valid sprinkler
+     */
+    @Nullable
+    public SprinklerWork useSprinkler(SimpleLocation simpleLocation) {
+        CCChunk chunk = chunks.getChunk(simpleLocation.getChunkCoordinate());
+        if (chunk == null) return null;
+        Sprinkler sprinkler = chunk.getSprinklerData(simpleLocation);
+        if (sprinkler == null) return null;
+
+        SprinklerConfig sprinklerConfig = registry.getSprinklerConfig(sprinkler);
+        if (sprinklerConfig == null) {
+            chunk.removeSprinklerData(simpleLocation);
+            return null;
+        }
+
+        int water = sprinkler.getWater();
+        sprinkler.setWater(--water);
+        if (water <= 0) {
+            chunk.removeSprinklerData(simpleLocation);
+        }
+
+        int range = sprinklerConfig.getRange();
+        List<SimpleLocation> positions = new ArrayList<>((range * 2 + 1) * (range * 2 + 1));
+        for (int i = -range; i <= range; i++) {
+            for (int j = -range; j <= range; j++) {
+                positions.add(simpleLocation.add(i, -1, j));
+            }
+        }
+        return new SprinklerWork(simpleLocation, sprinklerConfig, positions);
+    }
+
+    /**
+     * Water the pots found at the positions
+     *
+     * @param blocks where to look for the pot blocks
+     * @param changedLocations filled with the pots whose model should be changed
+     * @param changedPots filled in the same order as changedLocations
+     * @param watered filled with all the watered pots
+     */
+    public void waterPots(Collection<SimpleLocation> positions, int amount, @Nullable String[] whitelist, BlockAccess blocks,
+                          List<SimpleLocation> changedLocations, List<Pot> changedPots, List<SimpleLocation> watered) {
+        for (SimpleLocation position : positions) {
+            String potKey = blocks.getPotKey(position);
+            if (potKey == null || !isWhitelisted(potKey, whitelist)) continue;
+            Pot changed = waterPot(chunks.getOrCreateChunk(position), position, amount, potKey);
+            if (changed != null) {
+                changedLocations.add(position);
+                changedPots.add(changed);
+            }
+            watered.add(position);
+        }
+    }
+
+    /**
+     * Adds water to the pot data without touching the block
+     *
+     * @return the pot if its model should be changed, otherwise null
+     */
+    @Nullable
+    public Pot waterPot(CCChunk chunk, SimpleLocation simpleLocation, int amount, @NotNull String potKey) {
+        Pot pot = chunk.getPotData(simpleLocation);
+        if (pot != null) {
+            return addWater(pot, amount) ? pot : null;
+        }
+        Pot newPot = new Pot(potKey, null, amount);
+        chunk.addPotData(simpleLocation, newPot);
+        return newPot;
+    }
+
+    /**
+     * @return whether the pot was dry and its model should be changed
+     */
+    public boolean addWater(Pot pot, int amount) {
+        PotConfig potConfig = registry.getPotConfig(pot);
+        if (potConfig == null) return false;
+        boolean wasDry = !pot.isWet();
+        pot.setWater(Math.min(potConfig.getMaxStorage(), pot.getWater() + amount));
+        return wasDry;
+    }
+
+    private void removeCropData(SimpleLocation simpleLocation) {
+        CCChunk chunk = chunks.getChunk(simpleLocation.getChunkCoordinate());
+        if (chunk == null) return;
+        chunk.removeCropData(simpleLocation);
+    }
+
+    public static boolean isWhitelisted(String potKey, @Nullable String[] whitelist) {
+        if (whitelist == null) return true;
+        for (String pot : whitelist) {
+            if (pot.equals(potKey)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
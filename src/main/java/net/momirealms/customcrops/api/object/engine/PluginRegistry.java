@@ -0,0 +1,59 @@
+/*
+ *  Copyright (C) <2022> <XiaoMoMi>
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package net.momirealms.customcrops.api.object.engine;
+
+import net.momirealms.customcrops.CustomCrops;
+import net.momirealms.customcrops.api.object.crop.CropConfig;
+import net.momirealms.customcrops.api.object.crop.GrowingCrop;
+import net.momirealms.customcrops.api.object.fertilizer.Fertilizer;
+import net.momirealms.customcrops.api.object.fertilizer.FertilizerConfig;
+import net.momirealms.customcrops.api.object.pot.Pot;
+import net.momirealms.customcrops.api.object.pot.PotConfig;
+import net.momirealms.customcrops.api.object.sprinkler.Sprinkler;
+import net.momirealms.customcrops.api.object.sprinkler.SprinklerConfig;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * The registry backed by the loaded configs of the plugin
+ */
+public class PluginRegistry implements EngineRegistry {
+
+    public static final PluginRegistry INSTANCE = new PluginRegistry();
+
+    private PluginRegistry() {
+    }
+
+    @Override
+    public CropConfig getCropConfig(GrowingCrop growingCrop) {
+        return growingCrop.getConfig();
+    }
+
+    @Override
+    public PotConfig getPotConfig(Pot pot) {
+        return pot.getConfig();
+    }
+
+    @Override
+    public SprinklerConfig getSprinklerConfig(Sprinkler sprinkler) {
+        return sprinkler.getConfig();
+    }
+
+    @Override
+    public FertilizerConfig getFertilizerConfig(@Nullable Fertilizer fertilizer) {
+        return CustomCrops.getInstance().getFertilizerManager().getConfigByFertilizer(fertilizer);
+    }
+}
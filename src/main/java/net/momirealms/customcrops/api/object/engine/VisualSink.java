@@ -0,0 +1,45 @@
+/*
+ *  Copyright (C) <2022> <XiaoMoMi>
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package net.momirealms.customcrops.api.object.engine;
+
+import net.momirealms.customcrops.api.object.ItemMode;
+import net.momirealms.customcrops.api.object.action.Action;
+import net.momirealms.customcrops.api.object.condition.DeathCondition;
+import net.momirealms.customcrops.api.object.pot.Pot;
+import net.momirealms.customcrops.api.object.pot.PotConfig;
+import net.momirealms.customcrops.api.object.world.SimpleLocation;
+
+/**
+ * Receives the changes that have to be shown in the world after the data is updated.
+ * The engine calls it from the thread it runs on, so implementations are responsible
+ * for moving the work to the main thread
+ */
+public interface VisualSink {
+
+    /**
+     * Run the grow actions of a stage the crop has reached
+     *
+     * @return whether the crop has been replaced and should stop growing
+     */
+    boolean applyGrowActions(SimpleLocation simpleLocation, Action[] actions, ItemMode itemMode);
+
+    void updateCropModel(SimpleLocation simpleLocation, String model, ItemMode itemMode, boolean rotation);
+
+    void applyDeath(SimpleLocation simpleLocation, DeathCondition deathCondition, ItemMode itemMode);
+
+    void updatePotModel(SimpleLocation simpleLocation, Pot pot, PotConfig potConfig);
+}
@@ -19,12 +19,17 @@ package net.momirealms.customcrops.api.object.fertilizer;
 
 import net.momirealms.customcrops.CustomCrops;
 
+import java.io.Serial;
 import java.io.Serializable;
 
 public class Fertilizer implements Serializable {
 
+    @Serial
+    private static final long serialVersionUID = -2142410222070318182L;
+
     private final String key;
     private int times;
+    private transient int id;
 
     public Fertilizer(String key, int times) {
         this.key = key;
@@ -49,7 +54,9 @@ public class Fertilizer implements Serializable {
     }
 
     public FertilizerConfig getConfig() {
-        return CustomCrops.getInstance().getFertilizerManager().getConfigByFertilizer(this);
+        FertilizerManager fertilizerManager = CustomCrops.getInstance().getFertilizerManager();
+        if (id == 0) id = fertilizerManager.getFertilizerID(key);
+        return fertilizerManager.getConfigByID(id);
     }
 
     public int getLeftTimes() {
@@ -20,6 +20,7 @@ package net.momirealms.customcrops.api.object.fertilizer;
 import net.kyori.adventure.key.Key;
 import net.kyori.adventure.sound.Sound;
 import net.momirealms.customcrops.CustomCrops;
+import net.momirealms.customcrops.api.object.ConfigPalette;
 import net.momirealms.customcrops.api.object.Function;
 import net.momirealms.customcrops.api.object.Pair;
 import net.momirealms.customcrops.api.object.requirement.Requirement;
@@ -33,19 +34,22 @@ import org.jetbrains.annotations.Nullable;
 
 import java.io.File;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
 
 public class FertilizerManager extends Function {
 
     private final CustomCrops plugin;
-    private final HashMap<String, FertilizerConfig> fertilizerConfigMap;
-    private final HashMap<String, String> itemToKey;
+    private final ConfigPalette palette;
+    private volatile Registry registry;
 
     public FertilizerManager(CustomCrops plugin) {
         this.plugin = plugin;
-        this.fertilizerConfigMap = new HashMap<>();
-        this.itemToKey = new HashMap<>();
+        this.palette = new ConfigPalette();
+        this.registry = Registry.EMPTY;
     }
 
     @Override
@@ -55,29 +59,47 @@ public class FertilizerManager extends Function {
 
     @Override
     public void unload() {
-        this.fertilizerConfigMap.clear();
-        this.itemToKey.clear();
+        // The registry is kept until the next load publishes a new one
     }
 
     @Nullable
     public FertilizerConfig getConfigByFertilizer(@Nullable Fertilizer fertilizer) {
         if (fertilizer == null) return null;
-        return fertilizerConfigMap.get(fertilizer.getKey());
+        return fertilizer.getConfig();
+    }
+
+    /**
+     * Get the dense id of a fertilizer key, which stays the same across reloads
+     */
+    public int getFertilizerID(String key) {
+        return palette.getID(key);
+    }
+
+    @Nullable
+    public FertilizerConfig getConfigByID(int id) {
+        return ConfigPalette.get(registry.fertilizerTable, id);
     }
 
     @Nullable
     public FertilizerConfig getConfigByKey(String key) {
-        return fertilizerConfigMap.get(key);
+        return registry.fertilizerConfigMap.get(key);
+    }
+
+    public Set<String> getItemIDs() {
+        return registry.itemToKey.keySet();
     }
 
     @Nullable
     public FertilizerConfig getConfigByItemID(String id) {
-        String key = itemToKey.get(id);
+        Registry current = registry;
+        String key = current.itemToKey.get(id);
         if (key == null) return null;
-        return getConfigByKey(key);
+        return current.fertilizerConfigMap.get(key);
     }
 
     private void loadConfig() {
+        HashMap<String, FertilizerConfig> fertilizerConfigMap = new HashMap<>();
+        HashMap<String, String> itemToKey = new HashMap<>();
         File can_folder = new File(plugin.getDataFolder(), "contents" + File.separator + "fertilizers");
         if (!can_folder.exists()) {
             if (!can_folder.mkdirs()) return;
@@ -88,7 +110,7 @@ public class FertilizerManager extends Function {
             ConfigUtils.getConfig("contents" + File.separator + "fertilizers" + File.separator + "variation.yml");
         }
         File[] files = can_folder.listFiles();
-        if (files == null) return;
+        if (files == null) files = new File[0];
         for (File file : files) {
             YamlConfiguration config = YamlConfiguration.loadConfiguration(file);
             for (String key : config.getKeys(false)) {
@@ -121,6 +143,7 @@ public class FertilizerManager extends Function {
                     AdventureUtils.consoleMessage("<red>[CustomCrops] Invalid fertilizer: " + key);
             }
         }
+        this.registry = new Registry(palette.createTable(FertilizerConfig.class, fertilizerConfigMap), Collections.unmodifiableMap(fertilizerConfigMap), Collections.unmodifiableMap(itemToKey));
         AdventureUtils.consoleMessage("[CustomCrops] Loaded <green>" + fertilizerConfigMap.size() + " <gray>fertilizer(s)");
     }
 
@@ -134,4 +157,11 @@ public class FertilizerManager extends Function {
         }
         return pairs;
     }
+
+    /**
+     * Immutable view of all the fertilizer configs, replaced as a whole on each load
+     */
+    private record Registry(FertilizerConfig[] fertilizerTable, Map<String, FertilizerConfig> fertilizerConfigMap, Map<String, String> itemToKey) {
+        private static final Registry EMPTY = new Registry(new FertilizerConfig[0], Map.of(), Map.of());
+    }
 }
@@ -0,0 +1,42 @@
+/*
+ *  Copyright (C) <2022> <XiaoMoMi>
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package net.momirealms.customcrops.api.object.loot;
+
+import net.objecthunter.exp4j.Expression;
+import net.objecthunter.exp4j.ExpressionBuilder;
+
+/**
+ * Skill bonus formula compiled once per reload
+ * exp4j expressions hold their variables, so every thread gets its own copy
+ */
+public class BonusFormula {
+
+    private final ThreadLocal<Expression> expression;
+
+    public BonusFormula(String formula) {
+        // build once here so that an invalid formula fails on load instead of on harvest
+        Expression prototype = new ExpressionBuilder(formula).variables("base", "level").build();
+        this.expression = ThreadLocal.withInitial(() -> new Expression(prototype));
+    }
+
+    public int apply(int base, int level) {
+        return (int) expression.get()
+                .setVariable("base", base)
+                .setVariable("level", level)
+                .evaluate();
+    }
+}
@@ -20,8 +20,6 @@ package net.momirealms.customcrops.api.object.loot;
 import net.momirealms.customcrops.CustomCrops;
 import net.momirealms.customcrops.api.object.basic.ConfigManager;
 import net.momirealms.customcrops.integration.SkillInterface;
-import net.objecthunter.exp4j.Expression;
-import net.objecthunter.exp4j.ExpressionBuilder;
 import org.bukkit.Location;
 import org.bukkit.entity.Player;
 import org.jetbrains.annotations.Nullable;
@@ -52,16 +50,11 @@ public abstract class Loot {
 
     public int getAmount(@Nullable Player player) {
         int random = ThreadLocalRandom.current().nextInt(getMin(), getMax() + 1);
-        if (ConfigManager.enableSkillBonus && player != null) {
+        BonusFormula bonusFormula = ConfigManager.bonusFormula;
+        if (ConfigManager.enableSkillBonus && bonusFormula != null && player != null) {
             SkillInterface skillInterface = CustomCrops.getInstance().getIntegrationManager().getSkillInterface();
             if (skillInterface != null) {
-                int level = skillInterface.getLevel(player);
-                Expression expression = new ExpressionBuilder(ConfigManager.bonusFormula)
-                        .variables("base", "level")
-                        .build()
-                        .setVariable("base", random)
-                        .setVariable("level", level);
-                random = (int) expression.evaluate();
+                random = bonusFormula.apply(random, skillInterface.getLevel(player));
             }
         }
         return random;
@@ -0,0 +1,356 @@
+/*
+ *  Copyright (C) <2022> <XiaoMoMi>
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package net.momirealms.customcrops.api.object.metrics;
+
+import net.momirealms.customcrops.CustomCrops;
+import net.momirealms.customcrops.api.CustomCropsAPI;
+import net.momirealms.customcrops.api.customplugin.PlatformInterface;
+import net.momirealms.customcrops.api.object.ItemMode;
+import net.momirealms.customcrops.api.object.basic.MessageManager;
+import net.momirealms.customcrops.api.object.crop.CropConfig;
+import net.momirealms.customcrops.api.object.crop.GrowingCrop;
+import net.momirealms.customcrops.api.object.crop.StageConfig;
+import net.momirealms.customcrops.api.object.pot.Pot;
+import net.momirealms.customcrops.api.object.pot.PotConfig;
+import net.momirealms.customcrops.api.object.scheduler.AdaptiveThrottle;
+import net.momirealms.customcrops.api.object.sprinkler.Sprinkler;
+import net.momirealms.customcrops.api.object.sprinkler.SprinklerConfig;
+import net.momirealms.customcrops.api.object.world.CCWorld;
+import net.momirealms.customcrops.api.object.world.SimpleLocation;
+import net.momirealms.customcrops.api.object.world.WorldDataManager;
+import net.momirealms.customcrops.api.util.AdventureUtils;
+import net.momirealms.customcrops.api.util.ConfigUtils;
+import org.bukkit.Location;
+import org.bukkit.Material;
+import org.bukkit.World;
+import org.bukkit.block.Block;
+import org.bukkit.command.CommandSender;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Fills an area with crops, pots and sprinklers, forces growth, consume and sprinkler cycles on it,
+ * reports what they cost and removes everything it has placed afterwards.
+ * Only one benchmark can run at a time
+ */
+public class FarmBenchmark implements Runnable {
+
+    // columns placed or removed per tick
+    private static final int BATCH = 1024;
+    // 257 x 257 columns at most
+    public static final int MAX_RADIUS = 128;
+    private static volatile FarmBenchmark current;
+
+    /**
+     * @param radius half size of the square area, up to MAX_RADIUS
+     * @param cycles growth, consume and sprinkler cycles to force
+     * @param density chance of a column to get a pot, from 0 to 1
+     * @param spread seconds each cycle spreads its tasks over
+     * @param sprinklerSpacing one column in spacing x spacing gets a sprinkler instead of a crop, 0 for none
+     */
+    public record Settings(int radius, int cycles, double density, int spread, int sprinklerSpacing, String crop, String pot, String sprinkler) {
+    }
+
+    private final CommandSender sender;
+    private final World world;
+    private final int centerX;
+    private final int centerY;
+    private final int centerZ;
+    private final Settings settings;
+    private final CustomCrops plugin;
+    private final List<SimpleLocation> pots;
+    private final List<SimpleLocation> crops;
+    private final List<SimpleLocation> sprinklers;
+    private volatile boolean cancelled;
+    // main thread time spent on placing the farm and the parts of it spent on the pot blocks, only touched on the main thread
+    private long placementNanos;
+    private long potPlacementNanos;
+    private long potRemovalNanos;
+
+    private FarmBenchmark(CommandSender sender, Location center, Settings settings) {
+        this.sender = sender;
+        this.world = center.getWorld();
+        this.centerX = center.getBlockX();
+        this.centerY = center.getBlockY();
+        this.centerZ = center.getBlockZ();
+        this.settings = settings;
+        this.plugin = CustomCrops.getInstance();
+        this.pots = new ArrayList<>();
+        this.crops = new ArrayList<>();
+        this.sprinklers = new ArrayList<>();
+    }
+
+    /**
+     * Start a benchmark around the location, pots are placed at its height and crops right above them
+     *
+     * @return false if another benchmark is running
+     */
+    public static synchronized boolean start(CommandSender sender, Location center, Settings settings) {
+        if (current != null) return false;
+        current = new FarmBenchmark(sender, center, settings);
+        Thread thread = new Thread(current, "CustomCrops-Benchmark");
+        thread.setDaemon(true);
+        thread.start();
+        return true;
+    }
+
+    /**
+     * Stop the running benchmark, it cleans up before it ends
+     *
+     * @return false if there's no running benchmark
+     */
+    public static synchronized boolean cancel() {
+        if (current == null) return false;
+        current.cancelled = true;
+        return true;
+    }
+
+    public static boolean isRunning() {
+        return current != null;
+    }
+
+    @Override
+    public void run() {
+        try {
+            benchmark();
+        } catch (InterruptedException e) {
+            send("Benchmark cancelled");
+        } catch (Exception e) {
+            send("<red>Benchmark failed: " + e.getMessage());
+            e.printStackTrace();
+        } finally {
+            try {
+                cleanup();
+            } catch (Exception e) {
+                send("<red>Failed to clean up the benchmark area: " + e.getMessage());
+                e.printStackTrace();
+            }
+            current = null;
+        }
+    }
+
+    private void benchmark() throws Exception {
+        CCWorld ccWorld = plugin.getWorldDataManager().getWorld(world.getName());
+        if (ccWorld == null) {
+            send("<red>CustomCrops is not enabled in world " + world.getName());
+            return;
+        }
+        CropConfig cropConfig = plugin.getCropManager().getCropConfigByID(settings.crop());
+        PotConfig potConfig = plugin.getPotManager().getPotConfig(settings.pot());
+        SprinklerConfig sprinklerConfig = plugin.getSprinklerManager().getConfigByKey(settings.sprinkler());
+        String seedModel = cropConfig == null ? null : getFirstModel(cropConfig);
+        if (seedModel == null || potConfig == null || (sprinklerConfig == null && settings.sprinklerSpacing() > 0)) {
+            send("<red>Unknown crop, pot or sprinkler: " + settings.crop() + ", " + settings.pot() + ", " + settings.sprinkler());
+            return;
+        }
+
+        long placeStart = System.nanoTime();
+        populate(cropConfig, seedModel, potConfig, sprinklerConfig);
+        double placeMillis = (System.nanoTime() - placeStart) / 1_000_000d;
+        send(String.format("Placed %d pots, %d crops and %d sprinklers in %.1f ms, %.1f ms of it on the main thread",
+                pots.size(), crops.size(), sprinklers.size(), placeMillis, placementNanos / 1_000_000d));
+        send(String.format("  <gray>└─pot blocks: <white>%.1f ms <gray>(%.2f us per pot)",
+                potPlacementNanos / 1_000_000d, pots.isEmpty() ? 0 : potPlacementNanos / 1000d / pots.size()));
+
+        WorldMetrics metrics = ccWorld.getMetrics();
+        MainThreadProfiler profiler = plugin.getMetricsManager().getProfiler();
+        boolean ownProfiler = profiler.start();
+        double mainThreadBefore = getMainThreadMillis(profiler);
+        long executedBefore = metrics.getTasksExecuted();
+        long droppedBefore = metrics.getTasksDropped();
+        long updatesBefore = metrics.getMainThreadUpdates();
+        long heapBefore = getUsedHeap();
+        long start = System.nanoTime();
+        try {
+            CustomCropsAPI api = CustomCropsAPI.getInstance();
+            for (int cycle = 1; cycle <= settings.cycles(); cycle++) {
+                api.grow(world, settings.spread());
+                api.consume(world, settings.spread());
+                api.sprinklerWork(world, settings.spread());
+                awaitIdle(ccWorld);
+                send("Cycle " + cycle + "/" + settings.cycles() + " done");
+            }
+        } finally {
+            if (ownProfiler) profiler.stop();
+        }
+        double wallMillis = (System.nanoTime() - start) / 1_000_000d;
+        long heapDelta = getUsedHeap() - heapBefore;
+
+        send(String.format("<#FFA500>Benchmark result <gray>- <white>%d crops, %d pots, %d sprinklers, %d cycles over %ds",
+                crops.size(), pots.size(), sprinklers.size(), settings.cycles(), settings.spread()));
+        send(String.format("  <gray>├─wall time: <white>%.1f ms", wallMillis));
+        send(String.format("  <gray>├─main thread: <white>%.1f ms", getMainThreadMillis(profiler) - mainThreadBefore));
+        send(String.format("  <gray>├─tasks executed: <white>%d <gray>dropped: <white>%d",
+                metrics.getTasksExecuted() - executedBefore, metrics.getTasksDropped() - droppedBefore));
+        send(String.format("  <gray>├─main thread updates: <white>%d", metrics.getMainThreadUpdates() - updatesBefore));
+        send(String.format("  <gray>└─heap delta: <white>%.1f MB", heapDelta / 1048576d));
+    }
+
+    private void populate(CropConfig cropConfig, String seedModel, PotConfig potConfig, @Nullable SprinklerConfig sprinklerConfig) throws Exception {
+        int radius = settings.radius();
+        int spacing = settings.sprinklerSpacing();
+        int side = radius * 2 + 1;
+        int columns = side * side;
+        WorldDataManager worldDataManager = plugin.getWorldDataManager();
+        PlatformInterface platform = plugin.getPlatformInterface();
+        String dryPot = potConfig.getDryPot(null);
+        boolean vanillaPot = ConfigUtils.isVanillaItem(dryPot);
+        for (int from = 0; from < columns; from += BATCH) {
+            if (cancelled) throw new InterruptedException();
+            int first = from;
+            int last = Math.min(from + BATCH, columns);
+            sync(() -> {
+                long start = System.nanoTime();
+                List<Location> potLocations = new ArrayList<>(last - first);
+                // the columns of a batch are generated here instead of being kept for the whole area
+                for (int column = first; column < last; column++) {
+                    if (ThreadLocalRandom.current().nextDouble() >= settings.density()) continue;
+                    Block potBlock = world.getBlockAt(centerX - radius + column / side, centerY, centerZ - radius + column % side);
+                    // never replace what's already there
+                    if (potBlock.getType() != Material.AIR || potBlock.getRelative(0, 1, 0).getType() != Material.AIR) continue;
+                    potLocations.add(potBlock.getLocation());
+                }
+                long potStart = System.nanoTime();
+                if (vanillaPot) {
+                    Material material = Material.valueOf(dryPot);
+                    for (Location location : potLocations) location.getBlock().setType(material);
+                } else {
+                    platform.placeBlocks(potLocations, dryPot, ItemMode.NOTE_BLOCK);
+                }
+                potPlacementNanos += System.nanoTime() - potStart;
+                for (Location location : potLocations) {
+                    SimpleLocation potLocation = SimpleLocation.getByBukkitLocation(location);
+                    worldDataManager.addPotData(potLocation, new Pot(settings.pot(), null, 0));
+                    pots.add(potLocation);
+                    SimpleLocation aboveLocation = potLocation.add(0, 1, 0);
+                    Location above = location.clone().add(0, 1, 0);
+                    if (sprinklerConfig != null && spacing > 0 && Math.floorMod(potLocation.getX(), spacing) == 0 && Math.floorMod(potLocation.getZ(), spacing) == 0) {
+                        platform.placeCustomItem(above, sprinklerConfig.getThreeD(), sprinklerConfig.getItemMode());
+                        worldDataManager.addSprinklerData(aboveLocation, new Sprinkler(settings.sprinkler(), sprinklerConfig.getStorage()));
+                        sprinklers.add(aboveLocation);
+                    } else {
+                        platform.placeCustomItem(above, seedModel, cropConfig.getCropMode());
+                        worldDataManager.addCropData(aboveLocation, new GrowingCrop(settings.crop(), 0), false);
+                        crops.add(aboveLocation);
+                    }
+                }
+                placementNanos += System.nanoTime() - start;
+            });
+        }
+    }
+
+    private void cleanup() throws Exception {
+        WorldDataManager worldDataManager = plugin.getWorldDataManager();
+        PlatformInterface platform = plugin.getPlatformInterface();
+        List<SimpleLocation> above = new ArrayList<>(crops);
+        above.addAll(sprinklers);
+        for (int from = 0; from < above.size(); from += BATCH) {
+            List<SimpleLocation> batch = above.subList(from, Math.min(from + BATCH, above.size()));
+            sync(() -> {
+                for (SimpleLocation simpleLocation : batch) {
+                    worldDataManager.removeCropData(simpleLocation);
+                    worldDataManager.removeSprinklerData(simpleLocation);
+                    Location location = simpleLocation.getBukkitLocation();
+                    if (location == null) continue;
+                    platform.removeAnyThingAt(location);
+                    location.getBlock().setType(Material.AIR);
+                }
+            });
+        }
+        for (int from = 0; from < pots.size(); from += BATCH) {
+            List<SimpleLocation> batch = pots.subList(from, Math.min(from + BATCH, pots.size()));
+            sync(() -> {
+                List<Location> potLocations = new ArrayList<>(batch.size());
+                for (SimpleLocation simpleLocation : batch) {
+                    worldDataManager.removePotData(simpleLocation);
+                    Location location = simpleLocation.getBukkitLocation();
+                    if (location != null) potLocations.add(location);
+                }
+                long start = System.nanoTime();
+                platform.removeBlocks(potLocations);
+                potRemovalNanos += System.nanoTime() - start;
+                // vanilla pots and anything the item plugin left behind
+                for (Location location : potLocations) location.getBlock().setType(Material.AIR);
+            });
+        }
+        if (!pots.isEmpty()) send(String.format("Removed the benchmark farm, pot blocks removed in %.1f ms", potRemovalNanos / 1_000_000d));
+        pots.clear();
+        crops.clear();
+        sprinklers.clear();
+    }
+
+    /**
+     * Wait for the tasks of a cycle to be executed and the main thread work they posted to be done
+     */
+    private void awaitIdle(CCWorld ccWorld) throws Exception {
+        // the cycle is arranged asynchronously, give it time to fill the queue
+        Thread.sleep(1000);
+        AdaptiveThrottle throttle = plugin.getScheduler().getThrottle();
+        String worldName = world.getName();
+        while (ccWorld.getPendingTasks() > 0 || throttle.getPendingUpdates(worldName) > 0) {
+            if (cancelled) throw new InterruptedException();
+            Thread.sleep(200);
+        }
+        sync(() -> {});
+    }
+
+    private void sync(Runnable runnable) throws Exception {
+        try {
+            plugin.getScheduler().callSyncMethod(() -> {
+                runnable.run();
+                return null;
+            }).get(30, TimeUnit.SECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof Exception cause) throw cause;
+            throw e;
+        } catch (TimeoutException e) {
+            throw new IllegalStateException("The server didn't run the benchmark task in 30 seconds");
+        }
+    }
+
+    private double getMainThreadMillis(MainThreadProfiler profiler) {
+        double total = 0;
+        for (MainThreadProfiler.Entry entry : profiler.report(world.getName())) {
+            total += entry.totalMillis();
+        }
+        return total;
+    }
+
+    private static long getUsedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    @Nullable
+    private static String getFirstModel(CropConfig cropConfig) {
+        for (int i = 0; i <= cropConfig.getMaxPoints(); i++) {
+            StageConfig stageConfig = cropConfig.getStageConfig(i);
+            if (stageConfig != null && stageConfig.getModel() != null) return stageConfig.getModel();
+        }
+        return null;
+    }
+
+    private void send(String message) {
+        AdventureUtils.sendMessage(sender, MessageManager.prefix + message);
+    }
+}
@@ -0,0 +1,118 @@
+/*
+ *  Copyright (C) <2022> <XiaoMoMi>
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package net.momirealms.customcrops.api.object.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A latency histogram with power-of-two microsecond buckets
+ */
+public class LatencyHistogram {
+
+    // bucket i holds samples of at most 2^i microseconds, the last one holds everything above
+    public static final int BUCKETS = 25;
+
+    private final LongAdder[] buckets;
+    private final LongAdder sumNanos;
+
+    public LatencyHistogram() {
+        this.buckets = new LongAdder[BUCKETS + 1];
+        for (int i = 0; i < buckets.length; i++) {
+            buckets[i] = new LongAdder();
+        }
+        this.sumNanos = new LongAdder();
+    }
+
+    public void record(long nanos) {
+        long micros = nanos / 1000;
+        int index = micros <= 1 ? 0 : Math.min(BUCKETS, 64 - Long.numberOfLeadingZeros(micros - 1));
+        buckets[index].increment();
+        sumNanos.add(nanos);
+    }
+
+    public void recordSince(long startNanos) {
+        record(System.nanoTime() - startNanos);
+    }
+
+    /**
+     * Adds the bucket counts to the given array
+     *
+     * @param counts array of BUCKETS + 1 elements
+     */
+    public void addCountsTo(long[] counts) {
+        for (int i = 0; i < buckets.length; i++) {
+            counts[i] += buckets[i].sum();
+        }
+    }
+
+    public long getBucketCount(int index) {
+        return buckets[index].sum();
+    }
+
+    public long getCount() {
+        long count = 0;
+        for (LongAdder bucket : buckets) {
+            count += bucket.sum();
+        }
+        return count;
+    }
+
+    public long getSumNanos() {
+        return sumNanos.sum();
+    }
+
+    public void reset() {
+        for (LongAdder bucket : buckets) {
+            bucket.reset();
+        }
+        sumNanos.reset();
+    }
+
+    /**
+     * @return the upper bound of the bucket in milliseconds, infinity for the overflow bucket
+     */
+    public static double getBucketBoundMillis(int index) {
+        if (index >= BUCKETS) return Double.POSITIVE_INFINITY;
+        return (1L << index) / 1000d;
+    }
+
+    /**
+     * Estimates a quantile from bucket counts, reported as the upper bound of the bucket it falls in
+     */
+    public static double getQuantileMillis(long[] counts, double quantile) {
+        long total = 0;
+        for (long count : counts) {
+            total += count;
+        }
+        if (total == 0) return 0;
+        long rank = (long) Math.ceil(total * quantile);
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return i >= BUCKETS ? getBucketBoundMillis(BUCKETS - 1) : getBucketBoundMillis(i);
+            }
+        }
+        return getBucketBoundMillis(BUCKETS - 1);
+    }
+
+    public double getQuantileMillis(double quantile) {
+        long[] counts = new long[BUCKETS + 1];
+        addCountsTo(counts);
+        return getQuantileMillis(counts, quantile);
+    }
+}
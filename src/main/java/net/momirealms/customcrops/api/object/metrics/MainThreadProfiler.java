@@ -0,0 +1,163 @@
+/*
+ *  Copyright (C) <2022> <XiaoMoMi>
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package net.momirealms.customcrops.api.object.metrics;
+
+import org.bukkit.Bukkit;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Measures the main thread time spent on the work CustomCrops submits to it
+ * Nothing is wrapped or recorded unless a profiling session is running
+ */
+public class MainThreadProfiler {
+
+    // the percentiles are computed from the latest samples of each category
+    private static final int WINDOW = 4096;
+    private static final String NO_WORLD = "-";
+
+    private final ConcurrentHashMap<String, ConcurrentHashMap<String, Samples>> samples;
+    private volatile boolean running;
+    private int startTick;
+    private int stopTick;
+
+    public MainThreadProfiler() {
+        this.samples = new ConcurrentHashMap<>();
+    }
+
+    public synchronized boolean start() {
+        if (running) return false;
+        samples.clear();
+        startTick = Bukkit.getCurrentTick();
+        stopTick = -1;
+        running = true;
+        return true;
+    }
+
+    public synchronized boolean stop() {
+        if (!running) return false;
+        running = false;
+        stopTick = Bukkit.getCurrentTick();
+        return true;
+    }
+
+    public boolean isRunning() {
+        return running;
+    }
+
+    public synchronized int getProfiledTicks() {
+        int end = running || stopTick < 0 ? Bukkit.getCurrentTick() : stopTick;
+        return Math.max(1, end - startTick);
+    }
+
+    public Runnable wrap(SyncCategory category, @Nullable String world, Runnable runnable) {
+        if (!running) return runnable;
+        return () -> {
+            long start = System.nanoTime();
+            try {
+                runnable.run();
+            } finally {
+                record(category.getKey(), world, System.nanoTime() - start);
+            }
+        };
+    }
+
+    public <T> Callable<T> wrap(SyncCategory category, @Nullable String world, Callable<T> callable) {
+        if (!running) return callable;
+        return () -> {
+            long start = System.nanoTime();
+            try {
+                return callable.call();
+            } finally {
+                record(category.getKey(), world, System.nanoTime() - start);
+            }
+        };
+    }
+
+    public void record(String category, @Nullable String world, long nanos) {
+        if (!running) return;
+        samples.computeIfAbsent(world == null ? NO_WORLD : world, k -> new ConcurrentHashMap<>())
+                .computeIfAbsent(category, k -> new Samples())
+                .add(nanos);
+    }
+
+    /**
+     * @param world world name, null for all the worlds
+     * @return categories sorted by total time, descending
+     */
+    public List<Entry> report(@Nullable String world) {
+        Map<String, List<Samples>> byCategory = new HashMap<>();
+        for (Map.Entry<String, ConcurrentHashMap<String, Samples>> worldEntry : samples.entrySet()) {
+            if (world != null && !world.equals(worldEntry.getKey())) continue;
+            for (Map.Entry<String, Samples> entry : worldEntry.getValue().entrySet()) {
+                byCategory.computeIfAbsent(entry.getKey(), k -> new ArrayList<>()).add(entry.getValue());
+            }
+        }
+        List<Entry> entries = new ArrayList<>(byCategory.size());
+        for (Map.Entry<String, List<Samples>> entry : byCategory.entrySet()) {
+            long calls = 0;
+            long totalNanos = 0;
+            long[] window = new long[0];
+            for (Samples sample : entry.getValue()) {
+                synchronized (sample) {
+                    calls += sample.calls;
+                    totalNanos += sample.totalNanos;
+                    int offset = window.length;
+                    window = Arrays.copyOf(window, offset + sample.size);
+                    System.arraycopy(sample.window, 0, window, offset, sample.size);
+                }
+            }
+            Arrays.sort(window);
+            entries.add(new Entry(entry.getKey(), calls, totalNanos / 1_000_000d, percentile(window, 0.5), percentile(window, 0.99)));
+        }
+        entries.sort((a, b) -> Double.compare(b.totalMillis(), a.totalMillis()));
+        return entries;
+    }
+
+    private static double percentile(long[] sorted, double quantile) {
+        if (sorted.length == 0) return 0;
+        int index = (int) Math.ceil(sorted.length * quantile) - 1;
+        return sorted[Math.max(0, Math.min(sorted.length - 1, index))] / 1_000_000d;
+    }
+
+    public record Entry(String category, long calls, double totalMillis, double p50Millis, double p99Millis) {
+    }
+
+    private static class Samples {
+
+        private final long[] window = new long[WINDOW];
+        private int size;
+        private int next;
+        private long calls;
+        private long totalNanos;
+
+        private synchronized void add(long nanos) {
+            window[next] = nanos;
+            next = (next + 1) % WINDOW;
+            if (size < WINDOW) size++;
+            calls++;
+            totalNanos += nanos;
+        }
+    }
+}
@@ -0,0 +1,180 @@
+/*
+ *  Copyright (C) <2022> <XiaoMoMi>
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package net.momirealms.customcrops.api.object.metrics;
+
+import net.momirealms.customcrops.CustomCrops;
+import net.momirealms.customcrops.api.customplugin.HandlerTimings;
+import net.momirealms.customcrops.api.object.Function;
+import net.momirealms.customcrops.api.object.basic.ConfigManager;
+import net.momirealms.customcrops.api.object.scheduler.AdaptiveThrottle;
+import net.momirealms.customcrops.api.util.AdventureUtils;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class MetricsManager extends Function {
+
+    private final CustomCrops plugin;
+    private final ConcurrentHashMap<String, WorldMetrics> worldMetrics;
+    private final MainThreadProfiler profiler;
+    private PrometheusExporter prometheusExporter;
+
+    public MetricsManager(CustomCrops plugin) {
+        this.plugin = plugin;
+        this.worldMetrics = new ConcurrentHashMap<>();
+        this.profiler = new MainThreadProfiler();
+    }
+
+    @Override
+    public void load() {
+        if (ConfigManager.enablePrometheus) {
+            PrometheusExporter exporter = new PrometheusExporter(this);
+            try {
+                exporter.start(ConfigManager.prometheusAddress, ConfigManager.prometheusPort);
+                this.prometheusExporter = exporter;
+                AdventureUtils.consoleMessage("[CustomCrops] Prometheus metrics are available at http://" + ConfigManager.prometheusAddress + ":" + ConfigManager.prometheusPort + "/metrics");
+            } catch (IOException e) {
+                exporter.stop();
+                AdventureUtils.consoleMessage("<red>[CustomCrops] Failed to bind the Prometheus endpoint to " + ConfigManager.prometheusAddress + ":" + ConfigManager.prometheusPort);
+            }
+        }
+    }
+
+    @Override
+    public void unload() {
+        if (this.prometheusExporter != null) {
+            this.prometheusExporter.stop();
+            this.prometheusExporter = null;
+        }
+    }
+
+    public AdaptiveThrottle getThrottle() {
+        return plugin.getScheduler().getThrottle();
+    }
+
+    public HandlerTimings getHandlerTimings() {
+        return plugin.getPlatformManager().getHandlerTimings();
+    }
+
+    public MainThreadProfiler getProfiler() {
+        return profiler;
+    }
+
+    public WorldMetrics getWorldMetrics(String world) {
+        return worldMetrics.computeIfAbsent(world, WorldMetrics::new);
+    }
+
+    public Collection<WorldMetrics> getAllWorldMetrics() {
+        return worldMetrics.values();
+    }
+
+    public void reset() {
+        for (WorldMetrics metrics : worldMetrics.values()) {
+            metrics.reset();
+        }
+        getHandlerTimings().reset();
+    }
+
+    /**
+     * @param world world name, null for the sum of all the worlds
+     * @return the value, or NaN if the world has no metrics
+     */
+    public double getStat(Stat stat, @Nullable String world) {
+        if (world == null) {
+            return getStat(stat, worldMetrics.values());
+        }
+        WorldMetrics metrics = worldMetrics.get(world);
+        if (metrics == null) return Double.NaN;
+        return getStat(stat, List.of(metrics));
+    }
+
+    public double getStat(Stat stat, Collection<WorldMetrics> metricsList) {
+        return switch (stat) {
+            case CHUNK_LOADS, CHUNK_LOAD_AVG_MS, CHUNK_LOAD_P99_MS,
+                    CHUNK_SAVES, CHUNK_SAVE_AVG_MS, CHUNK_SAVE_P99_MS,
+                    TASK_AVG_MS, TASK_P99_MS -> getLatencyStat(stat, metricsList);
+            case THROTTLE_LEVEL -> getThrottle().getLevel();
+            default -> {
+                AdaptiveThrottle throttle = getThrottle();
+                long sum = 0;
+                for (WorldMetrics metrics : metricsList) {
+                    sum += switch (stat) {
+                        case CHUNKS -> metrics.getChunks();
+                        case CROPS -> metrics.getCrops();
+                        case POTS -> metrics.getPots();
+                        case SPRINKLERS -> metrics.getSprinklers();
+                        case QUEUE -> metrics.getQueueSize();
+                        case PENDING_MODELS -> metrics.getPendingModels();
+                        case TASKS_SCHEDULED -> metrics.getTasksScheduled();
+                        case TASKS_EXECUTED -> metrics.getTasksExecuted();
+                        case TASKS_DROPPED -> metrics.getTasksDropped();
+                        case MAIN_THREAD_UPDATES -> metrics.getMainThreadUpdates();
+                        case DEFERRED_UPDATES -> throttle.getPendingUpdates(metrics.getWorld());
+                        default -> 0;
+                    };
+                }
+                yield sum;
+            }
+        };
+    }
+
+    private double getLatencyStat(Stat stat, Collection<WorldMetrics> metricsList) {
+        long[] counts = new long[LatencyHistogram.BUCKETS + 1];
+        long count = 0;
+        long sumNanos = 0;
+        for (WorldMetrics metrics : metricsList) {
+            LatencyHistogram histogram = switch (stat) {
+                case CHUNK_LOADS, CHUNK_LOAD_AVG_MS, CHUNK_LOAD_P99_MS -> metrics.getChunkLoad();
+                case CHUNK_SAVES, CHUNK_SAVE_AVG_MS, CHUNK_SAVE_P99_MS -> metrics.getChunkSave();
+                default -> metrics.getTaskDuration();
+            };
+            histogram.addCountsTo(counts);
+            sumNanos += histogram.getSumNanos();
+        }
+        for (long bucket : counts) {
+            count += bucket;
+        }
+        return switch (stat) {
+            case CHUNK_LOADS, CHUNK_SAVES -> count;
+            case CHUNK_LOAD_AVG_MS, CHUNK_SAVE_AVG_MS, TASK_AVG_MS -> count == 0 ? 0 : sumNanos / 1_000_000d / count;
+            default -> LatencyHistogram.getQuantileMillis(counts, 0.99);
+        };
+    }
+
+    /**
+     * Resolves the part after "stat_" of a placeholder
+     * "crops" is the sum of all the worlds and "crops_world_nether" is the value of world_nether
+     */
+    @Nullable
+    public String parsePlaceholder(String params) {
+        Stat matched = null;
+        for (Stat stat : Stat.values()) {
+            String key = stat.getKey();
+            if (params.equals(key) || (params.startsWith(key) && params.length() > key.length() + 1 && params.charAt(key.length()) == '_')) {
+                if (matched == null || key.length() > matched.getKey().length()) matched = stat;
+            }
+        }
+        if (matched == null) return null;
+        String world = params.length() == matched.getKey().length() ? null : params.substring(matched.getKey().length() + 1);
+        double value = getStat(matched, world);
+        if (Double.isNaN(value)) return null;
+        return matched.format(value);
+    }
+}
@@ -0,0 +1,190 @@
+/*
+ *  Copyright (C) <2022> <XiaoMoMi>
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package net.momirealms.customcrops.api.object.metrics;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import net.momirealms.customcrops.api.customplugin.HandlerTimings;
+import net.momirealms.customcrops.api.customplugin.HandlerTimings.HandlerType;
+import net.momirealms.customcrops.api.object.scheduler.AdaptiveThrottle;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Serves the metrics in Prometheus text format
+ * Only the counters and the gauges refreshed by the world timers are read, Bukkit is never touched
+ */
+public class PrometheusExporter {
+
+    private static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+    private static final String[] BUCKET_BOUNDS = new String[LatencyHistogram.BUCKETS];
+
+    static {
+        for (int i = 0; i < LatencyHistogram.BUCKETS; i++) {
+            BUCKET_BOUNDS[i] = String.valueOf(LatencyHistogram.getBucketBoundMillis(i) / 1000d);
+        }
+    }
+
+    private final MetricsManager metricsManager;
+    // requests are handled one at a time, so the buffer can be reused
+    private final StringBuilder buffer;
+    private HttpServer server;
+    private ExecutorService executor;
+
+    public PrometheusExporter(MetricsManager metricsManager) {
+        this.metricsManager = metricsManager;
+        this.buffer = new StringBuilder(4096);
+    }
+
+    public void start(String address, int port) throws IOException {
+        this.server = HttpServer.create(new InetSocketAddress(address, port), 0);
+        this.executor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "CustomCrops-Prometheus");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.server.createContext("/metrics", this::handle);
+        this.server.setExecutor(executor);
+        this.server.start();
+    }
+
+    public void stop() {
+        if (server != null) {
+            server.stop(0);
+            server = null;
+        }
+        if (executor != null) {
+            executor.shutdownNow();
+            executor = null;
+        }
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            if (!exchange.getRequestMethod().equals("GET")) {
+                exchange.sendResponseHeaders(405, -1);
+                return;
+            }
+            byte[] body;
+            synchronized (buffer) {
+                buffer.setLength(0);
+                render(buffer, metricsManager.getAllWorldMetrics(), metricsManager.getThrottle(), metricsManager.getHandlerTimings());
+                body = buffer.toString().getBytes(StandardCharsets.UTF_8);
+            }
+            exchange.getResponseHeaders().set("Content-Type", CONTENT_TYPE);
+            exchange.sendResponseHeaders(200, body.length);
+            OutputStream os = exchange.getResponseBody();
+            os.write(body);
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private static void render(StringBuilder sb, Collection<WorldMetrics> worlds, AdaptiveThrottle throttle, HandlerTimings handlerTimings) {
+        header(sb, "customcrops_chunks", "gauge", "Chunks with CustomCrops data in memory");
+        for (WorldMetrics metrics : worlds) sample(sb, "customcrops_chunks", metrics.getWorld(), metrics.getChunks());
+        header(sb, "customcrops_crops", "gauge", "Growing crops");
+        for (WorldMetrics metrics : worlds) sample(sb, "customcrops_crops", metrics.getWorld(), metrics.getCrops());
+        header(sb, "customcrops_pots", "gauge", "Pots");
+        for (WorldMetrics metrics : worlds) sample(sb, "customcrops_pots", metrics.getWorld(), metrics.getPots());
+        header(sb, "customcrops_sprinklers", "gauge", "Sprinklers");
+        for (WorldMetrics metrics : worlds) sample(sb, "customcrops_sprinklers", metrics.getWorld(), metrics.getSprinklers());
+        header(sb, "customcrops_scheduler_queue_depth", "gauge", "Tasks waiting in the world scheduler");
+        for (WorldMetrics metrics : worlds) sample(sb, "customcrops_scheduler_queue_depth", metrics.getWorld(), metrics.getQueueSize());
+        header(sb, "customcrops_pending_models", "gauge", "Models waiting for their unloaded chunks to be loaded again");
+        for (WorldMetrics metrics : worlds) sample(sb, "customcrops_pending_models", metrics.getWorld(), metrics.getPendingModels());
+        header(sb, "customcrops_tasks_scheduled_total", "counter", "Crop, consume and sprinkler checks scheduled");
+        for (WorldMetrics metrics : worlds) sample(sb, "customcrops_tasks_scheduled_total", metrics.getWorld(), metrics.getTasksScheduled());
+        header(sb, "customcrops_tasks_executed_total", "counter", "Crop, consume and sprinkler checks executed");
+        for (WorldMetrics metrics : worlds) sample(sb, "customcrops_tasks_executed_total", metrics.getWorld(), metrics.getTasksExecuted());
+        header(sb, "customcrops_tasks_dropped_total", "counter", "Checks discarded before running");
+        for (WorldMetrics metrics : worlds) sample(sb, "customcrops_tasks_dropped_total", metrics.getWorld(), metrics.getTasksDropped());
+        header(sb, "customcrops_main_thread_updates_total", "counter", "Model updates applied on the main thread");
+        for (WorldMetrics metrics : worlds) sample(sb, "customcrops_main_thread_updates_total", metrics.getWorld(), metrics.getMainThreadUpdates());
+        header(sb, "customcrops_task_duration_seconds", "histogram", "Time spent running a check on the worker threads");
+        for (WorldMetrics metrics : worlds) histogram(sb, "customcrops_task_duration_seconds", metrics.getWorld(), metrics.getTaskDuration());
+        header(sb, "customcrops_chunk_load_seconds", "histogram", "Time spent reading the data of a chunk");
+        for (WorldMetrics metrics : worlds) histogram(sb, "customcrops_chunk_load_seconds", metrics.getWorld(), metrics.getChunkLoad());
+        header(sb, "customcrops_chunk_save_seconds", "histogram", "Time spent writing the data of a chunk");
+        for (WorldMetrics metrics : worlds) histogram(sb, "customcrops_chunk_save_seconds", metrics.getWorld(), metrics.getChunkSave());
+        header(sb, "customcrops_throttle_level", "gauge", "Level of the adaptive throttle, every level halves the update budgets");
+        sb.append("customcrops_throttle_level ").append(throttle.getLevel()).append('\n');
+        header(sb, "customcrops_deferred_updates", "gauge", "Main thread updates waiting for the throttle budget");
+        for (WorldMetrics metrics : worlds) sample(sb, "customcrops_deferred_updates", metrics.getWorld(), throttle.getPendingUpdates(metrics.getWorld()));
+        header(sb, "customcrops_handler_calls_total", "counter", "Interactions, placements and breaks handled, per handler");
+        for (HandlerType type : HandlerType.values()) handlerSample(sb, "customcrops_handler_calls_total", type, String.valueOf(handlerTimings.getCalls(type)));
+        header(sb, "customcrops_handler_seconds_total", "counter", "Time spent in each handler");
+        for (HandlerType type : HandlerType.values()) handlerSample(sb, "customcrops_handler_seconds_total", type, String.valueOf(handlerTimings.getNanos(type) / 1_000_000_000d));
+    }
+
+    // handler names are enum constants, nothing to escape
+    private static void handlerSample(StringBuilder sb, String name, HandlerType type, String value) {
+        sb.append(name).append("{handler=\"").append(type.getKey()).append("\"} ").append(value).append('\n');
+    }
+
+    private static void header(StringBuilder sb, String name, String type, String help) {
+        sb.append("# HELP ").append(name).append(' ').append(help).append('\n');
+        sb.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+    }
+
+    private static void sample(StringBuilder sb, String name, String world, long value) {
+        sb.append(name);
+        label(sb, world);
+        sb.append('}').append(' ').append(value).append('\n');
+    }
+
+    private static void histogram(StringBuilder sb, String name, String world, LatencyHistogram histogram) {
+        long cumulative = 0;
+        for (int i = 0; i < LatencyHistogram.BUCKETS; i++) {
+            cumulative += histogram.getBucketCount(i);
+            sb.append(name).append("_bucket");
+            label(sb, world);
+            sb.append(",le=\"").append(BUCKET_BOUNDS[i]).append("\"} ").append(cumulative).append('\n');
+        }
+        cumulative += histogram.getBucketCount(LatencyHistogram.BUCKETS);
+        sb.append(name).append("_bucket");
+        label(sb, world);
+        sb.append(",le=\"+Inf\"} ").append(cumulative).append('\n');
+        sb.append(name).append("_sum");
+        label(sb, world);
+        sb.append("} ").append(histogram.getSumNanos() / 1_000_000_000d).append('\n');
+        sb.append(name).append("_count");
+        label(sb, world);
+        sb.append("} ").append(cumulative).append('\n');
+    }
+
+    // opens the label set with the world label, the caller closes it
+    private static void label(StringBuilder sb, String world) {
+        sb.append("{world=\"");
+        for (int i = 0; i < world.length(); i++) {
+            char c = world.charAt(i);
+            switch (c) {
+                case '\\' -> sb.append("\\\\");
+                case '"' -> sb.append("\\\"");
+                case '\n' -> sb.append("\\n");
+                default -> sb.append(c);
+            }
+        }
+        sb.append('"');
+    }
+}
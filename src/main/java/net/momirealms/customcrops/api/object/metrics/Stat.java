@@ -0,0 +1,69 @@
+/*
+ *  Copyright (C) <2022> <XiaoMoMi>
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package net.momirealms.customcrops.api.object.metrics;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Locale;
+
+public enum Stat {
+
+    CHUNKS(false),
+    CROPS(false),
+    POTS(false),
+    SPRINKLERS(false),
+    QUEUE(false),
+    PENDING_MODELS(false),
+    TASKS_SCHEDULED(false),
+    TASKS_EXECUTED(false),
+    TASKS_DROPPED(false),
+    MAIN_THREAD_UPDATES(false),
+    CHUNK_LOADS(false),
+    CHUNK_LOAD_AVG_MS(true),
+    CHUNK_LOAD_P99_MS(true),
+    CHUNK_SAVES(false),
+    CHUNK_SAVE_AVG_MS(true),
+    CHUNK_SAVE_P99_MS(true),
+    TASK_AVG_MS(true),
+    TASK_P99_MS(true),
+    THROTTLE_LEVEL(false),
+    DEFERRED_UPDATES(false);
+
+    private final String key;
+    private final boolean millis;
+
+    Stat(boolean millis) {
+        this.key = name().toLowerCase(Locale.ENGLISH);
+        this.millis = millis;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public String format(double value) {
+        return millis ? String.format("%.2f", value) : String.valueOf((long) value);
+    }
+
+    @Nullable
+    public static Stat getByKey(String key) {
+        for (Stat stat : values()) {
+            if (stat.key.equals(key)) return stat;
+        }
+        return null;
+    }
+}
@@ -0,0 +1,58 @@
+/*
+ *  Copyright (C) <2022> <XiaoMoMi>
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package net.momirealms.customcrops.api.object.metrics;
+
+import java.util.Locale;
+
+/**
+ * What a piece of work submitted to the main thread is doing
+ */
+public enum SyncCategory {
+
+    ENVIRONMENT_SNAPSHOT(false),
+    POT_MODEL(true),
+    CROP_MODEL(true),
+    WATER_POTS(true),
+    CORRUPTION_FIX(true),
+    DEATH_MODEL(true),
+    VARIATION(true),
+    REPLANT(false),
+    BREAK(false),
+    DROP_ITEM(false),
+    SEASON_EVENT(false),
+    CHUNK_LOAD(false),
+    CHUNK_UNLOAD(false);
+
+    private final String key;
+    private final boolean throttled;
+
+    SyncCategory(boolean throttled) {
+        this.key = name().toLowerCase(Locale.ENGLISH);
+        this.throttled = throttled;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    /**
+     * Whether the work can be spread over several ticks when the server is under pressure
+     */
+    public boolean isThrottled() {
+        return throttled;
+    }
+}
@@ -0,0 +1,150 @@
+/*
+ *  Copyright (C) <2022> <XiaoMoMi>
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package net.momirealms.customcrops.api.object.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters and gauges of a single world
+ * Counters are striped so that the worker threads never contend on them
+ */
+public class WorldMetrics {
+
+    private final String world;
+    private final LongAdder tasksScheduled;
+    private final LongAdder tasksExecuted;
+    private final LongAdder tasksDropped;
+    private final LongAdder mainThreadUpdates;
+    private final LatencyHistogram chunkLoad;
+    private final LatencyHistogram chunkSave;
+    private final LatencyHistogram taskDuration;
+    // gauges are refreshed by the world timer, so reading them never touches the chunk map
+    private volatile int chunks;
+    private volatile int crops;
+    private volatile int pots;
+    private volatile int sprinklers;
+    private volatile int queueSize;
+    private volatile int pendingModels;
+
+    public WorldMetrics(String world) {
+        this.world = world;
+        this.tasksScheduled = new LongAdder();
+        this.tasksExecuted = new LongAdder();
+        this.tasksDropped = new LongAdder();
+        this.mainThreadUpdates = new LongAdder();
+        this.chunkLoad = new LatencyHistogram();
+        this.chunkSave = new LatencyHistogram();
+        this.taskDuration = new LatencyHistogram();
+    }
+
+    public String getWorld() {
+        return world;
+    }
+
+    public void onTaskScheduled() {
+        tasksScheduled.increment();
+    }
+
+    public void onTaskExecuted() {
+        tasksExecuted.increment();
+    }
+
+    public void onTasksDropped(int amount) {
+        tasksDropped.add(amount);
+    }
+
+    public void onMainThreadUpdates(int amount) {
+        mainThreadUpdates.add(amount);
+    }
+
+    public void updateGauges(int chunks, int crops, int pots, int sprinklers, int queueSize, int pendingModels) {
+        this.chunks = chunks;
+        this.crops = crops;
+        this.pots = pots;
+        this.sprinklers = sprinklers;
+        this.queueSize = queueSize;
+        this.pendingModels = pendingModels;
+    }
+
+    public LatencyHistogram getChunkLoad() {
+        return chunkLoad;
+    }
+
+    public LatencyHistogram getChunkSave() {
+        return chunkSave;
+    }
+
+    /**
+     * Time spent running crop, consume and sprinkler checks on the worker threads
+     */
+    public LatencyHistogram getTaskDuration() {
+        return taskDuration;
+    }
+
+    public long getTasksScheduled() {
+        return tasksScheduled.sum();
+    }
+
+    public long getTasksExecuted() {
+        return tasksExecuted.sum();
+    }
+
+    public long getTasksDropped() {
+        return tasksDropped.sum();
+    }
+
+    public long getMainThreadUpdates() {
+        return mainThreadUpdates.sum();
+    }
+
+    public int getChunks() {
+        return chunks;
+    }
+
+    public int getCrops() {
+        return crops;
+    }
+
+    public int getPots() {
+        return pots;
+    }
+
+    public int getSprinklers() {
+        return sprinklers;
+    }
+
+    public int getQueueSize() {
+        return queueSize;
+    }
+
+    /**
+     * Models waiting for their unloaded chunks to be loaded again
+     */
+    public int getPendingModels() {
+        return pendingModels;
+    }
+
+    public void reset() {
+        tasksScheduled.reset();
+        tasksExecuted.reset();
+        tasksDropped.reset();
+        mainThreadUpdates.reset();
+        chunkLoad.reset();
+        chunkSave.reset();
+        taskDuration.reset();
+    }
+}
@@ -0,0 +1,41 @@
+/*
+ *  Copyright (C) <2022> <XiaoMoMi>
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package net.momirealms.customcrops.api.object.metrics.jfr;
+
+import jdk.jfr.*;
+
+@Name("customcrops.ChunkDataSave")
+@Label("Chunk Data Save")
+@Category({"CustomCrops", "Storage"})
+@Description("Writing the CustomCrops data of a chunk to disk")
+@Enabled(false)
+@StackTrace(false)
+public class ChunkDataSaveEvent extends Event {
+
+    @Label("World")
+    public String world;
+
+    @Label("Chunk X")
+    public int chunkX;
+
+    @Label("Chunk Z")
+    public int chunkZ;
+
+    @Label("Size")
+    @DataAmount
+    public long bytes;
+}
@@ -0,0 +1,51 @@
+/*
+ *  Copyright (C) <2022> <XiaoMoMi>
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package net.momirealms.customcrops.api.object.metrics.jfr;
+
+import jdk.jfr.*;
+
+@Name("customcrops.GrowthPoint")
+@Label("Growth Point")
+@Category({"CustomCrops", "Growth"})
+@Description("A growth point, from arranging its crop checks until they have all run or the next point starts")
+@Enabled(false)
+@StackTrace(false)
+public class GrowthPointEvent extends Event {
+
+    @Label("World")
+    public String world;
+
+    @Label("Crops Scheduled")
+    public int cropsScheduled;
+
+    @Label("Crops Evaluated")
+    @Description("Crop checks executed during this growth point")
+    public long cropsEvaluated;
+
+    @Label("Points Applied")
+    @Description("Growth points added to crops during this growth point")
+    public long pointsApplied;
+
+    @Label("Check Time")
+    @Description("Time spent running the crop checks of this growth point")
+    @Timespan(Timespan.NANOSECONDS)
+    public long checkTime;
+
+    @Label("Tasks Dropped")
+    @Description("Tasks still queued and discarded when the next growth point started")
+    public int tasksDropped;
+}
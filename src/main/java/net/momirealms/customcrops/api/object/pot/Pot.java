@@ -32,6 +32,7 @@ public class Pot implements Serializable {
     private Fertilizer fertilizer;
     private int water;
     private final String key;
+    private transient int id;
 
     public Pot(String key, Fertilizer fertilizer, int water) {
         this.key = key;
@@ -99,6 +100,8 @@ public class Pot implements Serializable {
     }
 
     public PotConfig getConfig() {
-        return CustomCrops.getInstance().getPotManager().getPotConfig(key);
+        PotManager potManager = CustomCrops.getInstance().getPotManager();
+        if (id == 0) id = potManager.getPotID(key);
+        return potManager.getPotConfig(id);
     }
 }
\ No newline at end of file
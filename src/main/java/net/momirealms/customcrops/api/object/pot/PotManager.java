@@ -18,6 +18,7 @@
 package net.momirealms.customcrops.api.object.pot;
 
 import net.momirealms.customcrops.CustomCrops;
+import net.momirealms.customcrops.api.object.ConfigPalette;
 import net.momirealms.customcrops.api.object.Function;
 import net.momirealms.customcrops.api.object.basic.ConfigManager;
 import net.momirealms.customcrops.api.object.fertilizer.FertilizerType;
@@ -32,21 +33,24 @@ import org.bukkit.configuration.file.YamlConfiguration;
 import org.jetbrains.annotations.Nullable;
 
 import java.io.File;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
 
 public class PotManager extends Function {
 
     private final CustomCrops plugin;
-    private final HashMap<String, PotConfig> potConfigMap;
-    private final HashMap<String, String> blockToPotKey;
+    private final ConfigPalette palette;
+    private volatile Registry registry;
     public static boolean enableFarmLand;
     public static boolean enableVanillaBlock;
 
     public PotManager(CustomCrops plugin) {
         this.plugin = plugin;
-        this.potConfigMap = new HashMap<>();
-        this.blockToPotKey = new HashMap<>();
+        this.palette = new ConfigPalette();
+        this.registry = Registry.EMPTY;
     }
 
     @Override
@@ -56,20 +60,21 @@ public class PotManager extends Function {
 
     @Override
     public void unload() {
-        this.potConfigMap.clear();
-        this.blockToPotKey.clear();
-        enableFarmLand = false;
-        enableVanillaBlock = false;
+        // The registry is kept until the next load publishes a new one
     }
 
     private void loadConfig() {
+        HashMap<String, PotConfig> potConfigMap = new HashMap<>();
+        HashMap<String, String> blockToPotKey = new HashMap<>();
+        boolean farmLand = false;
+        boolean vanillaBlock = false;
         File pot_folder = new File(plugin.getDataFolder(), "contents" + File.separator + "pots");
         if (!pot_folder.exists()) {
             if (!pot_folder.mkdirs()) return;
             ConfigUtils.getConfig("contents" + File.separator + "pots" + File.separator + "default.yml");
         }
         File[] files = pot_folder.listFiles();
-        if (files == null) return;
+        if (files == null) files = new File[0];
         for (File file : files) {
             YamlConfiguration config = YamlConfiguration.loadConfiguration(file);
             for (String key : config.getKeys(false)) {
@@ -83,7 +88,7 @@ public class PotManager extends Function {
                     continue;
                 }
 
-                if (ConfigUtils.isVanillaItem(base_wet) || ConfigUtils.isVanillaItem(base_dry)) enableVanillaBlock = true;
+                if (ConfigUtils.isVanillaItem(base_wet) || ConfigUtils.isVanillaItem(base_dry)) vanillaBlock = true;
 
                 blockToPotKey.put(base_wet, key);
                 blockToPotKey.put(base_dry, key);
@@ -147,7 +152,7 @@ public class PotManager extends Function {
                 }
 
                 if (base_dry.equals("FARMLAND") || base_wet.equals("FARMLAND")) {
-                    enableFarmLand = true;
+                    farmLand = true;
                     if (!ConfigManager.disableMoistureMechanic && (potConfig.getPassiveFillMethods() != null || potConfig.getWaterAmountHologram() != null)) {
                         AdventureUtils.consoleMessage("<red>[CustomCrops] Since you are using vanilla farmland, vanilla moisture would");
                         AdventureUtils.consoleMessage("<red>[CustomCrops] conflict with CustomCrops' water system. It's advised to disable");
@@ -159,27 +164,57 @@ public class PotManager extends Function {
                 potConfigMap.put(key, potConfig);
             }
         }
+        this.registry = new Registry(palette.createTable(PotConfig.class, potConfigMap), Collections.unmodifiableMap(potConfigMap), Collections.unmodifiableMap(blockToPotKey));
+        enableFarmLand = farmLand;
+        enableVanillaBlock = vanillaBlock;
         AdventureUtils.consoleMessage("[CustomCrops] Loaded <green>" + potConfigMap.size() + " <gray>pot(s)");
     }
 
     public boolean containsPotBlock(String id) {
-        return blockToPotKey.containsKey(id);
+        return registry.blockToPotKey.containsKey(id);
+    }
+
+    /**
+     * All the block ids that are registered as pots
+     */
+    public Set<String> getPotBlockIDs() {
+        return registry.blockToPotKey.keySet();
     }
 
     @Nullable
     public PotConfig getPotConfig(String key) {
-        return potConfigMap.get(key);
+        return registry.potConfigMap.get(key);
+    }
+
+    /**
+     * Get the dense id of a pot key, which stays the same across reloads
+     */
+    public int getPotID(String key) {
+        return palette.getID(key);
+    }
+
+    @Nullable
+    public PotConfig getPotConfig(int id) {
+        return ConfigPalette.get(registry.potTable, id);
     }
 
     @Nullable
     public String getPotKeyByBlockID(String id) {
-        return blockToPotKey.get(id);
+        return registry.blockToPotKey.get(id);
     }
 
     @Nullable
     public PotConfig getPotConfigByBlockID(String id) {
-        String key = blockToPotKey.get(id);
+        Registry current = registry;
+        String key = current.blockToPotKey.get(id);
         if (key == null) return null;
-        return potConfigMap.get(key);
+        return current.potConfigMap.get(key);
+    }
+
+    /**
+     * Immutable view of all the pot configs, replaced as a whole on each load
+     */
+    private record Registry(PotConfig[] potTable, Map<String, PotConfig> potConfigMap, Map<String, String> blockToPotKey) {
+        private static final Registry EMPTY = new Registry(new PotConfig[0], Map.of(), Map.of());
     }
 }
@@ -29,7 +29,7 @@ import java.util.Map;
 
 public class CustomPapi extends AbstractRequirement implements Requirement {
 
-    private final List<PapiRequirement> papiRequirement;
+    private final PapiRequirement[] papiRequirement;
 
     public CustomPapi(String[] msg, @Nullable Action[] actions, Map<String, Object> expressions){
         super(msg, actions);
@@ -49,16 +49,18 @@ public class CustomPapi extends AbstractRequirement implements Requirement {
         return true;
     }
 
-    private List<PapiRequirement> getRequirements(Map<String, Object> map) {
+    private PapiRequirement[] getRequirements(Map<String, Object> map) {
         List<PapiRequirement> papiRequirements = new ArrayList<>();
         map.keySet().forEach(key -> {
             if (key.startsWith("&&")) {
                 if (map.get(key) instanceof MemorySection map2) {
-                    papiRequirements.add(new ExpressionAnd(getRequirements(map2.getValues(false))));
+                    PapiRequirement[] requirements = getRequirements(map2.getValues(false));
+                    papiRequirements.add(requirements.length == 1 ? requirements[0] : new ExpressionAnd(requirements));
                 }
             } else if (key.startsWith("||")) {
                 if (map.get(key) instanceof MemorySection map2) {
-                    papiRequirements.add(new ExpressionOr(getRequirements(map2.getValues(false))));
+                    PapiRequirement[] requirements = getRequirements(map2.getValues(false));
+                    papiRequirements.add(requirements.length == 1 ? requirements[0] : new ExpressionOr(requirements));
                 }
             } else {
                 if (map.get(key) instanceof MemorySection map2) {
@@ -66,17 +68,19 @@ public class CustomPapi extends AbstractRequirement implements Requirement {
                     String papi = map2.getString("papi");
                     String value = map2.getString("value");
                     if (value == null || papi == null || type == null) return;
+                    PapiValue left = PapiValue.of(papi);
+                    PapiValue right = PapiValue.of(value);
                     switch (type){
-                        case "==" -> papiRequirements.add(new PapiEquals(papi, value));
-                        case "!=" -> papiRequirements.add(new PapiNotEquals(papi, value));
-                        case ">=" -> papiRequirements.add(new PapiNoLess(papi, value));
-                        case "<=" -> papiRequirements.add(new PapiNoLarger(papi, value));
-                        case "<" -> papiRequirements.add(new PapiSmaller(papi, value));
-                        case ">" -> papiRequirements.add(new PapiGreater(papi, value));
+                        case "==" -> papiRequirements.add(new PapiEquals(left, right));
+                        case "!=" -> papiRequirements.add(new PapiNotEquals(left, right));
+                        case ">=" -> papiRequirements.add(new PapiNoLess(left, right));
+                        case "<=" -> papiRequirements.add(new PapiNoLarger(left, right));
+                        case "<" -> papiRequirements.add(new PapiSmaller(left, right));
+                        case ">" -> papiRequirements.add(new PapiGreater(left, right));
                     }
                 }
             }
         });
-        return papiRequirements;
+        return papiRequirements.toArray(new PapiRequirement[0]);
     }
 }
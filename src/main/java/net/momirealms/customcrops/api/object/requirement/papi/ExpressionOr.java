@@ -19,9 +19,7 @@ package net.momirealms.customcrops.api.object.requirement.papi;
 
 import org.bukkit.entity.Player;
 
-import java.util.List;
-
-public record ExpressionOr(List<PapiRequirement> requirements) implements PapiRequirement{
+public record ExpressionOr(PapiRequirement[] requirements) implements PapiRequirement{
 
     @Override
     public boolean isMet(Player player) {
@@ -17,14 +17,12 @@
 
 package net.momirealms.customcrops.api.object.requirement.papi;
 
-import me.clip.placeholderapi.PlaceholderAPI;
 import org.bukkit.entity.Player;
 
-public record PapiNoLess(String papi, String requirement) implements PapiRequirement{
+public record PapiNoLess(PapiValue papi, PapiValue requirement) implements PapiRequirement{
 
     @Override
     public boolean isMet(Player player) {
-        double value = Double.parseDouble(PlaceholderAPI.setPlaceholders(player, papi));
-        return value >= Double.parseDouble(PlaceholderAPI.setPlaceholders(player, requirement));
+        return papi.getDouble(player) >= requirement.getDouble(player);
     }
 }
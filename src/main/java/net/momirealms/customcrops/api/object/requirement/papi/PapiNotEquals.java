@@ -17,16 +17,14 @@
 
 package net.momirealms.customcrops.api.object.requirement.papi;
 
-import me.clip.placeholderapi.PlaceholderAPI;
 import org.bukkit.entity.Player;
 
 import java.util.Objects;
 
-public record PapiNotEquals(String papi, String requirement) implements PapiRequirement{
+public record PapiNotEquals(PapiValue papi, PapiValue requirement) implements PapiRequirement{
 
     @Override
     public boolean isMet(Player player) {
-        String value = PlaceholderAPI.setPlaceholders(player, papi);
-        return !Objects.equals(value, PlaceholderAPI.setPlaceholders(player, requirement));
+        return !Objects.equals(papi.get(player), requirement.get(player));
     }
-}
\ No newline at end of file
+}
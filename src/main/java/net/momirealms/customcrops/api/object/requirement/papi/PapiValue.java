@@ -0,0 +1,67 @@
+/*
+ *  Copyright (C) <2022> <XiaoMoMi>
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package net.momirealms.customcrops.api.object.requirement.papi;
+
+import net.momirealms.customcrops.CustomCrops;
+import org.bukkit.entity.Player;
+
+/**
+ * One side of a placeholder comparison, compiled on load
+ * Constant sides are parsed only once, placeholder sides go through the per-player cache
+ */
+public class PapiValue {
+
+    private final String text;
+    private final boolean constant;
+    private final boolean numeric;
+    private final double number;
+
+    private PapiValue(String text) {
+        this.text = text;
+        this.constant = text.indexOf('%') == -1;
+        double parsed = 0;
+        boolean isNumber = false;
+        if (constant) {
+            try {
+                parsed = Double.parseDouble(text);
+                isNumber = true;
+            } catch (NumberFormatException ignored) {
+            }
+        }
+        this.numeric = isNumber;
+        this.number = parsed;
+    }
+
+    public static PapiValue of(String text) {
+        return new PapiValue(text);
+    }
+
+    public String get(Player player) {
+        if (constant) return text;
+        return CustomCrops.getInstance().getIntegrationManager().getPlaceholderManager().parseCached(player, text);
+    }
+
+    public double getDouble(Player player) {
+        if (numeric) return number;
+        return Double.parseDouble(get(player));
+    }
+
+    @Override
+    public String toString() {
+        return text;
+    }
+}
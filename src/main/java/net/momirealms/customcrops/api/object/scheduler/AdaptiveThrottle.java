@@ -0,0 +1,256 @@
+/*
+ *  Copyright (C) <2022> <XiaoMoMi>
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package net.momirealms.customcrops.api.object.scheduler;
+
+import net.momirealms.customcrops.CustomCrops;
+import net.momirealms.customcrops.api.object.Function;
+import net.momirealms.customcrops.api.object.basic.ConfigManager;
+import net.momirealms.customcrops.api.util.AdventureUtils;
+import org.bukkit.Bukkit;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.ArrayList;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.ToIntFunction;
+
+/**
+ * Spreads the model updates of the plugin over several ticks.
+ * The level is raised while Paper's average tick time stays above the high watermark
+ * and lowered while it stays below the low watermark. Every level halves the budget.
+ * A task costs the amount of models it may update, a tick that goes over the budget is paid back by the next ones.
+ * Each world has its own queue and the queues are drained in turn, so a large world can't starve the others
+ */
+public class AdaptiveThrottle extends Function {
+
+    public static final int MAX_LEVEL = 4;
+    // the average covers the last 100 ticks, so wait for it to catch up before raising again
+    private static final int RAISE_AFTER_TICKS = 40;
+    private static final int LOWER_AFTER_TICKS = 100;
+
+    private final CustomCrops plugin;
+    private final SchedulerPlatform schedulerPlatform;
+    private final FairQueue<Update> updates;
+    private BukkitTask ticker;
+    private volatile boolean enabled;
+    private volatile int level;
+    private volatile double mspt;
+    private int pressureTicks;
+    private int healthyTicks;
+    // updates run beyond the budget of previous ticks
+    private int debt;
+
+    public AdaptiveThrottle(CustomCrops plugin, SchedulerPlatform schedulerPlatform) {
+        this.plugin = plugin;
+        this.schedulerPlatform = schedulerPlatform;
+        this.updates = new FairQueue<>();
+    }
+
+    @Override
+    public void load() {
+        if (!ConfigManager.enableThrottle) {
+            // tasks that raced with the last unload
+            this.updates.drain(Integer.MAX_VALUE, Update::weight, update -> schedulerPlatform.runTask(update.task()));
+            return;
+        }
+        this.enabled = true;
+        this.ticker = Bukkit.getScheduler().runTaskTimer(plugin, this::tick, 1, 1);
+    }
+
+    @Override
+    public void unload() {
+        this.enabled = false;
+        if (this.ticker != null) {
+            this.ticker.cancel();
+            this.ticker = null;
+        }
+        // hand everything that is still waiting back to the server
+        this.updates.drain(Integer.MAX_VALUE, Update::weight, update -> schedulerPlatform.runTask(update.task()));
+        this.level = 0;
+        this.pressureTicks = 0;
+        this.healthyTicks = 0;
+        this.debt = 0;
+    }
+
+    @Override
+    public void disable() {
+        this.enabled = false;
+        if (this.ticker != null) {
+            this.ticker.cancel();
+            this.ticker = null;
+        }
+        this.updates.clear();
+    }
+
+    /**
+     * Queues a main thread task of a world, it runs directly if the throttle is disabled
+     */
+    public void submit(String world, Runnable task) {
+        submit(world, task, 1);
+    }
+
+    /**
+     * Queues a main thread task of a world, it runs directly if the throttle is disabled
+     *
+     * @param weight the amount of models the task may update, taken from the budget of the tick running it
+     */
+    public void submit(String world, Runnable task, int weight) {
+        if (!enabled) {
+            schedulerPlatform.runTask(task);
+            return;
+        }
+        updates.add(world, new Update(task, Math.max(1, weight)), Update::weight);
+    }
+
+    /**
+     * Whether a cosmetic effect should be shown, the chance halves at every level
+     */
+    public boolean allowAnimation() {
+        int current = level;
+        return current == 0 || ThreadLocalRandom.current().nextInt(1 << current) == 0;
+    }
+
+    public int getLevel() {
+        return level;
+    }
+
+    public double getMspt() {
+        return mspt;
+    }
+
+    public int getUpdateBudget() {
+        return Math.max(1, ConfigManager.throttleUpdatesPerTick >> level);
+    }
+
+    /**
+     * @return the model updates waiting in the queue of the world
+     */
+    public int getPendingUpdates(String world) {
+        return updates.size(world);
+    }
+
+    private void tick() {
+        adjustLevel(Bukkit.getServer().getAverageTickTime());
+        int budget = getUpdateBudget();
+        if (debt >= budget) {
+            debt -= budget;
+            return;
+        }
+        budget -= debt;
+        debt = Math.max(0, updates.drain(budget, Update::weight, this::runUpdate) - budget);
+    }
+
+    private void adjustLevel(double averageTickTime) {
+        this.mspt = averageTickTime;
+        if (averageTickTime > ConfigManager.throttleHighMspt) {
+            healthyTicks = 0;
+            if (++pressureTicks >= RAISE_AFTER_TICKS && level < MAX_LEVEL) {
+                level++;
+                pressureTicks = 0;
+                if (ConfigManager.debugScheduler) AdventureUtils.consoleMessage("[CustomCrops] Throttle level raised to " + level + " (" + String.format("%.1f", averageTickTime) + " mspt)");
+            }
+        } else if (averageTickTime < ConfigManager.throttleLowMspt) {
+            pressureTicks = 0;
+            if (++healthyTicks >= LOWER_AFTER_TICKS && level > 0) {
+                level--;
+                healthyTicks = 0;
+                if (ConfigManager.debugScheduler) AdventureUtils.consoleMessage("[CustomCrops] Throttle level lowered to " + level + " (" + String.format("%.1f", averageTickTime) + " mspt)");
+            }
+        } else {
+            pressureTicks = 0;
+            healthyTicks = 0;
+        }
+    }
+
+    private void runUpdate(Update update) {
+        try {
+            update.task().run();
+        } catch (Exception e) {
+            e.printStackTrace();
+        }
+    }
+
+    private record Update(Runnable task, int weight) {
+    }
+
+    /**
+     * One queue per world, polled in turn and starting from a different world every drain.
+     * Only drained on the main thread
+     */
+    private static class FairQueue<T> {
+
+        private final ConcurrentHashMap<String, Lane<T>> lanes = new ConcurrentHashMap<>();
+        private final ArrayList<Lane<T>> snapshot = new ArrayList<>();
+        private int cursor;
+
+        public void add(String key, T element, ToIntFunction<T> weight) {
+            Lane<T> lane = lanes.computeIfAbsent(key, k -> new Lane<>());
+            lane.size.addAndGet(weight.applyAsInt(element));
+            lane.queue.add(element);
+        }
+
+        public int size(String key) {
+            Lane<T> lane = lanes.get(key);
+            return lane == null ? 0 : lane.size.get();
+        }
+
+        /**
+         * Polls elements while their total weight is below the max, the last one may go over it
+         *
+         * @return the total weight of the polled elements
+         */
+        public int drain(int max, ToIntFunction<T> weight, Consumer<T> consumer) {
+            snapshot.clear();
+            snapshot.addAll(lanes.values());
+            int count = snapshot.size();
+            if (count == 0) return 0;
+            int start = Math.floorMod(cursor++, count);
+            int done = 0;
+            boolean polled = true;
+            while (polled && done < max) {
+                polled = false;
+                for (int i = 0; i < count && done < max; i++) {
+                    Lane<T> lane = snapshot.get((start + i) % count);
+                    T element = lane.queue.poll();
+                    if (element == null) continue;
+                    int cost = weight.applyAsInt(element);
+                    lane.size.addAndGet(-cost);
+                    polled = true;
+                    done += cost;
+                    consumer.accept(element);
+                }
+            }
+            snapshot.clear();
+            return done;
+        }
+
+        public void clear() {
+            for (Lane<T> lane : lanes.values()) {
+                lane.queue.clear();
+                lane.size.set(0);
+            }
+        }
+    }
+
+    private static class Lane<T> {
+        private final ConcurrentLinkedQueue<T> queue = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger size = new AtomicInteger();
+    }
+}
@@ -20,7 +20,9 @@ package net.momirealms.customcrops.api.object.scheduler;
 import net.momirealms.customcrops.CustomCrops;
 import net.momirealms.customcrops.api.object.Function;
 import net.momirealms.customcrops.api.object.basic.ConfigManager;
+import net.momirealms.customcrops.api.object.metrics.SyncCategory;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.concurrent.*;
 
@@ -28,20 +30,39 @@ public class Scheduler extends Function {
 
     private final ScheduledThreadPoolExecutor schedule;
     private final SchedulerPlatform schedulerPlatform;
+    private final CustomCrops plugin;
+    private final AdaptiveThrottle throttle;
 
     public Scheduler(CustomCrops plugin) {
+        this.plugin = plugin;
         this.schedulerPlatform = new BukkitSchedulerImpl(plugin);
+        this.throttle = new AdaptiveThrottle(plugin, schedulerPlatform);
         this.schedule = new ScheduledThreadPoolExecutor(1);
         this.schedule.setMaximumPoolSize(2);
         this.schedule.setKeepAliveTime(ConfigManager.keepAliveTime, TimeUnit.SECONDS);
         this.schedule.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
     }
 
+    @Override
+    public void load() {
+        this.throttle.load();
+    }
+
+    @Override
+    public void unload() {
+        this.throttle.unload();
+    }
+
     @Override
     public void disable() {
+        this.throttle.disable();
         this.schedule.shutdown();
     }
 
+    public AdaptiveThrottle getThrottle() {
+        return throttle;
+    }
+
     public ScheduledFuture<?> runTaskAsyncLater(Runnable runnable, long delay) {
         return this.schedule.schedule(runnable, delay, TimeUnit.MILLISECONDS);
     }
@@ -58,6 +79,30 @@ public class Scheduler extends Function {
         return this.schedulerPlatform.callSyncMethod(task);
     }
 
+    /**
+     * Runs the task on the main thread, timed under the category while profiling
+     * Throttled categories of a world wait for the budget of the adaptive throttle
+     */
+    public void runTask(SyncCategory category, @Nullable String world, Runnable runnable) {
+        runTask(category, world, 1, runnable);
+    }
+
+    /**
+     * @param updates the amount of models the task may update, what it costs to the throttle
+     */
+    public void runTask(SyncCategory category, @Nullable String world, int updates, Runnable runnable) {
+        Runnable task = plugin.getMetricsManager().getProfiler().wrap(category, world, runnable);
+        if (world != null && category.isThrottled()) {
+            this.throttle.submit(world, task, updates);
+        } else {
+            this.schedulerPlatform.runTask(task);
+        }
+    }
+
+    public <T> Future<T> callSyncMethod(SyncCategory category, @Nullable String world, @NotNull Callable<T> task) {
+        return this.schedulerPlatform.callSyncMethod(plugin.getMetricsManager().getProfiler().wrap(category, world, task));
+    }
+
     public ScheduledFuture<?> runTaskTimerAsync(Runnable runnable, long delay, long interval) {
         return this.schedule.scheduleAtFixedRate(runnable, delay, interval, TimeUnit.MILLISECONDS);
     }
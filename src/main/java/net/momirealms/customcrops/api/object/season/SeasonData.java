@@ -20,6 +20,7 @@ package net.momirealms.customcrops.api.object.season;
 import net.momirealms.customcrops.CustomCrops;
 import net.momirealms.customcrops.api.event.SeasonChangeEvent;
 import net.momirealms.customcrops.api.object.basic.ConfigManager;
+import net.momirealms.customcrops.api.object.metrics.SyncCategory;
 import org.bukkit.Bukkit;
 
 import java.util.Objects;
@@ -55,7 +56,7 @@ public class SeasonData {
         if (date > ConfigManager.seasonInterval) {
             this.date = 1;
             this.ccSeason = getNextSeason(ccSeason);
-            CustomCrops.getInstance().getScheduler().runTask(this::callEvent);
+            CustomCrops.getInstance().getScheduler().runTask(SyncCategory.SEASON_EVENT, world, this::callEvent);
         }
     }
 
@@ -30,6 +30,7 @@ public class Sprinkler implements Serializable {
 
     private int water;
     private final String key;
+    private transient int id;
 
     public Sprinkler(String key, int water) {
         this.water = water;
@@ -50,6 +51,8 @@ public class Sprinkler implements Serializable {
 
     @Nullable
     public SprinklerConfig getConfig() {
-        return CustomCrops.getInstance().getSprinklerManager().getConfigByKey(key);
+        SprinklerManager sprinklerManager = CustomCrops.getInstance().getSprinklerManager();
+        if (id == 0) id = sprinklerManager.getSprinklerID(key);
+        return sprinklerManager.getConfigByID(id);
     }
 }
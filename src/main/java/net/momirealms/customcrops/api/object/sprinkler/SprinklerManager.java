@@ -20,6 +20,7 @@ package net.momirealms.customcrops.api.object.sprinkler;
 import net.kyori.adventure.key.Key;
 import net.kyori.adventure.sound.Sound;
 import net.momirealms.customcrops.CustomCrops;
+import net.momirealms.customcrops.api.object.ConfigPalette;
 import net.momirealms.customcrops.api.object.Function;
 import net.momirealms.customcrops.api.object.ItemMode;
 import net.momirealms.customcrops.api.object.fill.PassiveFillMethod;
@@ -41,19 +42,22 @@ import org.intellij.lang.annotations.Subst;
 import org.jetbrains.annotations.Nullable;
 
 import java.io.File;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
 
 public class SprinklerManager extends Function implements Listener {
 
     private final CustomCrops plugin;
-    private final HashMap<String, SprinklerConfig> sprinklerConfigMap;
-    private final HashMap<String, String> itemToKey;
+    private final ConfigPalette palette;
+    private volatile Registry registry;
 
     public SprinklerManager(CustomCrops plugin) {
         this.plugin = plugin;
-        this.sprinklerConfigMap = new HashMap<>();
-        this.itemToKey = new HashMap<>();
+        this.palette = new ConfigPalette();
+        this.registry = Registry.EMPTY;
     }
 
     @Override
@@ -64,19 +68,20 @@ public class SprinklerManager extends Function implements Listener {
 
     @Override
     public void unload() {
-        this.sprinklerConfigMap.clear();
-        this.itemToKey.clear();
+        // The registry is kept until the next load publishes a new one
         HandlerList.unregisterAll(this);
     }
 
     private void loadConfig() {
+        HashMap<String, SprinklerConfig> sprinklerConfigMap = new HashMap<>();
+        HashMap<String, String> itemToKey = new HashMap<>();
         File sprinkler_folder = new File(plugin.getDataFolder(), "contents" + File.separator + "sprinklers");
         if (!sprinkler_folder.exists()) {
             if (!sprinkler_folder.mkdirs()) return;
             ConfigUtils.getConfig("contents" + File.separator + "sprinklers" + File.separator + "default.yml");
         }
         File[] files = sprinkler_folder.listFiles();
-        if (files == null) return;
+        if (files == null) files = new File[0];
         for (File file : files) {
             YamlConfiguration config = YamlConfiguration.loadConfiguration(file);
             for (String key : config.getKeys(false)) {
@@ -131,29 +136,50 @@ public class SprinklerManager extends Function implements Listener {
                                 ItemMode.valueOf(sprinklerSec.getString("animation.type", "ARMOR_STAND").toUpperCase(Locale.ENGLISH))
                         ) : null
                         );
-                this.itemToKey.put(threeD, key);
-                if (twoD != null) this.itemToKey.put(twoD, key);
-                this.sprinklerConfigMap.put(key, sprinklerConfig);
+                itemToKey.put(threeD, key);
+                if (twoD != null) itemToKey.put(twoD, key);
+                sprinklerConfigMap.put(key, sprinklerConfig);
             }
         }
+        this.registry = new Registry(palette.createTable(SprinklerConfig.class, sprinklerConfigMap), Collections.unmodifiableMap(sprinklerConfigMap), Collections.unmodifiableMap(itemToKey));
         AdventureUtils.consoleMessage("[CustomCrops] Loaded <green>" + sprinklerConfigMap.size() + " <gray>sprinkler(s)");
     }
 
+    /**
+     * Both the placed model ids and the item ids of all the sprinklers
+     */
+    public Set<String> getItemIDs() {
+        return registry.itemToKey.keySet();
+    }
+
     @Nullable
     public SprinklerConfig getConfigByItemID(String id) {
-        String key = itemToKey.get(id);
+        Registry current = registry;
+        String key = current.itemToKey.get(id);
         if (key == null) return null;
-        return sprinklerConfigMap.get(key);
+        return current.sprinklerConfigMap.get(key);
     }
 
     @Nullable
     public String getConfigKeyByItemID(String id) {
-        return itemToKey.get(id);
+        return registry.itemToKey.get(id);
     }
 
     @Nullable
     public SprinklerConfig getConfigByKey(String key) {
-        return sprinklerConfigMap.get(key);
+        return registry.sprinklerConfigMap.get(key);
+    }
+
+    /**
+     * Get the dense id of a sprinkler key, which stays the same across reloads
+     */
+    public int getSprinklerID(String key) {
+        return palette.getID(key);
+    }
+
+    @Nullable
+    public SprinklerConfig getConfigByID(int id) {
+        return ConfigPalette.get(registry.sprinklerTable, id);
     }
 
     @EventHandler
@@ -162,9 +188,9 @@ public class SprinklerManager extends Function implements Listener {
         Item item = event.getEntity();
         ItemStack origin = item.getItemStack();
         String id = plugin.getPlatformInterface().getItemStackID(origin);
-        String key = itemToKey.get(id);
-        if (key == null) return;
-        String twoD = sprinklerConfigMap.get(key).getTwoD();
+        SprinklerConfig sprinklerConfig = getConfigByItemID(id);
+        if (sprinklerConfig == null) return;
+        String twoD = sprinklerConfig.getTwoD();
         if (twoD == null || id.equals(twoD)) return;
         ItemStack itemStack = plugin.getPlatformInterface().getItemStack(twoD);
         if (itemStack == null) {
@@ -174,4 +200,11 @@ public class SprinklerManager extends Function implements Listener {
         itemStack.setAmount(origin.getAmount());
         item.setItemStack(itemStack);
     }
-}
\ No newline at end of file
+
+    /**
+     * Immutable view of all the sprinkler configs, replaced as a whole on each load
+     */
+    private record Registry(SprinklerConfig[] sprinklerTable, Map<String, SprinklerConfig> sprinklerConfigMap, Map<String, String> itemToKey) {
+        private static final Registry EMPTY = new Registry(new SprinklerConfig[0], Map.of(), Map.of());
+    }
+}
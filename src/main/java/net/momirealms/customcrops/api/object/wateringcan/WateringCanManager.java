@@ -35,19 +35,21 @@ import org.intellij.lang.annotations.Subst;
 import org.jetbrains.annotations.Nullable;
 
 import java.io.File;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.Set;
 
 public class WateringCanManager extends Function {
 
     private final CustomCrops plugin;
-    private final HashMap<String, WateringCanConfig> wateringCanConfigMap;
+    private volatile Map<String, WateringCanConfig> wateringCanConfigMap;
 
     public WateringCanManager(CustomCrops plugin) {
         this.plugin = plugin;
-        this.wateringCanConfigMap = new HashMap<>();
+        this.wateringCanConfigMap = Map.of();
     }
 
     @Override
@@ -57,7 +59,7 @@ public class WateringCanManager extends Function {
 
     @Override
     public void unload() {
-        this.wateringCanConfigMap.clear();
+        // The config map is kept until the next load publishes a new one
     }
 
     @Nullable
@@ -65,14 +67,19 @@ public class WateringCanManager extends Function {
         return wateringCanConfigMap.get(id);
     }
 
+    public Set<String> getItemIDs() {
+        return wateringCanConfigMap.keySet();
+    }
+
     private void loadConfig() {
+        HashMap<String, WateringCanConfig> wateringCanConfigMap = new HashMap<>();
         File can_folder = new File(plugin.getDataFolder(), "contents" + File.separator + "watering-cans");
         if (!can_folder.exists()) {
             if (!can_folder.mkdirs()) return;
             ConfigUtils.getConfig("contents" + File.separator + "watering-cans" + File.separator + "default.yml");
         }
         File[] files = can_folder.listFiles();
-        if (files == null) return;
+        if (files == null) files = new File[0];
         for (File file : files) {
             YamlConfiguration config = YamlConfiguration.loadConfiguration(file);
             for (String key : config.getKeys(false)) {
@@ -114,6 +121,7 @@ public class WateringCanManager extends Function {
                 wateringCanConfigMap.put(canSec.getString("item"), wateringCanConfig);
             }
         }
+        this.wateringCanConfigMap = Collections.unmodifiableMap(wateringCanConfigMap);
         AdventureUtils.consoleMessage("[CustomCrops] Loaded <green>" + wateringCanConfigMap.size() + " <gray>watering-can(s)");
     }
 
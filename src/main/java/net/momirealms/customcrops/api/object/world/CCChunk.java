@@ -19,17 +19,24 @@ package net.momirealms.customcrops.api.object.world;
 
 import net.momirealms.customcrops.CustomCrops;
 import net.momirealms.customcrops.api.customplugin.PlatformInterface;
+import net.momirealms.customcrops.api.object.ItemMode;
 import net.momirealms.customcrops.api.object.OfflineReplaceTask;
+import net.momirealms.customcrops.api.object.action.BreakImpl;
 import net.momirealms.customcrops.api.object.basic.ConfigManager;
 import net.momirealms.customcrops.api.object.crop.GrowingCrop;
+import net.momirealms.customcrops.api.object.engine.GrowthEngine;
 import net.momirealms.customcrops.api.object.fertilizer.Fertilizer;
+import net.momirealms.customcrops.api.object.metrics.SyncCategory;
 import net.momirealms.customcrops.api.object.pot.Pot;
 import net.momirealms.customcrops.api.object.sprinkler.Sprinkler;
 import net.momirealms.customcrops.api.util.ConfigUtils;
+import net.momirealms.customcrops.api.util.RotationUtils;
 import org.bukkit.Location;
 import org.bukkit.Material;
 import org.bukkit.block.Block;
 import org.bukkit.block.data.type.Farmland;
+import org.bukkit.entity.ItemDisplay;
+import org.bukkit.entity.ItemFrame;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
@@ -37,39 +44,84 @@ import java.io.*;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 public class CCChunk implements Serializable {
 
     @Serial
     private static final long serialVersionUID = 5300805317167684402L;
 
-    private final ConcurrentHashMap<SimpleLocation, GrowingCrop> growingCropMap;
-    private final ConcurrentHashMap<SimpleLocation, Pot> potMap;
-    private final ConcurrentHashMap<SimpleLocation, Sprinkler> sprinklerMap;
+    // the serialized form still stores pots as a map so that chunk files stay compatible
+    @Serial
+    private static final ObjectStreamField[] serialPersistentFields = {
+            new ObjectStreamField("growingCropMap", ConcurrentHashMap.class),
+            new ObjectStreamField("potMap", ConcurrentHashMap.class),
+            new ObjectStreamField("sprinklerMap", ConcurrentHashMap.class),
+            new ObjectStreamField("replaceTaskMap", ConcurrentHashMap.class),
+            new ObjectStreamField("greenhouseSet", Set.class),
+            new ObjectStreamField("scarecrowSet", Set.class)
+    };
+
+    private ConcurrentHashMap<SimpleLocation, GrowingCrop> growingCropMap;
+    private PotStorage potStorage;
+    private ConcurrentHashMap<SimpleLocation, Sprinkler> sprinklerMap;
     private ConcurrentHashMap<SimpleLocation, OfflineReplaceTask> replaceTaskMap;
-    private final Set<SimpleLocation> greenhouseSet;
-    private final Set<SimpleLocation> scarecrowSet;
+    private Set<SimpleLocation> greenhouseSet;
+    private Set<SimpleLocation> scarecrowSet;
+    // sorted y levels of greenhouse glass per (x, z) column, rebuilt from greenhouseSet on load
+    private transient AtomicReferenceArray<short[]> greenhouseColumns;
 
     public CCChunk() {
         this.growingCropMap = new ConcurrentHashMap<>(64);
-        this.potMap = new ConcurrentHashMap<>(64);
+        this.potStorage = new PotStorage();
         this.sprinklerMap = new ConcurrentHashMap<>(16);
         this.greenhouseSet = Collections.synchronizedSet(new HashSet<>(64));
         this.scarecrowSet = Collections.synchronizedSet(new HashSet<>(4));
         this.replaceTaskMap = new ConcurrentHashMap<>(64);
+        this.greenhouseColumns = new AtomicReferenceArray<>(256);
     }
 
     @Serial
     private void writeObject(ObjectOutputStream oos) throws IOException {
-        oos.defaultWriteObject();
+        ObjectOutputStream.PutField fields = oos.putFields();
+        fields.put("growingCropMap", growingCropMap);
+        fields.put("potMap", new ConcurrentHashMap<>(potStorage.toMap()));
+        fields.put("sprinklerMap", sprinklerMap);
+        fields.put("replaceTaskMap", replaceTaskMap);
+        fields.put("greenhouseSet", greenhouseSet);
+        fields.put("scarecrowSet", scarecrowSet);
+        oos.writeFields();
     }
 
     @Serial
+    @SuppressWarnings("unchecked")
     private void readObject(ObjectInputStream ois) throws IOException, ClassNotFoundException {
-        ois.defaultReadObject();
+        ObjectInputStream.GetField fields = ois.readFields();
+        growingCropMap = (ConcurrentHashMap<SimpleLocation, GrowingCrop>) fields.get("growingCropMap", null);
+        sprinklerMap = (ConcurrentHashMap<SimpleLocation, Sprinkler>) fields.get("sprinklerMap", null);
+        replaceTaskMap = (ConcurrentHashMap<SimpleLocation, OfflineReplaceTask>) fields.get("replaceTaskMap", null);
+        greenhouseSet = (Set<SimpleLocation>) fields.get("greenhouseSet", null);
+        scarecrowSet = (Set<SimpleLocation>) fields.get("scarecrowSet", null);
+        potStorage = new PotStorage();
+        ConcurrentHashMap<SimpleLocation, Pot> potMap = (ConcurrentHashMap<SimpleLocation, Pot>) fields.get("potMap", null);
+        if (potMap != null) {
+            for (Map.Entry<SimpleLocation, Pot> entry : potMap.entrySet()) {
+                potStorage.put(entry.getKey(), entry.getValue());
+            }
+        }
+        if (growingCropMap == null) growingCropMap = new ConcurrentHashMap<>(64);
+        if (sprinklerMap == null) sprinklerMap = new ConcurrentHashMap<>(16);
+        if (greenhouseSet == null) greenhouseSet = Collections.synchronizedSet(new HashSet<>(64));
+        if (scarecrowSet == null) scarecrowSet = Collections.synchronizedSet(new HashSet<>(4));
         if (replaceTaskMap == null) {
             replaceTaskMap = new ConcurrentHashMap<>(64);
         }
+        greenhouseColumns = new AtomicReferenceArray<>(256);
+        synchronized (greenhouseSet) {
+            for (SimpleLocation simpleLocation : greenhouseSet) {
+                updateGreenhouseColumn(simpleLocation, true);
+            }
+        }
     }
 
     public void removeCropData(SimpleLocation simpleLocation) {
@@ -91,29 +143,81 @@ public class CCChunk implements Serializable {
 
     @Nullable
     public Pot getPotData(SimpleLocation simpleLocation) {
-        return potMap.get(simpleLocation);
+        return potStorage.get(simpleLocation);
     }
 
     public void addPotData(SimpleLocation simpleLocation, Pot pot) {
-        potMap.put(simpleLocation, pot);
+        potStorage.put(simpleLocation, pot);
     }
 
     public void removePotData(SimpleLocation simpleLocation) {
-        potMap.remove(simpleLocation);
+        potStorage.remove(simpleLocation);
+    }
+
+    public int getPotAmount() {
+        return potStorage.size();
     }
 
     public void addGreenhouse(SimpleLocation simpleLocation) {
-        greenhouseSet.add(simpleLocation);
+        if (greenhouseSet.add(simpleLocation)) {
+            updateGreenhouseColumn(simpleLocation, true);
+        }
     }
 
     public void removeGreenhouse(SimpleLocation simpleLocation) {
-        greenhouseSet.remove(simpleLocation);
+        if (greenhouseSet.remove(simpleLocation)) {
+            updateGreenhouseColumn(simpleLocation, false);
+        }
     }
 
     public boolean isGreenhouse(SimpleLocation simpleLocation) {
         return greenhouseSet.contains(simpleLocation);
     }
 
+    /**
+     * Whether there's greenhouse glass in [y, y + range) of the location's column
+     */
+    public boolean hasGreenhouseAbove(SimpleLocation simpleLocation, int range) {
+        short[] column = greenhouseColumns.get(getColumnIndex(simpleLocation));
+        if (column == null) return false;
+        int y = simpleLocation.getY();
+        int index = Arrays.binarySearch(column, (short) y);
+        if (index >= 0) return range > 0;
+        index = -index - 1;
+        return index < column.length && column[index] < y + range;
+    }
+
+    private synchronized void updateGreenhouseColumn(SimpleLocation simpleLocation, boolean add) {
+        int columnIndex = getColumnIndex(simpleLocation);
+        short y = (short) simpleLocation.getY();
+        short[] column = greenhouseColumns.get(columnIndex);
+        if (column == null) column = new short[0];
+        int index = Arrays.binarySearch(column, y);
+        short[] updated;
+        if (add) {
+            if (index >= 0) return;
+            index = -index - 1;
+            updated = new short[column.length + 1];
+            System.arraycopy(column, 0, updated, 0, index);
+            updated[index] = y;
+            System.arraycopy(column, index, updated, index + 1, column.length - index);
+        } else {
+            if (index < 0) return;
+            if (column.length == 1) {
+                greenhouseColumns.set(columnIndex, null);
+                return;
+            }
+            updated = new short[column.length - 1];
+            System.arraycopy(column, 0, updated, 0, index);
+            System.arraycopy(column, index + 1, updated, index, column.length - index - 1);
+        }
+        greenhouseColumns.set(columnIndex, updated);
+    }
+
+    private static int getColumnIndex(SimpleLocation simpleLocation) {
+        return (simpleLocation.getX() & 15) << 4 | (simpleLocation.getZ() & 15);
+    }
+
     public void addScarecrow(SimpleLocation simpleLocation) {
         scarecrowSet.add(simpleLocation);
     }
@@ -122,12 +226,18 @@ public class CCChunk implements Serializable {
         scarecrowSet.remove(simpleLocation);
     }
 
+    public List<SimpleLocation> getScarecrows() {
+        synchronized (scarecrowSet) {
+            return new ArrayList<>(scarecrowSet);
+        }
+    }
+
     public boolean hasScarecrow() {
         return scarecrowSet.size() != 0;
     }
 
     public boolean isUseless() {
-        return growingCropMap.size() == 0 && potMap.size() == 0 && greenhouseSet.size() == 0 && sprinklerMap.size() == 0 && scarecrowSet.size() == 0 && replaceTaskMap.size() == 0;
+        return growingCropMap.size() == 0 && potStorage.isEmpty() && greenhouseSet.size() == 0 && sprinklerMap.size() == 0 && scarecrowSet.size() == 0 && replaceTaskMap.size() == 0;
     }
 
     @Nullable
@@ -143,28 +253,41 @@ public class CCChunk implements Serializable {
         sprinklerMap.put(simpleLocation, sprinkler);
     }
 
+    public int getSprinklerAmount() {
+        return sprinklerMap.size();
+    }
+
     public void addWaterToPot(SimpleLocation simpleLocation, int amount, @NotNull String pot_id) {
-        Pot pot = potMap.get(simpleLocation);
+        Pot pot = waterPot(simpleLocation, amount, pot_id);
         if (pot != null) {
-            if (pot.addWater(amount)) {
-                changePotModel(simpleLocation, pot);
-            }
-            return;
+            changePotModel(simpleLocation, pot);
+        }
+    }
+
+    /**
+     * Adds water to the pot data without touching the block
+     * @return the pot if its model should be changed, otherwise null
+     */
+    @Nullable
+    public Pot waterPot(SimpleLocation simpleLocation, int amount, @NotNull String pot_id) {
+        Pot pot = potStorage.get(simpleLocation);
+        if (pot != null) {
+            return pot.addWater(amount) ? pot : null;
         }
         Pot newPot = new Pot(pot_id, null, amount);
-        potMap.put(simpleLocation, newPot);
-        changePotModel(simpleLocation, newPot);
+        potStorage.put(simpleLocation, newPot);
+        return newPot;
     }
 
     public void addFertilizerToPot(SimpleLocation simpleLocation, Fertilizer fertilizer, @NotNull String pot_id) {
-        Pot pot = potMap.get(simpleLocation);
+        Pot pot = potStorage.get(simpleLocation);
         if (pot != null) {
             pot.setFertilizer(fertilizer);
-            CustomCrops.getInstance().getScheduler().runTask(() -> changePotModel(simpleLocation, pot));
+            CustomCrops.getInstance().getScheduler().runTask(SyncCategory.POT_MODEL, simpleLocation.getWorldName(), () -> changePotModel(simpleLocation, pot));
         } else {
             Pot newPot = new Pot(pot_id, fertilizer, 0);
-            potMap.put(simpleLocation, newPot);
-            CustomCrops.getInstance().getScheduler().runTask(() -> changePotModel(simpleLocation, newPot));
+            potStorage.put(simpleLocation, newPot);
+            CustomCrops.getInstance().getScheduler().runTask(SyncCategory.POT_MODEL, simpleLocation.getWorldName(), () -> changePotModel(simpleLocation, newPot));
         }
     }
 
@@ -172,7 +295,7 @@ public class CCChunk implements Serializable {
         Random randomGenerator = ThreadLocalRandom.current();
         int delay = force == -1 ? ConfigManager.pointGainInterval * 1000 : force * 1000;
         for (SimpleLocation simpleLocation : growingCropMap.keySet()) {
-            ccWorld.pushCropTask(simpleLocation, randomGenerator.nextInt(delay));
+            ccWorld.pushPointCropTask(simpleLocation, randomGenerator.nextInt(delay));
         }
     }
 
@@ -188,7 +311,7 @@ public class CCChunk implements Serializable {
     public void scheduleConsumeTask(CCWorld ccWorld, int force) {
         Random randomGenerator = ThreadLocalRandom.current();
         int delay = force == -1 ? ConfigManager.pointGainInterval * 1000 : force * 1000;
-        for (SimpleLocation simpleLocation : potMap.keySet()) {
+        for (SimpleLocation simpleLocation : potStorage.getLocations()) {
             ccWorld.pushConsumeTask(simpleLocation, randomGenerator.nextInt(delay));
         }
     }
@@ -196,12 +319,19 @@ public class CCChunk implements Serializable {
     public void changePotModel(SimpleLocation simpleLocation, Pot pot) {
         Location location = simpleLocation.getBukkitLocation();
         if (location == null) return;
+        String replacer = pot.isWet() ? pot.getConfig().getWetPot(pot.getFertilizer()) : pot.getConfig().getDryPot(pot.getFertilizer());
+        boolean vanilla = ConfigUtils.isVanillaItem(replacer);
+        if (!vanilla) {
+            Block block = location.getBlock();
+            if (block.getType() != Material.AIR && CustomCrops.getInstance().getPlatformManager().swapBlockState(block, replacer, ItemMode.NOTE_BLOCK)) {
+                return;
+            }
+        }
         if (!CustomCrops.getInstance().getPlatformInterface().removeAnyBlock(location)) {
             CustomCrops.getInstance().getWorldDataManager().removePotData(simpleLocation);
             return;
         }
-        String replacer = pot.isWet() ? pot.getConfig().getWetPot(pot.getFertilizer()) : pot.getConfig().getDryPot(pot.getFertilizer());
-        if (ConfigUtils.isVanillaItem(replacer)) {
+        if (vanilla) {
             Block block = location.getBlock();
             block.setType(Material.valueOf(replacer));
             if (block.getBlockData() instanceof Farmland farmland && ConfigManager.disableMoistureMechanic) {
@@ -213,38 +343,97 @@ public class CCChunk implements Serializable {
         }
     }
 
-    public void executeReplaceTask() {
+    /**
+     * Applies the models that changed while the chunk was unloaded and triggers the break actions of the crops broken meanwhile
+     * Item frames and item displays are kept until the entities of the chunk are loaded
+     *
+     * @param entitiesLoaded whether the entities of the chunk are loaded
+     * @return the amount of replace tasks executed
+     */
+    public int executeReplaceTask(boolean entitiesLoaded) {
+        if (replaceTaskMap.isEmpty()) return 0;
+        int executed = 0;
         PlatformInterface platform = CustomCrops.getInstance().getPlatformInterface();
         for (Map.Entry<SimpleLocation, OfflineReplaceTask> entry : replaceTaskMap.entrySet()) {
             SimpleLocation simpleLocation = entry.getKey();
-            String id = entry.getValue().getId();
-            if (id == null) {
-                platform.removeCustomItem(entry.getKey().getBukkitLocation(), entry.getValue().getItemMode());
+            OfflineReplaceTask task = entry.getValue();
+            if (!entitiesLoaded && (isEntity(task.getItemMode()) || isEntity(task.getReplacedMode()))) {
                 continue;
             }
-            switch (entry.getValue().getItemType()) {
+            // a newer task of the same location stays for the next load
+            if (!replaceTaskMap.remove(simpleLocation, task)) continue;
+            Location location = simpleLocation.getBukkitLocation();
+            if (location == null) continue;
+            executed++;
+            String id = task.getId();
+            if (id == null && task.getWater() == 0) {
+                if (platform.removeCustomItem(location, task.getReplacedMode())) {
+                    triggerBreakActions(task, simpleLocation);
+                }
+                continue;
+            }
+            switch (task.getItemType()) {
                 case POT -> {
-                    Pot pot =getPotData(simpleLocation);
+                    Pot pot = getPotData(simpleLocation);
+                    boolean hasData = pot != null;
                     if (pot == null) {
-                        String blockID = platform.getBlockID(simpleLocation.getBukkitLocation().getBlock());
+                        String blockID = platform.getBlockID(location.getBlock());
                         String potKey = CustomCrops.getInstance().getPotManager().getPotKeyByBlockID(blockID);
+                        // corrupted pots are queued with the key they should have
+                        if (potKey == null && id != null && CustomCrops.getInstance().getPotManager().getPotConfig(id) != null) potKey = id;
                         if (potKey == null) continue;
                         pot = new Pot(potKey, null, 0);
                     }
+                    // water from sprinklers that ran while the chunk was unloaded
+                    if (task.getWater() != 0 && GrowthEngine.isWhitelisted(pot.getPotKey(), task.getPotWhitelist())) {
+                        pot.addWater(task.getWater());
+                        if (!hasData) addPotData(simpleLocation, pot);
+                    }
                     changePotModel(simpleLocation, pot);
                 }
                 case CROP -> {
-                    Location location = simpleLocation.getBukkitLocation();
-                    if (platform.removeCustomItem(location, entry.getValue().getItemMode())) {
-                        platform.placeCustomItem(location, id, entry.getValue().getItemMode());
+                    boolean ready = task.isPlace() ? !platform.detectAnyThing(location) : platform.removeCustomItem(location, task.getReplacedMode());
+                    if (!ready) {
+                        removeCropData(simpleLocation);
+                        continue;
+                    }
+                    if (!task.isPlace()) triggerBreakActions(task, simpleLocation);
+                    switch (task.getItemMode()) {
+                        case ITEM_FRAME -> {
+                            ItemFrame itemFrame = platform.placeItemFrame(location, id);
+                            if (itemFrame != null && task.isRotation()) itemFrame.setRotation(RotationUtils.getRandomRotation());
+                        }
+                        case ITEM_DISPLAY -> {
+                            ItemDisplay itemDisplay = platform.placeItemDisplay(location, id);
+                            if (itemDisplay != null && task.isRotation()) itemDisplay.setRotation(RotationUtils.getRandomFloatRotation(), itemDisplay.getLocation().getPitch());
+                        }
+                        default -> platform.placeCustomItem(location, id, task.getItemMode());
                     }
                 }
             }
         }
-        replaceTaskMap.clear();
+        return executed;
     }
 
+    private static void triggerBreakActions(OfflineReplaceTask task, SimpleLocation simpleLocation) {
+        String breakStage = task.getBreakStage();
+        if (breakStage != null) {
+            BreakImpl.triggerBreakActions(null, breakStage, simpleLocation, task.getReplacedMode());
+        }
+    }
+
+    private static boolean isEntity(ItemMode itemMode) {
+        return itemMode == ItemMode.ITEM_FRAME || itemMode == ItemMode.ITEM_DISPLAY;
+    }
+
+    /**
+     * Only the latest model of a location is kept
+     */
     public void addReplaceTask(SimpleLocation simpleLocation, OfflineReplaceTask offlineReplaceTask) {
-        replaceTaskMap.put(simpleLocation, offlineReplaceTask);
+        replaceTaskMap.merge(simpleLocation, offlineReplaceTask, (previous, task) -> task.after(previous));
+    }
+
+    public int getReplaceTaskAmount() {
+        return replaceTaskMap.size();
     }
-}
\ No newline at end of file
+}
@@ -25,15 +25,19 @@ import net.momirealms.customcrops.api.object.OfflineReplaceTask;
 import net.momirealms.customcrops.api.object.action.Action;
 import net.momirealms.customcrops.api.object.action.VariationImpl;
 import net.momirealms.customcrops.api.object.basic.ConfigManager;
-import net.momirealms.customcrops.api.object.condition.Condition;
+import net.momirealms.customcrops.api.object.condition.CompiledConditions;
 import net.momirealms.customcrops.api.object.condition.DeathCondition;
 import net.momirealms.customcrops.api.object.crop.CropConfig;
 import net.momirealms.customcrops.api.object.crop.GrowingCrop;
-import net.momirealms.customcrops.api.object.crop.StageConfig;
+import net.momirealms.customcrops.api.object.engine.*;
 import net.momirealms.customcrops.api.object.fertilizer.Fertilizer;
-import net.momirealms.customcrops.api.object.fertilizer.FertilizerConfig;
-import net.momirealms.customcrops.api.object.fertilizer.SoilRetain;
-import net.momirealms.customcrops.api.object.fertilizer.SpeedGrow;
+import net.momirealms.customcrops.api.object.metrics.SyncCategory;
+import net.momirealms.customcrops.api.object.metrics.WorldMetrics;
+import net.momirealms.customcrops.api.object.metrics.jfr.ChunkDataLoadEvent;
+import net.momirealms.customcrops.api.object.metrics.jfr.ChunkDataSaveEvent;
+import net.momirealms.customcrops.api.object.metrics.jfr.GrowthPointEvent;
+import net.momirealms.customcrops.api.object.metrics.jfr.ModelSwapEvent;
+import net.momirealms.customcrops.api.object.metrics.jfr.SprinklerWorkEvent;
 import net.momirealms.customcrops.api.object.pot.Pot;
 import net.momirealms.customcrops.api.object.pot.PotConfig;
 import net.momirealms.customcrops.api.object.season.CCSeason;
@@ -53,14 +57,18 @@ import org.bukkit.configuration.file.YamlConfiguration;
 import org.bukkit.entity.ItemDisplay;
 import org.bukkit.entity.ItemFrame;
 import org.bukkit.entity.Player;
+import org.bukkit.inventory.ItemStack;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.io.*;
 import java.util.*;
 import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
 
-public class CCWorld extends Function {
+public class CCWorld extends Function implements ChunkSource, EnvironmentSource, VisualSink {
 
     private final String worldName;
     private final World world;
@@ -79,6 +87,12 @@ public class CCWorld extends Function {
     private final File dateFile;
     private final File corruptedFile;
     private final CustomCrops plugin;
+    private volatile WorldEnvironment environment;
+    // only tracked while its event is enabled
+    private volatile GrowthPoint growthPoint;
+    private final ScarecrowIndex scarecrowIndex;
+    private final WorldMetrics metrics;
+    private final GrowthEngine engine;
 
     public CCWorld(World world, CustomCrops plugin) {
         this.plugin = plugin;
@@ -91,11 +105,14 @@ public class CCWorld extends Function {
         this.schedule = new ScheduledThreadPoolExecutor(ConfigManager.corePoolSize);
         this.schedule.setMaximumPoolSize(ConfigManager.maxPoolSize);
         this.schedule.setKeepAliveTime(ConfigManager.keepAliveTime, TimeUnit.SECONDS);
-        this.schedule.setRejectedExecutionHandler(new ThreadPoolExecutor.DiscardPolicy());
+        this.metrics = plugin.getMetricsManager().getWorldMetrics(worldName);
+        this.schedule.setRejectedExecutionHandler((runnable, executor) -> metrics.onTasksDropped(1));
         this.plantInPoint = Collections.synchronizedSet(new HashSet<>(128));
         this.loadInPoint = Collections.synchronizedSet(new HashSet<>(32));
         this.corruptedPot = new ConcurrentHashMap<>(128);
         this.cacheTimer = ConfigManager.cacheSaveInterval;
+        this.scarecrowIndex = new ScarecrowIndex();
+        this.engine = new GrowthEngine(this, PluginRegistry.INSTANCE, this, this);
     }
 
     @Override
@@ -115,6 +132,7 @@ public class CCWorld extends Function {
         saveDateData();
         saveCorruptedPots();
         saveAllChunkData();
+        metrics.updateGauges(0, 0, 0, 0, 0, 0);
         plugin.getSeasonManager().unloadSeasonData(worldName);
     }
 
@@ -123,6 +141,7 @@ public class CCWorld extends Function {
         this.cacheTimer = ConfigManager.cacheSaveInterval;
         this.consumeCounter = ConfigManager.intervalConsume;
         this.workCounter = ConfigManager.intervalWork;
+        this.environment = WorldEnvironment.capture(world);
         this.scheduleTask();
     }
 
@@ -160,13 +179,16 @@ public class CCWorld extends Function {
         List<File> outdated = new ArrayList<>();
         for (File file : data_files) {
             ChunkCoordinate chunkCoordinate = ChunkCoordinate.getByString(file.getName().substring(0, file.getName().length() - 7));
-            try (FileInputStream fis = new FileInputStream(file); ObjectInputStream ois = new ObjectInputStream(fis)) {
-                CCChunk chunk = (CCChunk) ois.readObject();
+            try {
+                CCChunk chunk = readChunk(chunkCoordinate, file);
                 if (chunk.isUseless()) {
                     outdated.add(file);
                     continue;
                 }
-                if (chunkCoordinate != null) chunkMap.put(chunkCoordinate, chunk);
+                if (chunkCoordinate != null) {
+                    chunkMap.put(chunkCoordinate, chunk);
+                    scarecrowIndex.loadChunk(chunkCoordinate, chunk.getScarecrows());
+                }
             } catch (IOException | ClassNotFoundException e) {
                 e.printStackTrace();
                 Log.info("Error at " + file.getAbsolutePath());
@@ -190,11 +212,47 @@ public class CCWorld extends Function {
                 file.delete();
                 continue;
             }
-            try (FileOutputStream fos = new FileOutputStream(file); ObjectOutputStream oos = new ObjectOutputStream(fos)) {
-                oos.writeObject(chunk);
-            } catch (Exception e) {
-                e.printStackTrace();
+            writeChunk(chunkCoordinate, chunk, file);
+        }
+    }
+
+    private CCChunk readChunk(@Nullable ChunkCoordinate chunkCoordinate, File file) throws IOException, ClassNotFoundException {
+        ChunkDataLoadEvent event = new ChunkDataLoadEvent();
+        event.begin();
+        long start = System.nanoTime();
+        CCChunk chunk;
+        try (FileInputStream fis = new FileInputStream(file); ObjectInputStream ois = new ObjectInputStream(fis)) {
+            chunk = (CCChunk) ois.readObject();
+        }
+        metrics.getChunkLoad().recordSince(start);
+        if (event.shouldCommit()) {
+            event.world = worldName;
+            if (chunkCoordinate != null) {
+                event.chunkX = chunkCoordinate.getX();
+                event.chunkZ = chunkCoordinate.getZ();
             }
+            event.bytes = file.length();
+            event.commit();
+        }
+        return chunk;
+    }
+
+    private void writeChunk(ChunkCoordinate chunkCoordinate, CCChunk chunk, File file) {
+        ChunkDataSaveEvent event = new ChunkDataSaveEvent();
+        event.begin();
+        long start = System.nanoTime();
+        try (FileOutputStream fos = new FileOutputStream(file); ObjectOutputStream oos = new ObjectOutputStream(fos)) {
+            oos.writeObject(chunk);
+        } catch (Exception e) {
+            e.printStackTrace();
+        }
+        metrics.getChunkSave().recordSince(start);
+        if (event.shouldCommit()) {
+            event.world = worldName;
+            event.chunkX = chunkCoordinate.getX();
+            event.chunkZ = chunkCoordinate.getZ();
+            event.bytes = file.length();
+            event.commit();
         }
     }
 
@@ -236,6 +294,7 @@ public class CCWorld extends Function {
         if (this.timerTask == null) {
             this.timerTask = plugin.getScheduler().runTaskTimerAsync(() -> {
                 if (world != null) {
+                    this.updateGauges();
                     if (ConfigManager.debugScheduler) {
                         Log.info("Queue size: " + schedule.getQueue().size() + " Completed: " + schedule.getCompletedTaskCount());
                     }
@@ -251,6 +310,28 @@ public class CCWorld extends Function {
         }
     }
 
+    private void updateGauges() {
+        int crops = 0, pots = 0, sprinklers = 0, pendingModels = 0;
+        for (CCChunk chunk : chunkMap.values()) {
+            crops += chunk.getCropAmount();
+            pots += chunk.getPotAmount();
+            sprinklers += chunk.getSprinklerAmount();
+            pendingModels += chunk.getReplaceTaskAmount();
+        }
+        metrics.updateGauges(chunkMap.size(), crops, pots, sprinklers, schedule.getQueue().size(), pendingModels);
+    }
+
+    public WorldMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Get the amount of tasks waiting in or being run by the schedule of this world
+     */
+    public int getPendingTasks() {
+        return schedule.getQueue().size() + schedule.getActiveCount();
+    }
+
     private void tryDayCycleTask(long time, long day) {
         if (time < 100 && day != currentDay) {
             currentDay = day;
@@ -281,34 +362,79 @@ public class CCWorld extends Function {
     public void onReachPoint() {
         if (ConfigManager.debugScheduler) Log.info("== Grow point ==");
         if (ConfigManager.enableScheduleSystem) {
-            // clear the locations where crops are planted in a point interval
-            plantInPoint.clear();
-            // log the chunk coordinates that has grown in a point interval
-            if (ConfigManager.onlyInLoadedChunks) {
-                loadInPoint.clear();
-                loadInPoint.addAll(chunkMap.keySet());
-            }
-            // clear the queue if there exists unhandled tasks
-            schedule.getQueue().clear();
-            // arrange crop grow check task
-            for (CCChunk chunk : chunkMap.values()) {
-                chunk.scheduleGrowTask(this, -1);
-            }
-            workCounter--;
-            consumeCounter--;
-            if (consumeCounter == 0) {
-                if (ConfigManager.debugScheduler) Log.info("== Consume time ==");
-                consumeCounter = ConfigManager.intervalConsume;
-                scheduleConsumeTask(-1);
-            }
-            if (workCounter == 0) {
-                if (ConfigManager.debugScheduler) Log.info("== Work time ==");
-                workCounter = ConfigManager.intervalWork;
-                scheduleSprinklerWork(-1);
+            // take the snapshot on the main thread, then arrange the tasks off it
+            if (Bukkit.isPrimaryThread()) {
+                this.updateEnvironment();
+            } else {
+                plugin.getScheduler().runTask(SyncCategory.ENVIRONMENT_SNAPSHOT, worldName, this::updateEnvironment);
             }
         }
     }
 
+    private void updateEnvironment() {
+        this.environment = WorldEnvironment.capture(world);
+        this.engine.clearCompiledConditions();
+        schedule.execute(this::arrangePointTasks);
+    }
+
+    private void arrangePointTasks() {
+        GrowthPointEvent event = new GrowthPointEvent();
+        event.begin();
+        // clear the locations where crops are planted in a point interval
+        plantInPoint.clear();
+        // log the chunk coordinates that has grown in a point interval
+        if (ConfigManager.onlyInLoadedChunks) {
+            loadInPoint.clear();
+            loadInPoint.addAll(chunkMap.keySet());
+        }
+        // clear the queue if there exists unhandled tasks
+        int unhandled = schedule.getQueue().size();
+        schedule.getQueue().clear();
+        if (unhandled != 0) metrics.onTasksDropped(unhandled);
+        GrowthPoint previous = growthPoint;
+        if (previous != null) previous.finish(unhandled);
+        engine.getCropsEvaluated().reset();
+        engine.getPointsApplied().reset();
+        GrowthPoint point = event.isEnabled() ? new GrowthPoint(event) : null;
+        growthPoint = point;
+        // arrange crop grow check task
+        for (CCChunk chunk : chunkMap.values()) {
+            chunk.scheduleGrowTask(this, -1);
+        }
+        if (point != null) point.onCheckDone(0);
+        workCounter--;
+        consumeCounter--;
+        if (consumeCounter == 0) {
+            if (ConfigManager.debugScheduler) Log.info("== Consume time ==");
+            consumeCounter = ConfigManager.intervalConsume;
+            scheduleConsumeTask(-1);
+        }
+        if (workCounter == 0) {
+            if (ConfigManager.debugScheduler) Log.info("== Work time ==");
+            workCounter = ConfigManager.intervalWork;
+            scheduleSprinklerWork(-1);
+        }
+    }
+
+    /**
+     * Get the snapshot of this world taken at the latest point
+     */
+    @Override
+    public WorldEnvironment getEnvironment() {
+        return environment;
+    }
+
+    /**
+     * Get the conditions of a crop config compiled against the snapshot of the current point
+     */
+    public CompiledConditions getCompiledConditions(CropConfig cropConfig, WorldEnvironment environment) {
+        return engine.getCompiledConditions(cropConfig, environment);
+    }
+
+    public GrowthEngine getEngine() {
+        return engine;
+    }
+
     private void closePool() {
         this.schedule.shutdown();
     }
@@ -317,32 +443,30 @@ public class CCWorld extends Function {
     public void unloadChunk(ChunkCoordinate chunkCoordinate) {
         if (!ConfigManager.onlyInLoadedChunks) return;
         CCChunk chunk = chunkMap.remove(chunkCoordinate);
+        scarecrowIndex.unloadChunk(chunkCoordinate);
         if (chunk != null) {
             File file = new File(chunksFolder, chunkCoordinate.getFileName() + ".ccdata");
             if (chunk.isUseless() && file.exists()) {
                 file.delete();
                 return;
             }
-            try (FileOutputStream fos = new FileOutputStream(file); ObjectOutputStream oos = new ObjectOutputStream(fos)) {
-                oos.writeObject(chunk);
-            } catch (Exception e) {
-                e.printStackTrace();
-            }
+            writeChunk(chunkCoordinate, chunk, file);
         }
     }
 
     @SuppressWarnings("ResultOfMethodCallIgnored")
-    public void loadChunk(ChunkCoordinate chunkCoordinate) {
+    public void loadChunk(ChunkCoordinate chunkCoordinate, boolean entitiesLoaded) {
         if (ConfigManager.onlyInLoadedChunks) {
             File file = new File(chunksFolder, chunkCoordinate.getFileName() + ".ccdata");
             if (file.exists()) {
                 boolean delete = false;
-                try (FileInputStream fis = new FileInputStream(file); ObjectInputStream ois = new ObjectInputStream(fis)) {
-                    CCChunk chunk = (CCChunk) ois.readObject();
+                try {
+                    CCChunk chunk = readChunk(chunkCoordinate, file);
                     if (chunk.isUseless()) {
                         delete = true;
                     } else {
                         chunkMap.put(chunkCoordinate, chunk);
+                        scarecrowIndex.loadChunk(chunkCoordinate, chunk.getScarecrows());
                         if (!loadInPoint.contains(chunkCoordinate)) {
                             chunk.scheduleGrowTask(this, -1);
                         }
@@ -356,25 +480,54 @@ public class CCWorld extends Function {
                     }
                 }
             }
-            return;
         }
-        if (ConfigManager.updateDuringLoading) {
-            CCChunk chunk = chunkMap.get(chunkCoordinate);
-            if (chunk != null) {
-                chunk.executeReplaceTask();
-            }
+        executeReplaceTasks(chunkCoordinate, entitiesLoaded);
+    }
+
+    /**
+     * Item frames and item displays are loaded after the blocks, their models are replaced here
+     */
+    public void loadEntities(ChunkCoordinate chunkCoordinate) {
+        executeReplaceTasks(chunkCoordinate, true);
+    }
+
+    private void executeReplaceTasks(ChunkCoordinate chunkCoordinate, boolean entitiesLoaded) {
+        CCChunk chunk = chunkMap.get(chunkCoordinate);
+        if (chunk == null || chunk.getReplaceTaskAmount() == 0) return;
+        ModelSwapEvent event = new ModelSwapEvent();
+        event.begin();
+        int executed = chunk.executeReplaceTask(entitiesLoaded);
+        metrics.onMainThreadUpdates(executed);
+        if (event.shouldCommit()) {
+            event.world = worldName;
+            event.source = "replace tasks";
+            event.models = executed;
+            event.commit();
         }
     }
 
     public void pushCropTask(SimpleLocation simpleLocation, int delay) {
-        schedule.schedule(new CropCheckTask(simpleLocation), delay, TimeUnit.MILLISECONDS);
+        metrics.onTaskScheduled();
+        schedule.schedule(new CropCheckTask(simpleLocation, null), delay, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Schedules the check of a crop as part of the current growth point
+     */
+    public void pushPointCropTask(SimpleLocation simpleLocation, int delay) {
+        metrics.onTaskScheduled();
+        GrowthPoint point = growthPoint;
+        if (point != null) point.onCheckScheduled();
+        schedule.schedule(new CropCheckTask(simpleLocation, point), delay, TimeUnit.MILLISECONDS);
     }
 
     public void pushSprinklerTask(SimpleLocation simpleLocation, int delay) {
+        metrics.onTaskScheduled();
         schedule.schedule(new SprinklerCheckTask(simpleLocation), delay, TimeUnit.MILLISECONDS);
     }
 
     public void pushConsumeTask(SimpleLocation simpleLocation, int delay) {
+        metrics.onTaskScheduled();
         schedule.schedule(new ConsumeCheckTask(simpleLocation), delay, TimeUnit.MILLISECONDS);
     }
 
@@ -411,10 +564,16 @@ public class CCWorld extends Function {
             Location location = simpleLocation.getBukkitLocation();
             if (location == null) return;
             String replacer = wet ? potConfig.getWetPot(fertilizer) : potConfig.getDryPot(fertilizer);
-            CompletableFuture<Chunk> asyncGetChunk = location.getWorld().getChunkAtAsync(location.getBlockX() >> 4, location.getBlockZ() >> 4);
-            asyncGetChunk.whenComplete((result, throwable) ->
-                plugin.getScheduler().runTask(() -> plugin.getPlatformInterface().placeNoteBlock(location, replacer)
-            ));
+            if (!world.isChunkLoaded(simpleLocation.getX() >> 4, simpleLocation.getZ() >> 4)) {
+                addOfflineReplaceTask(simpleLocation, new OfflineReplaceTask(potConfig.getKey(), ItemType.POT, ItemMode.NOTE_BLOCK));
+                return;
+            }
+            plugin.getScheduler().runTask(SyncCategory.CORRUPTION_FIX, worldName, () -> {
+                if (!plugin.getPlatformManager().swapBlockState(location.getBlock(), replacer, ItemMode.NOTE_BLOCK)) {
+                    plugin.getPlatformInterface().placeNoteBlock(location, replacer);
+                }
+                metrics.onMainThreadUpdates(1);
+            });
         }
     }
 
@@ -426,55 +585,33 @@ public class CCWorld extends Function {
             this.simpleLocation = simpleLocation;
         }
 
+        @Override
         public void run() {
+            metrics.onTaskExecuted();
+            long start = System.nanoTime();
+            check();
+            metrics.getTaskDuration().recordSince(start);
+        }
 
-            Pot pot = getPotData(simpleLocation);
-            if (pot == null) return;
-
-            if (pot.isWet() && plugin.getFertilizerManager().getConfigByFertilizer(pot.getFertilizer()) instanceof SoilRetain soilRetain && soilRetain.canTakeEffect()) {
-                pot.setWater(pot.getWater() + 1);
-            }
-
-            if (pot.reduceWater() | pot.reduceFertilizer()) {
-
-                Fertilizer fertilizer = pot.getFertilizer();
-                boolean wet = pot.isWet();
-                if (!wet && fertilizer == null && !ConfigManager.onlyInLoadedChunks) {
-                    removePotData(simpleLocation);
-                }
-
-                PotConfig potConfig = pot.getConfig();
-                if (wet && fertilizer == null && !potConfig.enableFertilizedLooks()) {
-                    return;
-                }
-
-                if (world.isChunkLoaded(simpleLocation.getX() >> 4, simpleLocation.getZ() >> 4)) {
-                    replacePot(simpleLocation, pot, potConfig);
-                    return;
-                }
-
-                if (ConfigManager.updateDuringLoading) {
-                    addOfflineReplaceTask(simpleLocation, new OfflineReplaceTask(pot.getPotKey(), ItemType.POT, ItemMode.NOTE_BLOCK));
-                    return;
-                }
-
-                Location location = simpleLocation.getBukkitLocation();
-                if (location == null) {
-                    return;
-                }
+        private void check() {
+            engine.consumePot(simpleLocation);
+        }
+    }
 
-                CompletableFuture<Chunk> asyncGetChunk = location.getWorld().getChunkAtAsync(location.getBlockX() >> 4, location.getBlockZ() >> 4);
-                asyncGetChunk.whenComplete((result, throwable) -> {
-                    replacePot(simpleLocation, pot, potConfig);
-                });
-            }
+    @Override
+    public void updatePotModel(SimpleLocation simpleLocation, Pot pot, PotConfig potConfig) {
+        if (world.isChunkLoaded(simpleLocation.getX() >> 4, simpleLocation.getZ() >> 4)) {
+            replacePot(simpleLocation, pot, potConfig);
+            return;
         }
+
+        addOfflineReplaceTask(simpleLocation, new OfflineReplaceTask(pot.getPotKey(), ItemType.POT, ItemMode.NOTE_BLOCK));
     }
 
     private void replacePot(SimpleLocation simpleLocation, Pot pot, PotConfig potConfig) {
         Location location = simpleLocation.getBukkitLocation();
         assert location != null;
-        plugin.getScheduler().runTask(() -> {
+        plugin.getScheduler().runTask(SyncCategory.POT_MODEL, worldName, () -> {
             Block block = location.getBlock();
             if (block.getType() == Material.AIR) {
                 removePotData(simpleLocation);
@@ -501,9 +638,10 @@ public class CCWorld extends Function {
                     farmland.setMoisture(pot.isWet() ? farmland.getMaximumMoisture() : 0);
                     block.setBlockData(farmland);
                 }
-            } else {
+            } else if (!plugin.getPlatformManager().swapBlockState(block, replacer, ItemMode.NOTE_BLOCK)) {
                 plugin.getPlatformInterface().placeNoteBlock(location, replacer);
             }
+            metrics.onMainThreadUpdates(1);
         });
     }
 
@@ -515,249 +653,282 @@ public class CCWorld extends Function {
             this.simpleLocation = simpleLocation;
         }
 
+        @Override
         public void run() {
-            Sprinkler sprinkler = getSprinklerData(simpleLocation);
-            if (sprinkler == null) return;
-
-            SprinklerConfig sprinklerConfig = sprinkler.getConfig();
-            if (sprinklerConfig == null) {
-                removeSprinklerData(simpleLocation);
-                return;
-            }
+            metrics.onTaskExecuted();
+            long start = System.nanoTime();
+            check();
+            metrics.getTaskDuration().recordSince(start);
+        }
 
-            int water = sprinkler.getWater();
-            sprinkler.setWater(--water);
-            if (water <= 0) {
-                removeSprinklerData(simpleLocation);
-            }
+        private void check() {
+            SprinklerWork work = engine.useSprinkler(simpleLocation);
+            if (work == null) return;
 
+            SprinklerConfig sprinklerConfig = work.config();
             SprinklerAnimation sprinklerAnimation = sprinklerConfig.getSprinklerAnimation();
 
-            if (world.isChunkLoaded(simpleLocation.getX() >> 4, simpleLocation.getZ() >> 4) && sprinklerAnimation != null) {
+            if (sprinklerAnimation != null && world.isChunkLoaded(simpleLocation.getX() >> 4, simpleLocation.getZ() >> 4) && plugin.getScheduler().getThrottle().allowAnimation()) {
+                ItemStack animation = null;
                 for (Player player : Bukkit.getOnlinePlayers()) {
                     SimpleLocation playerLoc = SimpleLocation.getByBukkitLocation(player.getLocation());
                     if (playerLoc.isNear(simpleLocation, 48)) {
-                        FakeEntityUtils.playWaterAnimation(player, simpleLocation.getBukkitLocation().add(0.5, sprinklerAnimation.offset(), 0.5), sprinklerAnimation.id(), sprinklerAnimation.duration(), sprinklerAnimation.itemMode());
+                        if (animation == null) animation = plugin.getIntegrationManager().build(sprinklerAnimation.id());
+                        FakeEntityUtils.playWaterAnimation(player, simpleLocation.getBukkitLocation().add(0.5, sprinklerAnimation.offset(), 0.5), animation, sprinklerAnimation.duration(), sprinklerAnimation.itemMode());
                     }
                 }
             }
 
-            int range = sprinklerConfig.getRange();
             int amount = sprinklerConfig.getWaterFillAbility();
             int random = sprinklerAnimation == null ? 10000 : sprinklerAnimation.duration() * 1000;
             String[] whiteList = sprinklerConfig.getPotWhitelist();
-            for (int i = -range; i <= range; i++) {
-                for (int j = -range; j <= range; j++) {
-                    SimpleLocation potSLoc = simpleLocation.add(i, -1, j);
-                    schedule.schedule(new WaterPotTask(potSLoc, amount, whiteList), ThreadLocalRandom.current().nextInt(random), TimeUnit.MILLISECONDS);
+            schedule.schedule(() -> {
+                // every position may be a model swap, large areas are split so that one tick doesn't go far over the throttle budget
+                List<SimpleLocation> positions = work.positions();
+                int slice = plugin.getScheduler().getThrottle().getUpdateBudget();
+                for (int from = 0; from < positions.size(); from += slice) {
+                    List<SimpleLocation> part = positions.subList(from, Math.min(positions.size(), from + slice));
+                    plugin.getScheduler().runTask(SyncCategory.WATER_POTS, worldName, part.size(), () -> waterPots(part, amount, whiteList, null));
                 }
-            }
+            }, ThreadLocalRandom.current().nextInt(random), TimeUnit.MILLISECONDS);
         }
     }
 
-    public class WaterPotTask implements Runnable {
-
-        @NotNull
-        private final SimpleLocation simpleLocation;
-        private final int amount;
-        @Nullable
-        private final String[] whitelist;
-
-        public WaterPotTask(@NotNull SimpleLocation simpleLocation, int amount, @Nullable String[] whitelist) {
-            this.simpleLocation = simpleLocation;
-            this.amount = amount;
-            this.whitelist = whitelist;
+    /**
+     * Waters all the pots in an area, resolving each chunk only once.
+     * Pot data is updated in one pass and the model changes are applied afterwards as a batch.
+     * Should be called on the main thread
+     *
+     * @param positions pot positions
+     * @param amount water to add
+     * @param whitelist allowed pot keys, null for any pot
+     * @param particle particle to show over the watered pots
+     * @return the amount of watered pots in loaded chunks
+     */
+    public int waterPots(Collection<SimpleLocation> positions, int amount, @Nullable String[] whitelist, @Nullable Particle particle) {
+        SprinklerWorkEvent event = new SprinklerWorkEvent();
+        event.begin();
+        Map<ChunkCoordinate, List<SimpleLocation>> byChunk = new HashMap<>();
+        for (SimpleLocation position : positions) {
+            byChunk.computeIfAbsent(position.getChunkCoordinate(), k -> new ArrayList<>()).add(position);
         }
-
-        @Override
-        public void run() {
-
-            if (world.isChunkLoaded(simpleLocation.getX() >> 4, simpleLocation.getZ() >> 4)) {
-                replacePot(simpleLocation, amount, whitelist);
-                return;
+        List<SimpleLocation> changedLocations = new ArrayList<>();
+        List<Pot> changedPots = new ArrayList<>();
+        List<SimpleLocation> watered = new ArrayList<>();
+        for (Map.Entry<ChunkCoordinate, List<SimpleLocation>> entry : byChunk.entrySet()) {
+            ChunkCoordinate coordinate = entry.getKey();
+            List<SimpleLocation> group = entry.getValue();
+            if (world.isChunkLoaded(coordinate.getX(), coordinate.getZ())) {
+                waterPotsInChunk(group, amount, whitelist, changedLocations, changedPots, watered);
+                continue;
             }
-
-            Pot pot = getPotData(simpleLocation);
-            if (ConfigManager.updateDuringLoading && pot != null) {
-                pot.addWater(amount);
-                addOfflineReplaceTask(simpleLocation, new OfflineReplaceTask("unknown", ItemType.POT, ItemMode.NOTE_BLOCK));
-                return;
+            // the blocks of unloaded chunks are unknown, pots without data (dry ones) get their water once the chunk is loaded
+            CCChunk chunk = chunkMap.get(coordinate);
+            for (SimpleLocation position : group) {
+                Pot pot = chunk == null ? null : chunk.getPotData(position);
+                if (pot == null) {
+                    addOfflineReplaceTask(position, OfflineReplaceTask.water(amount, whitelist));
+                } else if (GrowthEngine.isWhitelisted(pot.getPotKey(), whitelist)) {
+                    engine.addWater(pot, amount);
+                    addOfflineReplaceTask(position, new OfflineReplaceTask(pot.getPotKey(), ItemType.POT, ItemMode.NOTE_BLOCK));
+                }
             }
-
-            CompletableFuture<Chunk> asyncGetChunk = world.getChunkAtAsync(simpleLocation.getX() >> 4, simpleLocation.getZ() >> 4);
-            asyncGetChunk.whenComplete((result, throwable) -> replacePot(simpleLocation, amount, whitelist));
         }
+        applyPotModels(changedLocations, changedPots);
+        if (particle != null && watered.size() != 0) {
+            spawnWaterParticles(watered, particle);
+        }
+        if (event.shouldCommit()) {
+            event.world = worldName;
+            event.positions = positions.size();
+            event.watered = watered.size();
+            event.commit();
+        }
+        return watered.size();
     }
 
-    private void replacePot(SimpleLocation simpleLocation, int amount, String[] whitelist) {
-        Location location = simpleLocation.getBukkitLocation();
-        assert location != null;
-        plugin.getScheduler().runTask(() -> {
-            String blockID = plugin.getPlatformInterface().getBlockID(location.getBlock());
+    private void waterPotsInChunk(List<SimpleLocation> group, int amount, @Nullable String[] whitelist,
+                                  List<SimpleLocation> changedLocations, List<Pot> changedPots, List<SimpleLocation> watered) {
+        engine.waterPots(group, amount, whitelist, position -> {
+            Block block = world.getBlockAt(position.getX(), position.getY(), position.getZ());
+            String blockID = plugin.getPlatformInterface().getBlockID(block);
             String potKey = plugin.getPotManager().getPotKeyByBlockID(blockID);
-            if (potKey != null) {
-                if (whitelist != null) {
-                    for (String pot : whitelist) {
-                        if (pot.equals(potKey)) {
-                            addWaterToPot(simpleLocation, amount, potKey);
-                            break;
-                        }
-                    }
-                } else {
-                    addWaterToPot(simpleLocation, amount, potKey);
-                }
-            } else if (ConfigManager.enableCorruptionFixer && blockID.equals("NOTE_BLOCK")) {
-                Pot pot = getPotData(simpleLocation);
+            if (potKey == null && ConfigManager.enableCorruptionFixer && blockID.equals("NOTE_BLOCK")) {
+                Pot pot = getPotData(position);
                 if (pot != null) {
-                    potKey = pot.getPotKey();
-                    if (whitelist == null) {
-                        pot.addWater(amount);
-                    } else {
-                        for (String potID : whitelist) {
-                            if (potID.equals(potKey)) {
-                                pot.addWater(amount);
-                                break;
-                            }
-                        }
+                    if (GrowthEngine.isWhitelisted(pot.getPotKey(), whitelist)) {
+                        engine.addWater(pot, amount);
                     }
-                    corruptedPot.put(simpleLocation, potKey);
-                    if (ConfigManager.debugCorruption) AdventureUtils.consoleMessage("[CustomCrops] Corrupted pot found at: " + simpleLocation);
+                    corruptedPot.put(position, pot.getPotKey());
+                    if (ConfigManager.debugCorruption) AdventureUtils.consoleMessage("[CustomCrops] Corrupted pot found at: " + position);
                 }
             }
-        });
+            return potKey;
+        }, changedLocations, changedPots, watered);
     }
 
-    public class CropCheckTask implements Runnable {
+    private void applyPotModels(List<SimpleLocation> locations, List<Pot> pots) {
+        Map<Location, String> customModels = new HashMap<>();
+        int vanillaModels = 0;
+        for (int i = 0, size = locations.size(); i < size; i++) {
+            SimpleLocation simpleLocation = locations.get(i);
+            Pot pot = pots.get(i);
+            PotConfig potConfig = pot.getConfig();
+            if (potConfig == null) continue;
+            String replacer = pot.isWet() ? potConfig.getWetPot(pot.getFertilizer()) : potConfig.getDryPot(pot.getFertilizer());
+            if (ConfigUtils.isVanillaItem(replacer)) {
+                CCChunk chunk = chunkMap.get(simpleLocation.getChunkCoordinate());
+                if (chunk != null) chunk.changePotModel(simpleLocation, pot);
+                vanillaModels++;
+                continue;
+            }
+            Block block = world.getBlockAt(simpleLocation.getX(), simpleLocation.getY(), simpleLocation.getZ());
+            if (block.getType() == Material.AIR) {
+                removePotData(simpleLocation);
+                continue;
+            }
+            customModels.put(block.getLocation(), replacer);
+        }
+        if (customModels.size() != 0) {
+            plugin.getPlatformManager().swapModels(worldName, customModels, ItemMode.NOTE_BLOCK);
+        }
+        metrics.onMainThreadUpdates(vanillaModels + customModels.size());
+    }
 
-        private final SimpleLocation simpleLocation;
+    private void spawnWaterParticles(List<SimpleLocation> watered, Particle particle) {
+        int minX = Integer.MAX_VALUE, minZ = Integer.MAX_VALUE, maxX = Integer.MIN_VALUE, maxZ = Integer.MIN_VALUE;
+        double y = 0;
+        for (SimpleLocation location : watered) {
+            minX = Math.min(minX, location.getX());
+            minZ = Math.min(minZ, location.getZ());
+            maxX = Math.max(maxX, location.getX());
+            maxZ = Math.max(maxZ, location.getZ());
+            y += location.getY();
+        }
+        y /= watered.size();
+        world.spawnParticle(particle,
+                (minX + maxX) / 2d + 0.5, y + 1, (minZ + maxZ) / 2d + 0.5,
+                3 * watered.size(),
+                (maxX - minX) / 4d + 0.1, 0.1, (maxZ - minZ) / 4d + 0.1
+        );
+    }
 
-        public CropCheckTask(SimpleLocation simpleLocation) {
-            this.simpleLocation = simpleLocation;
+    /**
+     * The crop checks of a growth point, its event is committed once they have all run
+     * or when the next point drops the ones still queued
+     */
+    private final class GrowthPoint {
+
+        private final GrowthPointEvent event;
+        // one more than the checks left until the arrangement is done
+        private final AtomicInteger remaining = new AtomicInteger(1);
+        private final AtomicInteger scheduled = new AtomicInteger();
+        private final LongAdder checkTime = new LongAdder();
+        private final AtomicBoolean finished = new AtomicBoolean();
+
+        private GrowthPoint(GrowthPointEvent event) {
+            this.event = event;
         }
 
-        public void run() {
-            GrowingCrop growingCrop = getCropData(simpleLocation);
-            if (growingCrop == null) return;
+        private void onCheckScheduled() {
+            scheduled.incrementAndGet();
+            remaining.incrementAndGet();
+        }
 
-            CropConfig cropConfig = growingCrop.getConfig();
-            if (cropConfig == null) {
-                removeCropData(simpleLocation);
-                return;
-            }
+        private void onCheckDone(long nanos) {
+            checkTime.add(nanos);
+            if (remaining.decrementAndGet() == 0) finish(0);
+        }
 
-            ItemMode itemMode = cropConfig.getCropMode();
-            DeathCondition[] deathConditions = cropConfig.getDeathConditions();
-            if (deathConditions != null) {
-                for (DeathCondition deathCondition : deathConditions) {
-                    if (deathCondition.checkIfDead(simpleLocation)) {
-                        removeCropData(simpleLocation);
-                        deathCondition.applyDeadModel(simpleLocation, itemMode);
-                        return;
-                    }
-                }
+        private void finish(int dropped) {
+            if (!finished.compareAndSet(false, true)) return;
+            if (growthPoint == this) growthPoint = null;
+            if (event.shouldCommit()) {
+                event.world = worldName;
+                event.cropsScheduled = scheduled.get();
+                event.cropsEvaluated = engine.getCropsEvaluated().sum();
+                event.pointsApplied = engine.getPointsApplied().sum();
+                event.checkTime = checkTime.sum();
+                event.tasksDropped = dropped;
+                event.commit();
             }
+        }
+    }
 
-            Condition[] conditions = cropConfig.getGrowConditions();
-            if (conditions != null) {
-                for (Condition condition : conditions) {
-                    if (!condition.isMet(simpleLocation)) {
-                        return;
-                    }
-                }
-            }
+    public class CropCheckTask implements Runnable {
 
-            int points = 1;
-            Pot pot = getPotData(simpleLocation.add(0,-1,0));
-            if (pot != null) {
-                FertilizerConfig fertilizerConfig = plugin.getFertilizerManager().getConfigByFertilizer(pot.getFertilizer());
-                if (fertilizerConfig instanceof SpeedGrow speedGrow) {
-                    points += speedGrow.getPointBonus();
-                }
-            }
-            addCropPoint(points, cropConfig, growingCrop, simpleLocation, itemMode);
+        private final SimpleLocation simpleLocation;
+        private final GrowthPoint point;
+
+        private CropCheckTask(SimpleLocation simpleLocation, @Nullable GrowthPoint point) {
+            this.simpleLocation = simpleLocation;
+            this.point = point;
+        }
+
+        @Override
+        public void run() {
+            metrics.onTaskExecuted();
+            long start = System.nanoTime();
+            check();
+            metrics.getTaskDuration().recordSince(start);
+            if (point != null) point.onCheckDone(System.nanoTime() - start);
+        }
+
+        private void check() {
+            engine.checkCrop(simpleLocation);
         }
     }
 
     public boolean addCropPointAt(SimpleLocation simpleLocation, int points) {
-        GrowingCrop growingCrop = getCropData(simpleLocation);
-        if (growingCrop == null) return false;
-        CropConfig cropConfig = growingCrop.getConfig();
-        if (cropConfig == null) {
-            removeCropData(simpleLocation);
-            return false;
-        }
-        if (points == 0) return true;
-        addCropPoint(points, cropConfig, growingCrop, simpleLocation, cropConfig.getCropMode());
-        return true;
+        return engine.addCropPointAt(simpleLocation, points);
     }
 
     public void addCropPoint(int points, CropConfig cropConfig, GrowingCrop growingCrop, SimpleLocation simpleLocation, ItemMode itemMode) {
-        int current = growingCrop.getPoints();
-        String nextModel = null;
-        for (int i = current + 1; i <= points + current; i++) {
-            StageConfig stageConfig = cropConfig.getStageConfig(i);
-            if (stageConfig == null) continue;
-            if (stageConfig.getModel() != null) nextModel = stageConfig.getModel();
-            Action[] growActions = stageConfig.getGrowActions();
-            if (growActions != null) {
-                for (Action action : growActions) {
-                    if (action instanceof VariationImpl variation) {
-                        if (variation.doOn(simpleLocation, itemMode)) {
-                            return;
-                        }
-                    } else {
-                        action.doOn(null, simpleLocation, itemMode);
-                    }
+        engine.addCropPoint(points, cropConfig, growingCrop, simpleLocation, itemMode);
+    }
+
+    @Override
+    public boolean applyGrowActions(SimpleLocation simpleLocation, Action[] actions, ItemMode itemMode) {
+        for (Action action : actions) {
+            if (action instanceof VariationImpl variation) {
+                if (variation.doOn(simpleLocation, itemMode)) {
+                    return true;
                 }
+            } else {
+                action.doOn(null, simpleLocation, itemMode);
             }
         }
+        return false;
+    }
 
-        growingCrop.setPoints(current + points);
-        if (growingCrop.getPoints() >= cropConfig.getMaxPoints()) {
-            removeCropData(simpleLocation);
-        }
+    @Override
+    public void applyDeath(SimpleLocation simpleLocation, DeathCondition deathCondition, ItemMode itemMode) {
+        deathCondition.applyDeadModel(simpleLocation, itemMode);
+    }
 
+    @Override
+    public void updateCropModel(SimpleLocation simpleLocation, String model, ItemMode itemMode, boolean rotation) {
         Location location = simpleLocation.getBukkitLocation();
-        String finalNextModel = nextModel;
-        if (finalNextModel == null || location == null) return;
+        if (location == null) return;
 
         if (world.isChunkLoaded(location.getBlockX() >> 4, location.getBlockZ() >> 4)) {
             switch (itemMode) {
-                case ITEM_FRAME -> replaceItemFrameCrop(location, finalNextModel, cropConfig.isRotationEnabled());
-                case ITEM_DISPLAY -> replaceItemDisplayCrop(location, finalNextModel, cropConfig.isRotationEnabled());
-                case TRIPWIRE -> replaceTripwireCrop(location, finalNextModel);
+                case ITEM_FRAME -> replaceItemFrameCrop(location, model, rotation);
+                case ITEM_DISPLAY -> replaceItemDisplayCrop(location, model, rotation);
+                case TRIPWIRE -> replaceTripwireCrop(location, model);
             }
             return;
         }
 
-        if (ConfigManager.updateDuringLoading) {
-            addOfflineReplaceTask(simpleLocation, new OfflineReplaceTask(finalNextModel, ItemType.CROP, itemMode));
-            return;
-        }
-
-        CompletableFuture<Chunk> asyncGetChunk = location.getWorld().getChunkAtAsync(location.getBlockX() >> 4, location.getBlockZ() >> 4);
-        if (itemMode == ItemMode.ITEM_FRAME) {
-            CompletableFuture<Boolean> loadEntities = asyncGetChunk.thenApply((chunk) -> {
-                chunk.getEntities();
-                return chunk.isEntitiesLoaded();
-            });
-            loadEntities.whenComplete((result, throwable) -> replaceItemFrameCrop(location, finalNextModel, cropConfig.isRotationEnabled()));
-        } else if (itemMode == ItemMode.ITEM_DISPLAY) {
-            CompletableFuture<Boolean> loadEntities = asyncGetChunk.thenApply((chunk) -> {
-                chunk.getEntities();
-                return chunk.isEntitiesLoaded();
-            });
-            loadEntities.whenComplete((result, throwable) -> replaceItemDisplayCrop(location, finalNextModel, cropConfig.isRotationEnabled()));
-        } else {
-            asyncGetChunk.whenComplete((result, throwable) -> replaceTripwireCrop(location, finalNextModel));
-        }
+        addOfflineReplaceTask(simpleLocation, new OfflineReplaceTask(model, ItemType.CROP, itemMode, null, rotation, false));
     }
 
     private void replaceItemFrameCrop(Location location, String model, boolean rotation) {
-        plugin.getScheduler().runTask(() -> {
+        plugin.getScheduler().runTask(SyncCategory.CROP_MODEL, worldName, () -> {
             if (plugin.getPlatformInterface().removeCustomItem(location, ItemMode.ITEM_FRAME)) {
                 ItemFrame itemFrame = plugin.getPlatformInterface().placeItemFrame(location, model);
                 if (itemFrame != null && rotation) itemFrame.setRotation(RotationUtils.getRandomRotation());
+                metrics.onMainThreadUpdates(1);
             } else {
                 removeCropData(SimpleLocation.getByBukkitLocation(location));
             }
@@ -765,10 +936,11 @@ public class CCWorld extends Function {
     }
 
     private void replaceItemDisplayCrop(Location location, String model, boolean rotation) {
-        plugin.getScheduler().runTask(() -> {
+        plugin.getScheduler().runTask(SyncCategory.CROP_MODEL, worldName, () -> {
             if (plugin.getPlatformInterface().removeCustomItem(location, ItemMode.ITEM_DISPLAY)) {
                 ItemDisplay itemDisplay = plugin.getPlatformInterface().placeItemDisplay(location, model);
                 if (itemDisplay != null && rotation) itemDisplay.setRotation(RotationUtils.getRandomFloatRotation(), itemDisplay.getLocation().getPitch());
+                metrics.onMainThreadUpdates(1);
             } else {
                 removeCropData(SimpleLocation.getByBukkitLocation(location));
             }
@@ -776,9 +948,15 @@ public class CCWorld extends Function {
     }
 
     private void replaceTripwireCrop(Location location, String model) {
-        plugin.getScheduler().runTask(() -> {
+        plugin.getScheduler().runTask(SyncCategory.CROP_MODEL, worldName, () -> {
+            Block block = location.getBlock();
+            if (block.getType() == Material.TRIPWIRE && plugin.getPlatformManager().swapBlockState(block, model, ItemMode.TRIPWIRE)) {
+                metrics.onMainThreadUpdates(1);
+                return;
+            }
             if (plugin.getPlatformInterface().removeCustomItem(location, ItemMode.TRIPWIRE)) {
                 plugin.getPlatformInterface().placeTripWire(location, model);
+                metrics.onMainThreadUpdates(1);
             } else {
                 removeCropData(SimpleLocation.getByBukkitLocation(location));
             }
@@ -853,14 +1031,22 @@ public class CCWorld extends Function {
         return chunk.isGreenhouse(simpleLocation);
     }
 
+    public boolean hasGreenhouseAbove(SimpleLocation simpleLocation, int range) {
+        CCChunk chunk = chunkMap.get(simpleLocation.getChunkCoordinate());
+        if (chunk == null) return false;
+        return chunk.hasGreenhouseAbove(simpleLocation, range);
+    }
+
     public void removeScarecrow(SimpleLocation simpleLocation) {
         CCChunk chunk = chunkMap.get(simpleLocation.getChunkCoordinate());
+        scarecrowIndex.remove(simpleLocation);
         if (chunk == null) return;
         chunk.removeScarecrow(simpleLocation);
     }
 
     public void addScarecrow(SimpleLocation simpleLocation) {
         CCChunk chunk = chunkMap.get(simpleLocation.getChunkCoordinate());
+        scarecrowIndex.add(simpleLocation);
         if (chunk != null) {
             chunk.addScarecrow(simpleLocation);
             return;
@@ -869,10 +1055,18 @@ public class CCWorld extends Function {
         chunk.addScarecrow(simpleLocation);
     }
 
+    public boolean hasScarecrowInChunk(SimpleLocation simpleLocation) {
+        return scarecrowIndex.hasScarecrowInChunk(simpleLocation.getChunkCoordinate());
+    }
+
+    /**
+     * Whether the location is protected by a scarecrow, according to the configured scarecrow range
+     */
     public boolean hasScarecrow(SimpleLocation simpleLocation) {
-        CCChunk chunk = chunkMap.get(simpleLocation.getChunkCoordinate());
-        if (chunk == null) return false;
-        return chunk.hasScarecrow();
+        if (ConfigManager.scarecrowRange < 0) {
+            return scarecrowIndex.hasScarecrowInChunk(simpleLocation.getChunkCoordinate());
+        }
+        return scarecrowIndex.hasScarecrowNear(simpleLocation, ConfigManager.scarecrowRange);
     }
 
     public void removeSprinklerData(SimpleLocation simpleLocation) {
@@ -934,6 +1128,20 @@ public class CCWorld extends Function {
         chunk.addPotData(simpleLocation, pot);
     }
 
+    @Override
+    @Nullable
+    public CCChunk getChunk(ChunkCoordinate chunkCoordinate) {
+        return chunkMap.get(chunkCoordinate);
+    }
+
+    @Override
+    @NotNull
+    public CCChunk getOrCreateChunk(SimpleLocation simpleLocation) {
+        CCChunk chunk = chunkMap.get(simpleLocation.getChunkCoordinate());
+        if (chunk != null) return chunk;
+        return createNewChunk(simpleLocation);
+    }
+
     public CCChunk createNewChunk(SimpleLocation simpleLocation) {
         ChunkCoordinate chunkCoordinate = simpleLocation.getChunkCoordinate();
         CCChunk newChunk = new CCChunk();
@@ -965,14 +1173,27 @@ public class CCWorld extends Function {
         });
     }
 
+    /**
+     * Keeps the model of a location in an unloaded chunk until the chunk is loaded again,
+     * so that the plugin never loads chunks itself just to replace models
+     */
     public void addOfflineReplaceTask(SimpleLocation simpleLocation, OfflineReplaceTask offlineReplaceTask) {
-        CCChunk chunk = chunkMap.get(simpleLocation.getChunkCoordinate());
-        if (chunk != null) {
-            chunk.addReplaceTask(simpleLocation, offlineReplaceTask);
-            return;
+        ChunkCoordinate chunkCoordinate = simpleLocation.getChunkCoordinate();
+        CCChunk chunk = chunkMap.get(chunkCoordinate);
+        if (chunk == null) {
+            // the chunk has been unloaded and saved, a new one would be overwritten when it loads
+            if (ConfigManager.onlyInLoadedChunks) return;
+            chunk = createNewChunk(simpleLocation);
         }
-        chunk = createNewChunk(simpleLocation);
         chunk.addReplaceTask(simpleLocation, offlineReplaceTask);
+        // the chunk might have been loaded since the caller checked it
+        if (world.isChunkLoaded(chunkCoordinate.getX(), chunkCoordinate.getZ())) {
+            plugin.getScheduler().runTask(SyncCategory.CHUNK_LOAD, worldName, () -> {
+                if (world.isChunkLoaded(chunkCoordinate.getX(), chunkCoordinate.getZ())) {
+                    executeReplaceTasks(chunkCoordinate, world.getChunkAt(chunkCoordinate.getX(), chunkCoordinate.getZ()).isEntitiesLoaded());
+                }
+            });
+        }
     }
 
     @Nullable
@@ -0,0 +1,479 @@
+/*
+ *  Copyright (C) <2022> <XiaoMoMi>
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package net.momirealms.customcrops.api.object.world;
+
+import net.momirealms.customcrops.api.object.fertilizer.Fertilizer;
+import net.momirealms.customcrops.api.object.pot.Pot;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.Serial;
+import java.util.*;
+
+/**
+ * Pot data of a chunk stored as parallel primitive arrays per 16x16x16 section,
+ * with the pot keys and fertilizer keys kept in a palette shared by the sections.
+ * Pots handed out are short-lived views that are not kept by the storage: they read the arrays
+ * on every call and each mutator only writes the field it changes, all under the lock of the storage.
+ * Every location carries a stamp renewed when it's replaced, so a view of a removed or replaced pot
+ * stops reaching the arrays and keeps the last values it saw, like a standalone pot.
+ */
+public class PotStorage {
+
+    private final ArrayList<String> potPalette;
+    private final ArrayList<String> fertilizerPalette;
+    private final HashMap<Integer, Section> sections;
+    private String worldName;
+    private int chunkX;
+    private int chunkZ;
+    private int size;
+    private short stamp;
+
+    public PotStorage() {
+        this.potPalette = new ArrayList<>(4);
+        this.fertilizerPalette = new ArrayList<>(4);
+        this.sections = new HashMap<>(4);
+    }
+
+    @Nullable
+    public synchronized Pot get(SimpleLocation simpleLocation) {
+        Section section = sections.get(simpleLocation.getY() >> 4);
+        if (section == null) return null;
+        int index = section.indexOf(getLocalIndex(simpleLocation));
+        if (index < 0) return null;
+        View view = new View(this, simpleLocation, potPalette.get(section.potKeys[index]), section.stamps[index]);
+        view.sync(section, index);
+        return view;
+    }
+
+    public void put(SimpleLocation simpleLocation, Pot pot) {
+        // read the pot before locking, it might be a view of another chunk
+        String key = pot.getPotKey();
+        int water = pot.getWater();
+        Fertilizer fertilizer = pot.getFertilizer();
+        String fertilizerKey = fertilizer == null ? null : fertilizer.getKey();
+        int times = fertilizer == null ? 0 : fertilizer.getLeftTimes();
+        put(simpleLocation, pot, key, water, fertilizerKey, times);
+    }
+
+    private synchronized void put(SimpleLocation simpleLocation, Pot pot, String key, int water, @Nullable String fertilizerKey, int times) {
+        if (size == 0) {
+            this.worldName = simpleLocation.getWorldName();
+            this.chunkX = simpleLocation.getX() >> 4;
+            this.chunkZ = simpleLocation.getZ() >> 4;
+        }
+        Section section = sections.computeIfAbsent(simpleLocation.getY() >> 4, k -> new Section());
+        short local = getLocalIndex(simpleLocation);
+        int index = section.indexOf(local);
+        if (index < 0) {
+            index = section.insert(-index - 1, local);
+            section.stamps[index] = ++stamp;
+            size++;
+        } else if (!(pot instanceof View view && view.isViewOf(this, section, index))) {
+            // the location holds a new pot, views of the old one stop writing to it
+            section.stamps[index] = ++stamp;
+        }
+        section.potKeys[index] = getPaletteID(potPalette, key);
+        section.water[index] = water;
+        writeFertilizer(section, index, fertilizerKey, times);
+    }
+
+    public synchronized void remove(SimpleLocation simpleLocation) {
+        Section section = sections.get(simpleLocation.getY() >> 4);
+        if (section == null) return;
+        int index = section.indexOf(getLocalIndex(simpleLocation));
+        if (index < 0) return;
+        section.delete(index);
+        size--;
+        if (section.size == 0) sections.remove(simpleLocation.getY() >> 4);
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    public synchronized boolean isEmpty() {
+        return size == 0;
+    }
+
+    public synchronized List<SimpleLocation> getLocations() {
+        List<SimpleLocation> locations = new ArrayList<>(size);
+        for (Map.Entry<Integer, Section> entry : sections.entrySet()) {
+            Section section = entry.getValue();
+            for (int i = 0; i < section.size; i++) {
+                locations.add(getLocation(entry.getKey(), section.positions[i]));
+            }
+        }
+        return locations;
+    }
+
+    /**
+     * Materialize the pots as standalone objects, used for the chunk's serialized form
+     */
+    public synchronized Map<SimpleLocation, Pot> toMap() {
+        Map<SimpleLocation, Pot> map = new HashMap<>(Math.max(16, size * 4 / 3 + 1));
+        for (Map.Entry<Integer, Section> entry : sections.entrySet()) {
+            Section section = entry.getValue();
+            for (int i = 0; i < section.size; i++) {
+                map.put(getLocation(entry.getKey(), section.positions[i]), new Pot(potPalette.get(section.potKeys[i]), copyFertilizer(section, i), section.water[i]));
+            }
+        }
+        return map;
+    }
+
+    @Nullable
+    private String getFertilizerKey(Section section, int index) {
+        short fertilizerID = section.fertilizers[index];
+        return fertilizerID == 0 ? null : fertilizerPalette.get(fertilizerID - 1);
+    }
+
+    @Nullable
+    private Fertilizer copyFertilizer(Section section, int index) {
+        String key = getFertilizerKey(section, index);
+        return key == null ? null : new Fertilizer(key, section.times[index]);
+    }
+
+    private void writeFertilizer(Section section, int index, @Nullable String fertilizerKey, int times) {
+        if (fertilizerKey == null) {
+            section.fertilizers[index] = 0;
+            section.times[index] = 0;
+        } else {
+            section.fertilizers[index] = (short) (getPaletteID(fertilizerPalette, fertilizerKey) + 1);
+            section.times[index] = times;
+        }
+    }
+
+    private static short getPaletteID(ArrayList<String> palette, String key) {
+        int id = palette.indexOf(key);
+        if (id == -1) {
+            id = palette.size();
+            palette.add(key);
+        }
+        return (short) id;
+    }
+
+    private SimpleLocation getLocation(int sectionY, short local) {
+        return new SimpleLocation(worldName, chunkX << 4 | (local & 15), sectionY << 4 | (local >> 8 & 15), chunkZ << 4 | (local >> 4 & 15));
+    }
+
+    private static short getLocalIndex(SimpleLocation simpleLocation) {
+        return (short) ((simpleLocation.getY() & 15) << 8 | (simpleLocation.getZ() & 15) << 4 | (simpleLocation.getX() & 15));
+    }
+
+    private static class Section {
+
+        private short[] positions = new short[8];
+        private short[] potKeys = new short[8];
+        private int[] water = new int[8];
+        private short[] fertilizers = new short[8];
+        private int[] times = new int[8];
+        // renewed when a location gets a new pot, views with another stamp are stale
+        private short[] stamps = new short[8];
+        private int size;
+
+        private int indexOf(short local) {
+            return Arrays.binarySearch(positions, 0, size, local);
+        }
+
+        private int insert(int index, short local) {
+            if (size == positions.length) {
+                int capacity = Math.min(4096, size * 2);
+                positions = Arrays.copyOf(positions, capacity);
+                potKeys = Arrays.copyOf(potKeys, capacity);
+                water = Arrays.copyOf(water, capacity);
+                fertilizers = Arrays.copyOf(fertilizers, capacity);
+                times = Arrays.copyOf(times, capacity);
+                stamps = Arrays.copyOf(stamps, capacity);
+            }
+            int moved = size - index;
+            System.arraycopy(positions, index, positions, index + 1, moved);
+            System.arraycopy(potKeys, index, potKeys, index + 1, moved);
+            System.arraycopy(water, index, water, index + 1, moved);
+            System.arraycopy(fertilizers, index, fertilizers, index + 1, moved);
+            System.arraycopy(times, index, times, index + 1, moved);
+            System.arraycopy(stamps, index, stamps, index + 1, moved);
+            positions[index] = local;
+            size++;
+            return index;
+        }
+
+        private void delete(int index) {
+            int moved = size - index - 1;
+            System.arraycopy(positions, index + 1, positions, index, moved);
+            System.arraycopy(potKeys, index + 1, potKeys, index, moved);
+            System.arraycopy(water, index + 1, water, index, moved);
+            System.arraycopy(fertilizers, index + 1, fertilizers, index, moved);
+            System.arraycopy(times, index + 1, times, index, moved);
+            System.arraycopy(stamps, index + 1, stamps, index, moved);
+            size--;
+        }
+    }
+
+    /**
+     * While attached, every call goes to the arrays and the fields inherited from Pot
+     * only mirror the last values seen, which the view falls back to once it's stale
+     */
+    private static class View extends Pot {
+
+        @Serial
+        private static final long serialVersionUID = 1L;
+
+        private final transient PotStorage storage;
+        private final transient int sectionY;
+        private final transient short local;
+        private final transient short stamp;
+        // all guarded by the storage
+        private transient boolean detached;
+        private transient short fertilizerID;
+        private transient int times;
+        private transient FertilizerView fertilizer;
+
+        private View(PotStorage storage, SimpleLocation simpleLocation, String key, short stamp) {
+            super(key, null, 0);
+            this.storage = storage;
+            this.sectionY = simpleLocation.getY() >> 4;
+            this.local = getLocalIndex(simpleLocation);
+            this.stamp = stamp;
+        }
+
+        private boolean isViewOf(PotStorage storage, Section section, int index) {
+            return this.storage == storage && !detached && section.positions[index] == local
+                    && section.stamps[index] == stamp && storage.sections.get(sectionY) == section;
+        }
+
+        /**
+         * @return the section of the pot, or null once the view is stale
+         */
+        @Nullable
+        private Section section() {
+            if (detached) return null;
+            Section section = storage.sections.get(sectionY);
+            if (section != null) {
+                int index = section.indexOf(local);
+                if (index >= 0 && section.stamps[index] == stamp) return section;
+            }
+            detach();
+            return null;
+        }
+
+        private int index(Section section) {
+            return section.indexOf(local);
+        }
+
+        private void sync(Section section, int index) {
+            super.setWater(section.water[index]);
+            this.fertilizerID = section.fertilizers[index];
+            this.times = section.times[index];
+        }
+
+        private void detach() {
+            detached = true;
+            Fertilizer copy = null;
+            if (fertilizerID != 0) {
+                if (fertilizer != null && fertilizer.fertilizerID == fertilizerID) copy = fertilizer;
+                else copy = new Fertilizer(storage.fertilizerPalette.get(fertilizerID - 1), times);
+            }
+            if (fertilizer != null) fertilizer.detached = true;
+            super.setFertilizer(copy);
+        }
+
+        @Override
+        public Fertilizer getFertilizer() {
+            synchronized (storage) {
+                Section section = section();
+                if (section == null) return super.getFertilizer();
+                int index = index(section);
+                sync(section, index);
+                if (fertilizerID == 0) return null;
+                if (fertilizer == null || fertilizer.fertilizerID != fertilizerID) {
+                    fertilizer = new FertilizerView(this, storage.fertilizerPalette.get(fertilizerID - 1), fertilizerID);
+                }
+                return fertilizer;
+            }
+        }
+
+        @Override
+        public void setFertilizer(Fertilizer fertilizer) {
+            String key = fertilizer == null ? null : fertilizer.getKey();
+            int times = fertilizer == null ? 0 : fertilizer.getLeftTimes();
+            synchronized (storage) {
+                Section section = section();
+                if (section == null) {
+                    super.setFertilizer(fertilizer);
+                    return;
+                }
+                int index = index(section);
+                storage.writeFertilizer(section, index, key, times);
+                sync(section, index);
+            }
+        }
+
+        @Override
+        public int getWater() {
+            synchronized (storage) {
+                Section section = section();
+                if (section == null) return super.getWater();
+                int index = index(section);
+                sync(section, index);
+                return section.water[index];
+            }
+        }
+
+        @Override
+        public boolean isWet() {
+            return getWater() != 0;
+        }
+
+        @Override
+        public boolean addWater(int amount) {
+            int max = getConfig().getMaxStorage();
+            synchronized (storage) {
+                Section section = section();
+                if (section == null) return super.addWater(amount);
+                int index = index(section);
+                int water = section.water[index];
+                section.water[index] = Math.min(max, water + amount);
+                sync(section, index);
+                return water == 0;
+            }
+        }
+
+        @Override
+        public void setWater(int amount) {
+            synchronized (storage) {
+                Section section = section();
+                if (section == null) {
+                    super.setWater(amount);
+                    return;
+                }
+                int index = index(section);
+                section.water[index] = amount;
+                sync(section, index);
+            }
+        }
+
+        @Override
+        public boolean reduceWater() {
+            synchronized (storage) {
+                Section section = section();
+                if (section == null) return super.reduceWater();
+                int index = index(section);
+                boolean dried = section.water[index] != 0 && --section.water[index] == 0;
+                sync(section, index);
+                return dried;
+            }
+        }
+
+        @Override
+        public boolean reduceFertilizer() {
+            synchronized (storage) {
+                Section section = section();
+                if (section == null) return super.reduceFertilizer();
+                int index = index(section);
+                boolean usedUp = section.fertilizers[index] != 0 && --section.times[index] <= 0;
+                if (usedUp) storage.writeFertilizer(section, index, null, 0);
+                sync(section, index);
+                return usedUp;
+            }
+        }
+
+        @Serial
+        private Object writeReplace() {
+            Fertilizer fertilizer = getFertilizer();
+            return new Pot(getPotKey(), fertilizer == null ? null : new Fertilizer(fertilizer.getKey(), fertilizer.getLeftTimes()), getWater());
+        }
+    }
+
+    /**
+     * The fertilizer of a view, reading and writing the remaining times of its location
+     * as long as the location holds the same pot and the same kind of fertilizer
+     */
+    private static class FertilizerView extends Fertilizer {
+
+        @Serial
+        private static final long serialVersionUID = 1L;
+
+        private final transient View pot;
+        private final transient short fertilizerID;
+        // guarded by the storage of the pot
+        private transient boolean detached;
+
+        private FertilizerView(View pot, String key, short fertilizerID) {
+            super(key, pot.times);
+            this.pot = pot;
+            this.fertilizerID = fertilizerID;
+        }
+
+        /**
+         * @return the section of the pot, or null once this fertilizer is no longer the one of the location
+         */
+        @Nullable
+        private Section section() {
+            if (detached) return null;
+            Section section = pot.section();
+            if (section != null && section.fertilizers[pot.index(section)] == fertilizerID) return section;
+            detached = true;
+            return null;
+        }
+
+        @Override
+        public boolean reduceTimes() {
+            synchronized (pot.storage) {
+                Section section = section();
+                if (section == null) return super.reduceTimes();
+                int index = pot.index(section);
+                boolean usedUp = --section.times[index] <= 0;
+                sync(section, index);
+                return usedUp;
+            }
+        }
+
+        @Override
+        public int getLeftTimes() {
+            synchronized (pot.storage) {
+                Section section = section();
+                if (section == null) return super.getLeftTimes();
+                int index = pot.index(section);
+                sync(section, index);
+                return section.times[index];
+            }
+        }
+
+        @Override
+        public void setTimes(int times) {
+            synchronized (pot.storage) {
+                Section section = section();
+                if (section == null) {
+                    super.setTimes(times);
+                    return;
+                }
+                int index = pot.index(section);
+                section.times[index] = times;
+                sync(section, index);
+            }
+        }
+
+        private void sync(Section section, int index) {
+            super.setTimes(section.times[index]);
+            pot.sync(section, index);
+        }
+
+        @Serial
+        private Object writeReplace() {
+            return new Fertilizer(getKey(), getLeftTimes());
+        }
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ *  Copyright (C) <2022> <XiaoMoMi>
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package net.momirealms.customcrops.api.object.world;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Scarecrow positions of a world bucketed by chunk, covering the chunks loaded in CCWorld
+ */
+public class ScarecrowIndex {
+
+    private static final SimpleLocation[] EMPTY = new SimpleLocation[0];
+    private final ConcurrentHashMap<ChunkCoordinate, SimpleLocation[]> buckets;
+
+    public ScarecrowIndex() {
+        this.buckets = new ConcurrentHashMap<>(16);
+    }
+
+    public void add(SimpleLocation simpleLocation) {
+        buckets.compute(simpleLocation.getChunkCoordinate(), (key, bucket) -> {
+            if (bucket == null) return new SimpleLocation[]{simpleLocation};
+            for (SimpleLocation location : bucket) {
+                if (location.equals(simpleLocation)) return bucket;
+            }
+            SimpleLocation[] updated = Arrays.copyOf(bucket, bucket.length + 1);
+            updated[bucket.length] = simpleLocation;
+            return updated;
+        });
+    }
+
+    public void remove(SimpleLocation simpleLocation) {
+        buckets.computeIfPresent(simpleLocation.getChunkCoordinate(), (key, bucket) -> {
+            SimpleLocation[] updated = Arrays.stream(bucket).filter(location -> !location.equals(simpleLocation)).toArray(SimpleLocation[]::new);
+            return updated.length == 0 ? null : updated;
+        });
+    }
+
+    public void loadChunk(ChunkCoordinate chunkCoordinate, Collection<SimpleLocation> scarecrows) {
+        if (scarecrows.isEmpty()) {
+            buckets.remove(chunkCoordinate);
+            return;
+        }
+        buckets.put(chunkCoordinate, scarecrows.toArray(EMPTY));
+    }
+
+    public void unloadChunk(ChunkCoordinate chunkCoordinate) {
+        buckets.remove(chunkCoordinate);
+    }
+
+    public boolean hasScarecrowInChunk(ChunkCoordinate chunkCoordinate) {
+        return buckets.containsKey(chunkCoordinate);
+    }
+
+    /**
+     * Whether there's a scarecrow within the given horizontal range (in blocks) of the location
+     */
+    public boolean hasScarecrowNear(SimpleLocation simpleLocation, int range) {
+        if (buckets.isEmpty()) return false;
+        int x = simpleLocation.getX();
+        int z = simpleLocation.getZ();
+        for (int chunkX = (x - range) >> 4; chunkX <= (x + range) >> 4; chunkX++) {
+            for (int chunkZ = (z - range) >> 4; chunkZ <= (z + range) >> 4; chunkZ++) {
+                SimpleLocation[] bucket = buckets.get(new ChunkCoordinate(chunkX, chunkZ));
+                if (bucket == null) continue;
+                for (SimpleLocation scarecrow : bucket) {
+                    if (Math.abs(scarecrow.getX() - x) <= range && Math.abs(scarecrow.getZ() - z) <= range) {
+                        return true;
+                    }
+                }
+            }
+        }
+        return false;
+    }
+}
@@ -23,16 +23,20 @@ import net.momirealms.customcrops.api.object.OfflineReplaceTask;
 import net.momirealms.customcrops.api.object.basic.ConfigManager;
 import net.momirealms.customcrops.api.object.crop.GrowingCrop;
 import net.momirealms.customcrops.api.object.fertilizer.Fertilizer;
+import net.momirealms.customcrops.api.object.metrics.MainThreadProfiler;
+import net.momirealms.customcrops.api.object.metrics.SyncCategory;
 import net.momirealms.customcrops.api.object.pot.Pot;
 import net.momirealms.customcrops.api.object.sprinkler.Sprinkler;
 import net.momirealms.customcrops.api.object.sprinkler.SprinklerConfig;
 import net.momirealms.customcrops.api.util.AdventureUtils;
 import org.bukkit.Bukkit;
 import org.bukkit.Chunk;
+import org.bukkit.Particle;
 import org.bukkit.World;
 import org.bukkit.event.HandlerList;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.Collection;
 import java.util.concurrent.ConcurrentHashMap;
 
 public class WorldDataManager extends Function {
@@ -99,6 +103,15 @@ public class WorldDataManager extends Function {
         }
     }
 
+    @Nullable
+    public WorldEnvironment getEnvironment(String world) {
+        CCWorld ccWorld = worldMap.get(world);
+        if (ccWorld != null) {
+            return ccWorld.getEnvironment();
+        }
+        return null;
+    }
+
     public void removeCropData(SimpleLocation simpleLocation) {
         CCWorld ccWorld = worldMap.get(simpleLocation.getWorldName());
         if (ccWorld != null) {
@@ -143,6 +156,14 @@ public class WorldDataManager extends Function {
         return false;
     }
 
+    public boolean hasGreenhouseAbove(SimpleLocation simpleLocation, int range) {
+        CCWorld ccWorld = worldMap.get(simpleLocation.getWorldName());
+        if (ccWorld != null) {
+            return ccWorld.hasGreenhouseAbove(simpleLocation, range);
+        }
+        return false;
+    }
+
     public boolean isWorldAllowed(World world) {
         return ConfigManager.whiteListWorlds == ConfigManager.worldList.contains(world.getName());
     }
@@ -199,6 +220,14 @@ public class WorldDataManager extends Function {
         return false;
     }
 
+    public boolean hasScarecrowInChunk(SimpleLocation simpleLocation) {
+        CCWorld ccWorld = worldMap.get(simpleLocation.getWorldName());
+        if (ccWorld != null) {
+            return ccWorld.hasScarecrowInChunk(simpleLocation);
+        }
+        return false;
+    }
+
     public void addWaterToPot(SimpleLocation simpleLocation, int amount, String pot_id) {
         CCWorld ccWorld = worldMap.get(simpleLocation.getWorldName());
         if (ccWorld != null) {
@@ -206,6 +235,14 @@ public class WorldDataManager extends Function {
         }
     }
 
+    public int waterPots(String worldName, Collection<SimpleLocation> positions, int amount, @Nullable String[] whitelist, @Nullable Particle particle) {
+        CCWorld ccWorld = worldMap.get(worldName);
+        if (ccWorld != null) {
+            return ccWorld.waterPots(positions, amount, whitelist, particle);
+        }
+        return 0;
+    }
+
     public void addFertilizerToPot(SimpleLocation simpleLocation, Fertilizer fertilizer, String pot_id) {
         CCWorld ccWorld = worldMap.get(simpleLocation.getWorldName());
         if (ccWorld != null) {
@@ -271,14 +308,30 @@ public class WorldDataManager extends Function {
     public void loadChunk(Chunk chunk, World world) {
         CCWorld ccWorld = worldMap.get(world.getName());
         if (ccWorld != null) {
-            ccWorld.loadChunk(new ChunkCoordinate(chunk.getX(), chunk.getZ()));
+            MainThreadProfiler profiler = plugin.getMetricsManager().getProfiler();
+            long start = System.nanoTime();
+            ccWorld.loadChunk(new ChunkCoordinate(chunk.getX(), chunk.getZ()), chunk.isEntitiesLoaded());
+            profiler.record(SyncCategory.CHUNK_LOAD.getKey(), world.getName(), System.nanoTime() - start);
+        }
+    }
+
+    public void loadEntities(Chunk chunk, World world) {
+        CCWorld ccWorld = worldMap.get(world.getName());
+        if (ccWorld != null) {
+            MainThreadProfiler profiler = plugin.getMetricsManager().getProfiler();
+            long start = System.nanoTime();
+            ccWorld.loadEntities(new ChunkCoordinate(chunk.getX(), chunk.getZ()));
+            profiler.record(SyncCategory.CHUNK_LOAD.getKey(), world.getName(), System.nanoTime() - start);
         }
     }
 
     public void unloadChunk(Chunk chunk, World world) {
         CCWorld ccWorld = worldMap.get(world.getName());
         if (ccWorld != null) {
+            MainThreadProfiler profiler = plugin.getMetricsManager().getProfiler();
+            long start = System.nanoTime();
             ccWorld.unloadChunk(new ChunkCoordinate(chunk.getX(), chunk.getZ()));
+            profiler.record(SyncCategory.CHUNK_UNLOAD.getKey(), world.getName(), System.nanoTime() - start);
         }
     }
 
@@ -0,0 +1,45 @@
+/*
+ *  Copyright (C) <2022> <XiaoMoMi>
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package net.momirealms.customcrops.api.object.world;
+
+import net.momirealms.customcrops.CustomCrops;
+import net.momirealms.customcrops.api.object.season.CCSeason;
+import net.momirealms.customcrops.integration.SeasonInterface;
+import org.bukkit.World;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Immutable state of a world captured on the main thread once per growth point,
+ * so that conditions can be checked from async threads without touching Bukkit
+ */
+public record WorldEnvironment(@NotNull CCSeason season, int date, @NotNull String weather, long time, long day) {
+
+    public static WorldEnvironment capture(World world) {
+        String weather;
+        if (world.isThundering()) weather = "thunder";
+        else if (world.isClearWeather()) weather = "clear";
+        else weather = "rain";
+        CCSeason season = CCSeason.UNKNOWN;
+        int date = -1;
+        SeasonInterface seasonInterface = CustomCrops.getInstance().getIntegrationManager().getSeasonInterface();
+        if (seasonInterface != null) {
+            season = seasonInterface.getSeason(world.getName());
+            date = seasonInterface.getDate(world.getName());
+        }
+        return new WorldEnvironment(season, date, weather, world.getTime(), world.getFullTime() / 24000);
+    }
+}
@@ -21,6 +21,7 @@ import org.bukkit.event.EventHandler;
 import org.bukkit.event.Listener;
 import org.bukkit.event.world.ChunkLoadEvent;
 import org.bukkit.event.world.ChunkUnloadEvent;
+import org.bukkit.event.world.EntitiesLoadEvent;
 import org.bukkit.event.world.WorldLoadEvent;
 import org.bukkit.event.world.WorldUnloadEvent;
 
@@ -48,6 +49,11 @@ public class WorldListener implements Listener {
         worldManager.loadChunk(event.getChunk(), event.getWorld());
     }
 
+    @EventHandler
+    public void onEntitiesLoad(EntitiesLoadEvent event) {
+        worldManager.loadEntities(event.getChunk(), event.getWorld());
+    }
+
     @EventHandler
     public void onChunkUnload(ChunkUnloadEvent event) {
         worldManager.unloadChunk(event.getChunk(), event.getWorld());
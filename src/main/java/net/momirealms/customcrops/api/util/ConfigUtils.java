@@ -144,7 +144,6 @@ public class ConfigUtils {
                 }
                 List<Condition> conditions = getConditions(conditionSec.getValues(false));
                 deathConditions.add(new DeathCondition(model, conditions.toArray(new Condition[0])));
-                if (model != null) CustomCrops.getInstance().getCropManager().registerDeadCrops(model);
             }
             return deathConditions.toArray(new DeathCondition[0]);
         }
@@ -36,14 +36,18 @@ import java.util.*;
 public class FakeEntityUtils {
 
     public static void playWaterAnimation(Player player, Location location, String animation_id, int duration, ItemMode itemMode) {
+        playWaterAnimation(player, location, CustomCrops.getInstance().getIntegrationManager().build(animation_id), duration, itemMode);
+    }
+
+    public static void playWaterAnimation(Player player, Location location, ItemStack animation, int duration, ItemMode itemMode) {
         int id = new Random().nextInt(Integer.MAX_VALUE);
         if (itemMode == ItemMode.ARMOR_STAND) {
             CustomCrops.getProtocolManager().sendServerPacket(player, getSpawnPacket(id, location, EntityType.ARMOR_STAND));
             CustomCrops.getProtocolManager().sendServerPacket(player, getVanishArmorStandMetaPacket(id));
-            CustomCrops.getProtocolManager().sendServerPacket(player, getEquipPacket(id, CustomCrops.getInstance().getIntegrationManager().build(animation_id)));
+            CustomCrops.getProtocolManager().sendServerPacket(player, getEquipPacket(id, animation));
         } else if (itemMode == ItemMode.ITEM_DISPLAY) {
             CustomCrops.getProtocolManager().sendServerPacket(player, getSpawnPacket(id, location, EntityType.ITEM_DISPLAY));
-            CustomCrops.getProtocolManager().sendServerPacket(player, getItemDisplayMetaPacket(id, CustomCrops.getInstance().getIntegrationManager().build(animation_id)));
+            CustomCrops.getProtocolManager().sendServerPacket(player, getItemDisplayMetaPacket(id, animation));
         }
         CustomCrops.getInstance().getScheduler().runTaskAsyncLater(() -> CustomCrops.getProtocolManager().sendServerPacket(player, getDestroyPacket(id)), 1000L * duration);
     }
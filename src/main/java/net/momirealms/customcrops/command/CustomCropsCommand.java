@@ -31,7 +31,9 @@ public class CustomCropsCommand extends AbstractMainCommand {
         regSubCommand(MigrateCommand.INSTANCE);
         regSubCommand(ConvertCommand.INSTANCE);
         regSubCommand(FixCommand.INSTANCE);
+        regSubCommand(StatsCommand.INSTANCE);
+        regSubCommand(ProfileCommand.INSTANCE);
+        regSubCommand(BenchCommand.INSTANCE);
 //        regSubCommand(Test.INSTANCE);
-//        regSubCommand(PerformanceTest.INSTANCE);
     }
 }
@@ -0,0 +1,100 @@
+/*
+ *  Copyright (C) <2022> <XiaoMoMi>
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package net.momirealms.customcrops.command.subcmd;
+
+import net.momirealms.customcrops.api.object.basic.MessageManager;
+import net.momirealms.customcrops.api.object.metrics.FarmBenchmark;
+import net.momirealms.customcrops.api.util.AdventureUtils;
+import net.momirealms.customcrops.command.AbstractSubCommand;
+import org.bukkit.command.CommandSender;
+import org.bukkit.entity.Player;
+
+import java.util.List;
+
+public class BenchCommand extends AbstractSubCommand {
+
+    public static final BenchCommand INSTANCE = new BenchCommand();
+
+    public BenchCommand() {
+        super("bench");
+    }
+
+    @Override
+    public boolean onCommand(CommandSender sender, List<String> args) {
+        if (lackArgs(sender, 1, args.size())) return true;
+        switch (args.get(0)) {
+            case "start" -> start(sender, args.subList(1, args.size()));
+            case "stop" -> {
+                if (FarmBenchmark.cancel()) AdventureUtils.sendMessage(sender, MessageManager.prefix + "Stopping the benchmark");
+                else AdventureUtils.sendMessage(sender, MessageManager.prefix + "No benchmark is running");
+            }
+            default -> AdventureUtils.sendMessage(sender, MessageManager.prefix + MessageManager.unavailableArgs);
+        }
+        return true;
+    }
+
+    private void start(CommandSender sender, List<String> args) {
+        if (noConsoleExecute(sender)) return;
+        FarmBenchmark.Settings settings;
+        try {
+            settings = new FarmBenchmark.Settings(
+                    args.size() > 0 ? Integer.parseInt(args.get(0)) : 16,
+                    args.size() > 1 ? Integer.parseInt(args.get(1)) : 3,
+                    args.size() > 2 ? Double.parseDouble(args.get(2)) : 1,
+                    args.size() > 3 ? Integer.parseInt(args.get(3)) : 10,
+                    args.size() > 4 ? Integer.parseInt(args.get(4)) : 4,
+                    args.size() > 5 ? args.get(5) : "tomato",
+                    args.size() > 6 ? args.get(6) : "default",
+                    args.size() > 7 ? args.get(7) : "sprinkler_1"
+            );
+        } catch (NumberFormatException e) {
+            AdventureUtils.sendMessage(sender, MessageManager.prefix + MessageManager.unavailableArgs);
+            return;
+        }
+        if (settings.radius() < 0 || settings.radius() > FarmBenchmark.MAX_RADIUS || settings.cycles() < 1 || settings.spread() < 1
+                || !(settings.density() >= 0 && settings.density() <= 1) || settings.sprinklerSpacing() < 0) {
+            AdventureUtils.sendMessage(sender, MessageManager.prefix + MessageManager.unavailableArgs);
+            return;
+        }
+        if (FarmBenchmark.start(sender, ((Player) sender).getLocation(), settings)) {
+            AdventureUtils.sendMessage(sender, MessageManager.prefix + "Benchmark started, use /customcrops bench stop to cancel it");
+        } else {
+            AdventureUtils.sendMessage(sender, MessageManager.prefix + "A benchmark is already running");
+        }
+    }
+
+    @Override
+    public List<String> onTabComplete(CommandSender sender, List<String> args) {
+        if (args.size() == 1) {
+            return super.filterStartingWith(List.of("start", "stop"), args.get(0));
+        }
+        if (args.get(0).equals("start")) {
+            return switch (args.size()) {
+                case 2 -> List.of("<radius 0-" + FarmBenchmark.MAX_RADIUS + ">");
+                case 3 -> List.of("<cycles>");
+                case 4 -> List.of("<density 0-1>");
+                case 5 -> List.of("<spread seconds>");
+                case 6 -> List.of("<sprinkler spacing>");
+                case 7 -> List.of("<crop>");
+                case 8 -> List.of("<pot>");
+                case 9 -> List.of("<sprinkler>");
+                default -> null;
+            };
+        }
+        return null;
+    }
+}
@@ -44,6 +44,9 @@ public class HelpCommand extends AbstractSubCommand {
         AdventureUtils.sendMessage(sender, "  <gray>├─<white>convert <#87CEFA>Convert config from 2.0->3.0");
         AdventureUtils.sendMessage(sender, "  <gray>├─<white>setseason <#FFFACD><world> <season> <#87CEFA>Set a world's season");
         AdventureUtils.sendMessage(sender, "  <gray>├─<white>setdate <#FFFACD><world> <date> <#87CEFA>Set a world's date");
+        AdventureUtils.sendMessage(sender, "  <gray>├─<white>stats <#E1FFFF>[world] <#87CEFA>Show the statistics of crops, pots and tasks");
+        AdventureUtils.sendMessage(sender, "  <gray>├─<white>profile <#FFFACD><start/stop/report> <#E1FFFF>[world] <#87CEFA>Measure the main thread time used by CustomCrops");
+        AdventureUtils.sendMessage(sender, "  <gray>├─<white>bench <#FFFACD><start/stop> <#E1FFFF>[radius] [cycles] [density] [spread] [sprinkler spacing] [crop] [pot] [sprinkler] <#87CEFA>Benchmark a generated farm around you and remove it afterwards");
         AdventureUtils.sendMessage(sender, "  <gray>└─<white>force");
         AdventureUtils.sendMessage(sender, "  <gray>    ├─<white>sprinklerwork <#FFFACD><world> <#87CEFA>Forced sprinklers to work");
         AdventureUtils.sendMessage(sender, "  <gray>    └─<white>consume <#FFFACD><world> <#87CEFA>Forced pots to reduce water amount and the remaining use of fertilizers");
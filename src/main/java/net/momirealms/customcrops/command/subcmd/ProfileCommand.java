@@ -0,0 +1,90 @@
+/*
+ *  Copyright (C) <2022> <XiaoMoMi>
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package net.momirealms.customcrops.command.subcmd;
+
+import net.momirealms.customcrops.CustomCrops;
+import net.momirealms.customcrops.api.object.basic.MessageManager;
+import net.momirealms.customcrops.api.object.metrics.MainThreadProfiler;
+import net.momirealms.customcrops.api.util.AdventureUtils;
+import net.momirealms.customcrops.command.AbstractSubCommand;
+import org.bukkit.Bukkit;
+import org.bukkit.command.CommandSender;
+import org.bukkit.generator.WorldInfo;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+public class ProfileCommand extends AbstractSubCommand {
+
+    public static final ProfileCommand INSTANCE = new ProfileCommand();
+
+    private static final int TOP = 10;
+
+    public ProfileCommand() {
+        super("profile");
+    }
+
+    @Override
+    public boolean onCommand(CommandSender sender, List<String> args) {
+        if (lackArgs(sender, 1, args.size())) return true;
+        MainThreadProfiler profiler = CustomCrops.getInstance().getMetricsManager().getProfiler();
+        switch (args.get(0)) {
+            case "start" -> {
+                if (profiler.start()) AdventureUtils.sendMessage(sender, MessageManager.prefix + "Profiling started");
+                else AdventureUtils.sendMessage(sender, MessageManager.prefix + "Profiling is already running");
+            }
+            case "stop" -> {
+                if (profiler.stop()) AdventureUtils.sendMessage(sender, MessageManager.prefix + "Profiling stopped, use /customcrops profile report to see the result");
+                else AdventureUtils.sendMessage(sender, MessageManager.prefix + "Profiling is not running");
+            }
+            case "report" -> report(sender, profiler, args.size() >= 2 ? args.get(1) : null);
+            default -> AdventureUtils.sendMessage(sender, MessageManager.prefix + MessageManager.unavailableArgs);
+        }
+        return true;
+    }
+
+    private void report(CommandSender sender, MainThreadProfiler profiler, String world) {
+        List<MainThreadProfiler.Entry> entries = profiler.report(world);
+        if (entries.isEmpty()) {
+            AdventureUtils.sendMessage(sender, MessageManager.prefix + "No sample has been recorded");
+            return;
+        }
+        int ticks = profiler.getProfiledTicks();
+        double total = 0;
+        for (MainThreadProfiler.Entry entry : entries) {
+            total += entry.totalMillis();
+        }
+        AdventureUtils.sendMessage(sender, String.format("<#FFA500>Main thread usage <gray>- <white>%s <gray>(%d ticks, %.3f ms/tick%s)",
+                world == null ? "all worlds" : world, ticks, total / ticks, profiler.isRunning() ? ", running" : ""));
+        int size = Math.min(TOP, entries.size());
+        for (int i = 0; i < size; i++) {
+            MainThreadProfiler.Entry entry = entries.get(i);
+            AdventureUtils.sendMessage(sender, String.format("  <gray>%s<white>%s <#87CEFA>%.3f ms/tick <gray>calls: <white>%d <gray>p50: <white>%.3f ms <gray>p99: <white>%.3f ms",
+                    i == size - 1 ? "└─" : "├─", entry.category(), entry.totalMillis() / ticks, entry.calls(), entry.p50Millis(), entry.p99Millis()));
+        }
+    }
+
+    @Override
+    public List<String> onTabComplete(CommandSender sender, List<String> args) {
+        if (args.size() == 1) {
+            return super.filterStartingWith(List.of("start", "stop", "report"), args.get(0));
+        } else if (args.size() == 2 && args.get(0).equals("report")) {
+            return super.filterStartingWith(Bukkit.getWorlds().stream().filter(world -> CustomCrops.getInstance().getWorldDataManager().isWorldAllowed(world)).map(WorldInfo::getName).collect(Collectors.toList()), args.get(1));
+        }
+        return null;
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ *  Copyright (C) <2022> <XiaoMoMi>
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package net.momirealms.customcrops.command.subcmd;
+
+import net.momirealms.customcrops.CustomCrops;
+import net.momirealms.customcrops.api.customplugin.HandlerTimings;
+import net.momirealms.customcrops.api.customplugin.HandlerTimings.HandlerType;
+import net.momirealms.customcrops.api.object.basic.MessageManager;
+import net.momirealms.customcrops.api.object.metrics.MetricsManager;
+import net.momirealms.customcrops.api.object.metrics.Stat;
+import net.momirealms.customcrops.api.object.metrics.WorldMetrics;
+import net.momirealms.customcrops.api.util.AdventureUtils;
+import net.momirealms.customcrops.command.AbstractSubCommand;
+import org.bukkit.command.CommandSender;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+public class StatsCommand extends AbstractSubCommand {
+
+    public static final StatsCommand INSTANCE = new StatsCommand();
+
+    public StatsCommand() {
+        super("stats");
+    }
+
+    @Override
+    public boolean onCommand(CommandSender sender, List<String> args) {
+        MetricsManager metricsManager = CustomCrops.getInstance().getMetricsManager();
+        if (args.size() >= 1 && args.get(0).equals("reset")) {
+            metricsManager.reset();
+            AdventureUtils.sendMessage(sender, MessageManager.prefix + "Statistics have been reset");
+            return true;
+        }
+        String world = args.size() >= 1 ? args.get(0) : null;
+        if (world != null && Double.isNaN(metricsManager.getStat(Stat.CHUNKS, world))) {
+            AdventureUtils.sendMessage(sender, MessageManager.prefix + MessageManager.worldNotExist.replace("{world}", world));
+            return true;
+        }
+        AdventureUtils.sendMessage(sender, "<#FFA500>CustomCrops statistics <gray>- <white>" + (world == null ? "all worlds" : world));
+        Stat[] stats = Stat.values();
+        for (int i = 0; i < stats.length; i++) {
+            Stat stat = stats[i];
+            AdventureUtils.sendMessage(sender, "  <gray>" + (i == stats.length - 1 ? "└─" : "├─") + "<white>" + stat.getKey() + " <#87CEFA>" + stat.format(metricsManager.getStat(stat, world)));
+        }
+        // handlers aren't tracked per world
+        if (world == null) sendHandlerTimings(sender, metricsManager.getHandlerTimings());
+        return true;
+    }
+
+    private void sendHandlerTimings(CommandSender sender, HandlerTimings handlerTimings) {
+        Map<HandlerType, long[]> snapshot = handlerTimings.snapshot();
+        if (snapshot.isEmpty()) return;
+        AdventureUtils.sendMessage(sender, "<#FFA500>Handlers <gray>- <white>calls, total ms, avg ms");
+        int i = 0;
+        for (Map.Entry<HandlerType, long[]> entry : snapshot.entrySet()) {
+            long calls = entry.getValue()[0];
+            double millis = entry.getValue()[1] / 1_000_000d;
+            AdventureUtils.sendMessage(sender, "  <gray>" + (++i == snapshot.size() ? "└─" : "├─") + "<white>" + entry.getKey().getKey()
+                    + " <#87CEFA>" + calls + " " + String.format("%.2f %.3f", millis, millis / calls));
+        }
+    }
+
+    @Override
+    public List<String> onTabComplete(CommandSender sender, List<String> args) {
+        if (args.size() == 1) {
+            List<String> arguments = new ArrayList<>();
+            arguments.add("reset");
+            for (WorldMetrics metrics : CustomCrops.getInstance().getMetricsManager().getAllWorldMetrics()) {
+                arguments.add(metrics.getWorld());
+            }
+            return super.filterStartingWith(arguments, args.get(0));
+        }
+        return null;
+    }
+}
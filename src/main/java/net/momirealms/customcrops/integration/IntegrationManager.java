@@ -50,6 +50,7 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.ArrayList;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class IntegrationManager extends Function {
 
@@ -61,11 +62,15 @@ public class IntegrationManager extends Function {
     private final PluginManager pluginManager;
     private VaultHook vaultHook;
     private final PlaceholderManager placeholderManager;
+    private final ConcurrentHashMap<String, ItemStack> itemPrototypes;
+    private final ConcurrentHashMap<String, ItemInterface> itemResolvers;
 
     public IntegrationManager(CustomCrops plugin) {
         this.plugin = plugin;
         this.pluginManager = Bukkit.getPluginManager();
         this.placeholderManager = new PlaceholderManager(plugin);
+        this.itemPrototypes = new ConcurrentHashMap<>();
+        this.itemResolvers = new ConcurrentHashMap<>();
         this.registerQuests();
         if (Bukkit.getPluginManager().isPluginEnabled("Vault")) {
             this.vaultHook = new VaultHook();
@@ -90,6 +95,8 @@ public class IntegrationManager extends Function {
         this.skillInterface = null;
         this.itemInterfaces = null;
         this.jobInterface = null;
+        this.itemPrototypes.clear();
+        this.itemResolvers.clear();
         this.placeholderManager.unload();
     }
 
@@ -163,16 +170,35 @@ public class IntegrationManager extends Function {
     @NotNull
     public ItemStack build(String key, Player player) {
         if (key != null) {
+            ItemStack prototype = itemPrototypes.get(key);
+            if (prototype != null) {
+                return prototype.clone();
+            }
+            ItemInterface resolver = itemResolvers.get(key);
+            if (resolver != null) {
+                ItemStack itemStack = resolver.build(key, player);
+                if (itemStack != null) {
+                    return remember(key, resolver, itemStack);
+                }
+            }
             for (ItemInterface itemInterface : itemInterfaces) {
                 ItemStack itemStack = itemInterface.build(key, player);
                 if (itemStack != null) {
-                    return itemStack;
+                    itemResolvers.put(key, itemInterface);
+                    return remember(key, itemInterface, itemStack);
                 }
             }
         }
         return new ItemStack(Material.AIR);
     }
 
+    private ItemStack remember(String key, ItemInterface itemInterface, ItemStack itemStack) {
+        if (itemStack.getType() != Material.AIR && itemInterface.isCacheable(key)) {
+            itemPrototypes.put(key, itemStack.clone());
+        }
+        return itemStack;
+    }
+
     private void registerQuests() {
         PluginManager pluginManager = Bukkit.getPluginManager();
         if (pluginManager.isPluginEnabled("ClueScrolls")) {
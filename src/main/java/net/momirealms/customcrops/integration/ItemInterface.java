@@ -25,4 +25,12 @@ public interface ItemInterface {
 
     @Nullable
     ItemStack build(String id, Player player);
+
+    /**
+     * Whether the item built from this id is always the same,
+     * so that a copy of it can be reused for any player
+     */
+    default boolean isCacheable(String id) {
+        return true;
+    }
 }
@@ -38,4 +38,10 @@ public class MMOItemsItemImpl implements ItemInterface {
         MMOItem mmoItem = MMOItems.plugin.getMMOItem(Type.get(split[0]), split[1].toUpperCase(Locale.ENGLISH));
         return mmoItem == null ? null : mmoItem.newBuilder().build();
     }
+
+    // stats are rolled every time an item is built
+    @Override
+    public boolean isCacheable(String id) {
+        return false;
+    }
 }
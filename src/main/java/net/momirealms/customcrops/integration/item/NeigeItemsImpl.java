@@ -14,4 +14,10 @@ public class NeigeItemsImpl implements ItemInterface {
         material = material.substring(11);
         return ItemManager.INSTANCE.getItemStack(material, player);
     }
+
+    // items might contain player placeholders
+    @Override
+    public boolean isCacheable(String id) {
+        return false;
+    }
 }
@@ -19,16 +19,35 @@ package net.momirealms.customcrops.integration.papi;
 
 import net.momirealms.customcrops.CustomCrops;
 import net.momirealms.customcrops.api.object.Function;
+import net.momirealms.customcrops.api.object.basic.ConfigManager;
+import net.momirealms.customcrops.api.util.AdventureUtils;
 import org.bukkit.Bukkit;
 import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.HandlerList;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerQuitEvent;
 
-public class PlaceholderManager extends Function {
+import java.util.HashMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
 
+public class PlaceholderManager extends Function implements Listener {
+
+    private final CustomCrops plugin;
     private SeasonPapi seasonPapi;
     private boolean hasPapi;
+    private final ConcurrentHashMap<UUID, CachedValues> cachedValues;
+    private final LongAdder resolutions;
+    private final LongAdder savedResolutions;
 
     public PlaceholderManager(CustomCrops plugin) {
+        this.plugin = plugin;
         this.hasPapi = false;
+        this.cachedValues = new ConcurrentHashMap<>();
+        this.resolutions = new LongAdder();
+        this.savedResolutions = new LongAdder();
         if (Bukkit.getPluginManager().isPluginEnabled("PlaceholderAPI")) {
             this.seasonPapi = new SeasonPapi(plugin);
             this.hasPapi = true;
@@ -38,14 +57,80 @@ public class PlaceholderManager extends Function {
     @Override
     public void load() {
         if (seasonPapi != null) seasonPapi.register();
+        Bukkit.getPluginManager().registerEvents(this, plugin);
     }
 
     @Override
     public void unload() {
         if (seasonPapi != null) seasonPapi.unregister();
+        HandlerList.unregisterAll(this);
+        cachedValues.clear();
+        long saved = getSavedResolutions();
+        if (saved != 0) {
+            AdventureUtils.consoleMessage("[CustomCrops] Placeholder cache saved <green>" + saved + " <gray>of " + (saved + getResolutions()) + " resolution(s)");
+        }
+    }
+
+    @EventHandler
+    public void onQuit(PlayerQuitEvent event) {
+        cachedValues.remove(event.getPlayer().getUniqueId());
     }
 
     public String parse(Player player, String text) {
         return hasPapi ? ParseUtil.setPlaceholders(player, text) : text;
     }
+
+    /**
+     * Parse the text, reusing the player's value if it was parsed within the last few ticks
+     * Used by requirements, which might check the same placeholders several times per interaction
+     * @param player player
+     * @param text text with placeholders
+     * @return parsed text
+     */
+    public String parseCached(Player player, String text) {
+        if (!hasPapi) return text;
+        int ttl = ConfigManager.placeholderCacheTicks;
+        if (ttl <= 0) {
+            resolutions.increment();
+            return ParseUtil.setPlaceholders(player, text);
+        }
+        int tick = Bukkit.getCurrentTick();
+        CachedValues values = cachedValues.computeIfAbsent(player.getUniqueId(), k -> new CachedValues());
+        synchronized (values) {
+            if (values.tick < 0 || tick - values.tick >= ttl || tick < values.tick) {
+                values.tick = tick;
+                values.values.clear();
+            }
+            String value = values.values.get(text);
+            if (value != null) {
+                savedResolutions.increment();
+                return value;
+            }
+        }
+        resolutions.increment();
+        String value = ParseUtil.setPlaceholders(player, text);
+        synchronized (values) {
+            if (values.tick == tick) values.values.put(text, value);
+        }
+        return value;
+    }
+
+    /**
+     * Placeholder resolutions done for requirements since startup
+     */
+    public long getResolutions() {
+        return resolutions.sum();
+    }
+
+    /**
+     * Placeholder resolutions skipped thanks to the per-player cache since startup
+     */
+    public long getSavedResolutions() {
+        return savedResolutions.sum();
+    }
+
+    private static class CachedValues {
+        private int tick = -1;
+        private final HashMap<String, String> values = new HashMap<>();
+    }
 }
@@ -85,6 +85,9 @@ public class SeasonPapi extends PlaceholderExpansion {
                 case "daysleft" -> {
                     return String.valueOf(1 + ConfigManager.seasonInterval - plugin.getIntegrationManager().getSeasonInterface().getDate(split[1]));
                 }
+                case "stat" -> {
+                    return plugin.getMetricsManager().parsePlaceholder(split[1]);
+                }
             }
         }
         return null;